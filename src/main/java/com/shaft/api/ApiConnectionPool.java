@@ -0,0 +1,128 @@
+package com.shaft.api;
+
+import com.shaft.driver.SHAFT;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the connections of API requests alive in a pool that's shared by all sessions and threads, so that requests
+ * to the same service reuse its open connections and TLS sessions instead of connecting again for each request.
+ * <p>
+ * The pool is partitioned by route (scheme, host, and port), and each route is limited to
+ * {@code apiConnectionPoolMaxConnectionsPerRoute} connections, unless a load test needs more of them at the same
+ * time. Connections that stay idle for longer than
+ * {@code apiConnectionPoolIdleTimeout} seconds are closed. Requests that use a custom SSL configuration, such as
+ * relaxed HTTPS validation, are not pooled so that their SSL configuration doesn't leak into other requests.
+ */
+class ApiConnectionPool {
+    private static final int MAXIMUM_ROUTES = 10;
+    private static PoolingClientConnectionManager connectionManager;
+    private static ScheduledExecutorService idleConnectionsSweeper;
+
+    private ApiConnectionPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Makes the requests that use this HTTP client configuration lease their connections from the shared pool.
+     *
+     * @param httpClientConfig the HTTP client configuration of the request
+     * @param sessionConfig    the session configuration of the request
+     * @return the pooled HTTP client configuration, or the same configuration if the request can't be pooled
+     */
+    static HttpClientConfig configure(HttpClientConfig httpClientConfig, RestAssuredConfig sessionConfig) {
+        if (!SHAFT.Properties.flags.enableApiConnectionPool() || sessionConfig.getSSLConfig().isUserConfigured()) {
+            return httpClientConfig;
+        }
+        var sharedConnectionManager = new SharedConnectionManager(getConnectionManager());
+        return httpClientConfig.httpClientFactory(() -> new DefaultHttpClient(sharedConnectionManager));
+    }
+
+    /**
+     * Raises the number of connections that each route can lease at the same time, so that the concurrent requests of
+     * a load test don't wait for each other's connections and time out. The raised limit is kept for the rest of the
+     * run.
+     *
+     * @param connectionsPerRoute the number of requests that are sent to the same route at the same time
+     */
+    static synchronized void reserveConnectionsPerRoute(int connectionsPerRoute) {
+        if (!SHAFT.Properties.flags.enableApiConnectionPool()) {
+            return;
+        }
+        var pool = getConnectionManager();
+        if (connectionsPerRoute > pool.getDefaultMaxPerRoute()) {
+            pool.setDefaultMaxPerRoute(connectionsPerRoute);
+            pool.setMaxTotal(Math.max(pool.getMaxTotal(), connectionsPerRoute * MAXIMUM_ROUTES));
+        }
+    }
+
+    private static synchronized PoolingClientConnectionManager getConnectionManager() {
+        if (connectionManager == null) {
+            var maximumConnectionsPerRoute = SHAFT.Properties.flags.apiConnectionPoolMaxConnectionsPerRoute();
+            connectionManager = new PoolingClientConnectionManager(SchemeRegistryFactory.createSystemDefault());
+            connectionManager.setDefaultMaxPerRoute(maximumConnectionsPerRoute);
+            connectionManager.setMaxTotal(maximumConnectionsPerRoute * MAXIMUM_ROUTES);
+            idleConnectionsSweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "SHAFT-ApiConnectionPool");
+                thread.setDaemon(true);
+                return thread;
+            });
+            var idleTimeout = SHAFT.Properties.timeouts.apiConnectionPoolIdleTimeout();
+            var pool = connectionManager;
+            idleConnectionsSweeper.scheduleWithFixedDelay(() -> {
+                pool.closeExpiredConnections();
+                pool.closeIdleConnections(idleTimeout, TimeUnit.SECONDS);
+            }, 5, 5, TimeUnit.SECONDS);
+        }
+        return connectionManager;
+    }
+
+    /**
+     * Shares the pool with one HTTP client, and ignores the client's request to shut the pool down once its request
+     * is done.
+     */
+    @SuppressWarnings("deprecation")
+    private record SharedConnectionManager(ClientConnectionManager pool) implements ClientConnectionManager {
+        @Override
+        public SchemeRegistry getSchemeRegistry() {
+            return pool.getSchemeRegistry();
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            return pool.requestConnection(route, state);
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection connection, long validDuration, TimeUnit timeUnit) {
+            pool.releaseConnection(connection, validDuration, timeUnit);
+        }
+
+        @Override
+        public void closeIdleConnections(long idleTime, TimeUnit timeUnit) {
+            pool.closeIdleConnections(idleTime, timeUnit);
+        }
+
+        @Override
+        public void closeExpiredConnections() {
+            pool.closeExpiredConnections();
+        }
+
+        @Override
+        public void shutdown() {
+            // the pool is kept open for the next request
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.shaft.api;
+
+import com.shaft.driver.SHAFT;
+import io.qameta.allure.attachment.DefaultAttachmentProcessor;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.NameAndValue;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Attaches API requests and their responses to the execution report, following a capture policy instead of storing
+ * the full payload of every call.
+ * <p>
+ * Failed calls are always captured. Successful calls are captured if they are among the first
+ * {@code apiTrafficCaptureFirstSuccessfulCalls} successful calls of the execution, or if they are picked by the
+ * {@code apiTrafficCaptureSamplingPercentage} sampling rate. Bodies longer than
+ * {@code apiTrafficCaptureMaximumBodyLength} characters are truncated, and binary bodies are replaced by a short
+ * description of their type and size.
+ */
+class ApiTrafficCaptureFilter implements Filter {
+    private static final String REQUEST_TEMPLATE = "http-request.ftl";
+    private static final String RESPONSE_TEMPLATE = "http-response.ftl";
+    private static final AtomicLong successfulCalls = new AtomicLong();
+    private final int expectedStatusCode;
+
+    /**
+     * Creates a filter that considers any response with a status code below 400 successful.
+     */
+    ApiTrafficCaptureFilter() {
+        this(0);
+    }
+
+    /**
+     * Creates a filter that considers only the responses with the expected status code successful.
+     *
+     * @param expectedStatusCode the status code that the request is expected to return
+     */
+    ApiTrafficCaptureFilter(int expectedStatusCode) {
+        this.expectedStatusCode = expectedStatusCode;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext context) {
+        Response response;
+        try {
+            response = context.next(requestSpec, responseSpec);
+        } catch (RuntimeException exception) {
+            attachRequest(requestSpec);
+            throw exception;
+        }
+        if (isFailure(response) || shouldCaptureSuccessfulCall()) {
+            attachRequest(requestSpec);
+            attachResponse(response);
+        }
+        return response;
+    }
+
+    private boolean isFailure(Response response) {
+        if (response == null) {
+            return true;
+        }
+        return expectedStatusCode > 0 ? response.getStatusCode() != expectedStatusCode : response.getStatusCode() >= 400;
+    }
+
+    private static boolean shouldCaptureSuccessfulCall() {
+        if (successfulCalls.getAndIncrement() < SHAFT.Properties.reporting.apiTrafficCaptureFirstSuccessfulCalls()) {
+            return true;
+        }
+        var samplingPercentage = SHAFT.Properties.reporting.apiTrafficCaptureSamplingPercentage();
+        return samplingPercentage >= 100 || (samplingPercentage > 0 && ThreadLocalRandom.current().nextInt(100) < samplingPercentage);
+    }
+
+    private static void attachRequest(FilterableRequestSpecification requestSpec) {
+        var requestAttachment = HttpRequestAttachment.Builder.create("Request", requestSpec.getURI())
+                .setMethod(requestSpec.getMethod())
+                .setHeaders(toMap(requestSpec.getHeaders()))
+                .setCookies(toMap(requestSpec.getCookies()));
+        var body = requestSpec.getBody();
+        if (body != null) {
+            String contentType = requestSpec.getContentType();
+            if (body instanceof byte[] || body instanceof File || body instanceof InputStream || !isTextual(contentType)) {
+                requestAttachment.setBody(describeBinaryBody(contentType, body instanceof byte[] bytes ? bytes.length : -1));
+            } else {
+                var maximumBodyLength = SHAFT.Properties.reporting.apiTrafficCaptureMaximumBodyLength();
+                String bodyString = String.valueOf(body);
+                requestAttachment.setBody(bodyString.length() > maximumBodyLength ? truncate(bodyString, maximumBodyLength) : new Prettifier().getPrettifiedBodyIfPossible(requestSpec));
+            }
+        }
+        if (requestSpec.getFormParams() != null && !requestSpec.getFormParams().isEmpty()) {
+            requestAttachment.setFormParams(requestSpec.getFormParams());
+        }
+        new DefaultAttachmentProcessor().addAttachment(requestAttachment.build(), new FreemarkerAttachmentRenderer(REQUEST_TEMPLATE));
+    }
+
+    private static void attachResponse(Response response) {
+        var responseAttachment = HttpResponseAttachment.Builder.create("Response")
+                .setResponseCode(response.getStatusCode())
+                .setHeaders(toMap(response.getHeaders()));
+        String contentType = response.getContentType();
+        var bodyBytes = response.asByteArray();
+        if (!isTextual(contentType) || ((contentType == null || contentType.isBlank()) && containsBinaryData(bodyBytes))) {
+            responseAttachment.setBody(describeBinaryBody(contentType, bodyBytes.length));
+        } else {
+            var maximumBodyLength = SHAFT.Properties.reporting.apiTrafficCaptureMaximumBodyLength();
+            String bodyString = response.asString();
+            responseAttachment.setBody(bodyString.length() > maximumBodyLength ? truncate(bodyString, maximumBodyLength) : new Prettifier().getPrettifiedBodyIfPossible(response, response.getBody()));
+        }
+        new DefaultAttachmentProcessor().addAttachment(responseAttachment.build(), new FreemarkerAttachmentRenderer(RESPONSE_TEMPLATE));
+    }
+
+    private static Map<String, String> toMap(Iterable<? extends NameAndValue> items) {
+        var map = new LinkedHashMap<String, String>();
+        items.forEach(item -> map.put(item.getName(), item.getValue()));
+        return map;
+    }
+
+    /**
+     * Checks whether a body of this content type can be read as text; bodies without a content type are assumed to
+     * be textual.
+     */
+    static boolean isTextual(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return true;
+        }
+        var type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml") || type.contains("javascript")
+                || type.contains("x-www-form-urlencoded") || type.contains("graphql") || type.contains("yaml") || type.contains("csv");
+    }
+
+    private static boolean containsBinaryData(byte[] body) {
+        for (int index = 0; index < Math.min(body.length, 1024); index++) {
+            if (body[index] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String truncate(String body, int maximumLength) {
+        return body.substring(0, maximumLength) + System.lineSeparator() + "... [truncated " + (body.length() - maximumLength) + " characters]";
+    }
+
+    private static String describeBinaryBody(String contentType, int length) {
+        var type = contentType == null || contentType.isBlank() ? "unknown content type" : contentType;
+        return length >= 0 ? "[binary content: " + type + ", " + length + " bytes]" : "[binary content: " + type + "]";
+    }
+}
@@ -0,0 +1,330 @@
+package com.shaft.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.shaft.cli.FileActions;
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+/**
+ * Records the traffic of API requests to a local store, and replays it from an embedded stub server, so that tests can
+ * run without reaching the real services.
+ * <p>
+ * Set {@code apiTrafficMode} to {@code RECORD} to save each request and its response under
+ * {@code apiTrafficFolderPath}, in one file per request that's named after the request's key, and list them in an
+ * {@code index.json} file. Set it to {@code REPLAY} to send each request to the stub server instead, which answers
+ * with the recorded response, or with a 404 response if nothing was recorded for that request.
+ * <p>
+ * Requests are keyed by their method, their normalized URL path and query parameters (ignoring their order and the
+ * {@code apiTrafficIgnoredQueryParameters}), the values of the {@code apiTrafficMatchedHeaders}, and a hash of their
+ * body unless {@code apiTrafficMatchRequestBody} is disabled. The host isn't part of the key, so the stub server can
+ * also stand in for the services that the application under test calls, using {@link #getReplayServerURL()}.
+ */
+public class ApiTrafficStore {
+    private static final String INDEX_FILE_NAME = "index.json";
+    private static final Set<String> UNREPLAYED_HEADERS = Set.of("content-length", "transfer-encoding", "content-encoding", "connection", "keep-alive");
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    private static final Filter recorder = ApiTrafficStore::record;
+    private static final Map<String, Optional<Recording>> loadedRecordings = new ConcurrentHashMap<>();
+    private static Map<String, IndexEntry> index;
+    private static HttpServer replayServer;
+
+    private ApiTrafficStore() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    enum Mode {OFF, RECORD, REPLAY}
+
+    static Mode getMode() {
+        try {
+            return Mode.valueOf(SHAFT.Properties.flags.apiTrafficMode().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            return Mode.OFF;
+        }
+    }
+
+    /**
+     * @return a filter that saves each request and its response to the store
+     */
+    static Filter getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Points a request URL to the stub server instead of its original host.
+     *
+     * @param request the full URL of the request
+     * @return the same URL, with the stub server as its host
+     */
+    static String toReplayURL(String request) {
+        var replayServerURL = getReplayServerURL();
+        return request.matches("^[a-zA-Z][a-zA-Z0-9+.-]*://.*") ? request.replaceFirst("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/?#]*", replayServerURL)
+                : replayServerURL + (request.startsWith("/") ? "" : "/") + request;
+    }
+
+    /**
+     * Starts the stub server that replays the recorded traffic, if it isn't running already.
+     *
+     * @return the base URL of the stub server, for example {@code http://127.0.0.1:54321}
+     */
+    public static synchronized String getReplayServerURL() {
+        if (replayServer == null) {
+            try {
+                replayServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            } catch (IOException exception) {
+                throw new IllegalStateException("Failed to start the API traffic replay server.", exception);
+            }
+            replayServer.createContext("/", ApiTrafficStore::replay);
+            replayServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            replayServer.start();
+            ReportManager.logDiscrete("Replaying recorded API traffic from \"" + SHAFT.Properties.paths.apiTraffic() + "\" on port " + replayServer.getAddress().getPort() + ".");
+        }
+        return "http://" + replayServer.getAddress().getHostString() + ":" + replayServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops the stub server, if it's running.
+     */
+    public static synchronized void shutdown() {
+        if (replayServer != null) {
+            replayServer.stop(0);
+            replayServer = null;
+        }
+    }
+
+    private static Response record(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext context) {
+        var response = context.next(requestSpec, responseSpec);
+        try {
+            var uri = URI.create(requestSpec.getURI());
+            var key = keyOf(requestSpec.getMethod(), uri, requestSpec.getHeaders()::getValue, getRequestBody(requestSpec));
+            var responseHeaders = new LinkedHashMap<String, List<String>>();
+            response.getHeaders().forEach(header -> responseHeaders.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue()));
+            var isTextual = ApiTrafficCaptureFilter.isTextual(response.getContentType());
+            save(key, new Recording(requestSpec.getMethod(), uri.toString(), response.getStatusCode(), responseHeaders,
+                    isTextual ? response.asString() : null, isTextual ? null : Base64.getEncoder().encodeToString(response.asByteArray())));
+        } catch (RuntimeException exception) {
+            ReportManagerHelper.logDiscrete(exception);
+        }
+        return response;
+    }
+
+    private static synchronized void save(String key, Recording recording) {
+        var folder = SHAFT.Properties.paths.apiTraffic();
+        if (index == null) {
+            index = new TreeMap<>();
+            var indexFile = Path.of(folder, INDEX_FILE_NAME);
+            if (Files.exists(indexFile)) {
+                try {
+                    Map<String, IndexEntry> savedIndex = gson.fromJson(Files.readString(indexFile, StandardCharsets.UTF_8), new TypeToken<Map<String, IndexEntry>>() {
+                    }.getType());
+                    if (savedIndex != null) {
+                        index.putAll(savedIndex);
+                    }
+                } catch (IOException | RuntimeException exception) {
+                    ReportManagerHelper.logDiscrete(exception);
+                }
+            }
+        }
+        FileActions.getInstance(true).writeToFile(folder, key + ".json", gson.toJson(recording));
+        index.put(key, new IndexEntry(recording.method(), recording.url(), recording.statusCode()));
+        FileActions.getInstance(true).writeToFile(folder, INDEX_FILE_NAME, gson.toJson(index));
+        loadedRecordings.remove(key);
+    }
+
+    private static void replay(HttpExchange exchange) throws IOException {
+        try {
+            var requestHeaders = exchange.getRequestHeaders();
+            var body = readBody(exchange.getRequestBody().readAllBytes(), requestHeaders.getFirst("Content-Type"));
+            var requestURI = toRequestURI(exchange.getRequestURI());
+            var key = keyOf(exchange.getRequestMethod(), requestURI, requestHeaders::getFirst, body);
+            var recording = loadedRecordings.computeIfAbsent(key, ApiTrafficStore::load).orElse(null);
+            if (recording == null) {
+                var message = ("No recorded response matches " + exchange.getRequestMethod() + " " + normalize(requestURI) + " (key: " + key + ").").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+                exchange.sendResponseHeaders(404, message.length);
+                exchange.getResponseBody().write(message);
+                return;
+            }
+            String contentType = null;
+            for (var header : recording.responseHeaders().entrySet()) {
+                if (!UNREPLAYED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                    exchange.getResponseHeaders().put(header.getKey(), header.getValue());
+                }
+                if (header.getKey().equalsIgnoreCase("Content-Type") && !header.getValue().isEmpty()) {
+                    contentType = header.getValue().getFirst();
+                }
+            }
+            var responseBody = recording.bodyBase64() != null ? Base64.getDecoder().decode(recording.bodyBase64())
+                    : Objects.toString(recording.body(), "").getBytes(charsetOf(contentType));
+            exchange.sendResponseHeaders(recording.statusCode(), responseBody.length == 0 ? -1 : responseBody.length);
+            exchange.getResponseBody().write(responseBody);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Resolves the request target against the stub server, since a path that starts with repeated slashes would
+     * otherwise be parsed as a host name.
+     */
+    private static URI toRequestURI(URI requestTarget) {
+        return requestTarget.getScheme() != null ? requestTarget : URI.create("http://localhost" + requestTarget);
+    }
+
+    private static Optional<Recording> load(String key) {
+        var recordingFile = Path.of(SHAFT.Properties.paths.apiTraffic(), key + ".json");
+        if (!Files.exists(recordingFile)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(gson.fromJson(Files.readString(recordingFile, StandardCharsets.UTF_8), Recording.class));
+        } catch (IOException | RuntimeException exception) {
+            ReportManagerHelper.logDiscrete(exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Builds the key of a request out of the parts that the matching rules consider.
+     */
+    static String keyOf(String method, URI uri, UnaryOperator<String> headers, String body) {
+        var canonicalRequest = new StringBuilder(method.toUpperCase(Locale.ROOT)).append(' ').append(normalize(uri));
+        for (var header : SHAFT.Properties.flags.apiTrafficMatchedHeaders().split(",")) {
+            if (!header.isBlank()) {
+                canonicalRequest.append('\n').append(header.trim().toLowerCase(Locale.ROOT)).append(": ").append(Objects.toString(headers.apply(header.trim()), "").trim());
+            }
+        }
+        if (SHAFT.Properties.flags.apiTrafficMatchRequestBody()) {
+            canonicalRequest.append('\n').append(sha256(body));
+        }
+        return sha256(canonicalRequest.toString()).substring(0, 32);
+    }
+
+    /**
+     * Normalizes the path and query of a URL; repeated and trailing slashes are removed, and the query parameters are
+     * decoded and sorted, without the ignored ones.
+     */
+    static String normalize(URI uri) {
+        var path = Objects.toString(uri.getPath(), "").replaceAll("/{2,}", "/");
+        if (path.isEmpty()) {
+            path = "/";
+        } else if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        var ignoredParameters = new HashSet<String>();
+        for (var parameter : SHAFT.Properties.flags.apiTrafficIgnoredQueryParameters().split(",")) {
+            ignoredParameters.add(parameter.trim());
+        }
+        var query = canonicalizeParameters(uri.getRawQuery(), StandardCharsets.UTF_8, ignoredParameters);
+        return query.isEmpty() ? path : path + "?" + query;
+    }
+
+    private static String getRequestBody(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[] bytes) {
+            return readBody(bytes, requestSpec.getContentType());
+        } else if (body != null) {
+            return isForm(requestSpec.getContentType()) ? canonicalizeParameters(String.valueOf(body), charsetOf(requestSpec.getContentType()), Set.of()) : String.valueOf(body);
+        } else if (requestSpec.getFormParams() != null && !requestSpec.getFormParams().isEmpty()) {
+            var parameters = new ArrayList<String>();
+            requestSpec.getFormParams().forEach((name, value) -> parameters.add(name + "=" + value));
+            parameters.sort(null);
+            return String.join("&", parameters);
+        }
+        return "";
+    }
+
+    /**
+     * Decodes a request body using the charset of its content type; form bodies are canonicalized like query strings.
+     */
+    static String readBody(byte[] body, String contentType) {
+        var charset = charsetOf(contentType);
+        if (isForm(contentType)) {
+            return canonicalizeParameters(new String(body, StandardCharsets.ISO_8859_1), charset, Set.of());
+        }
+        return new String(body, charset);
+    }
+
+    private static boolean isForm(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("x-www-form-urlencoded");
+    }
+
+    private static String canonicalizeParameters(String encodedParameters, Charset charset, Set<String> ignoredParameters) {
+        if (encodedParameters == null || encodedParameters.isEmpty()) {
+            return "";
+        }
+        var parameters = new ArrayList<String>();
+        for (var parameter : encodedParameters.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            var separator = parameter.indexOf('=');
+            var name = URLDecoder.decode(separator < 0 ? parameter : parameter.substring(0, separator), charset);
+            if (!ignoredParameters.contains(name)) {
+                parameters.add(separator < 0 ? name : name + "=" + URLDecoder.decode(parameter.substring(separator + 1), charset));
+            }
+        }
+        parameters.sort(null);
+        return String.join("&", parameters);
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            for (var parameter : contentType.split(";")) {
+                var trimmedParameter = parameter.trim();
+                if (trimmedParameter.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    try {
+                        return Charset.forName(trimmedParameter.substring("charset=".length()).replace("\"", ""));
+                    } catch (IllegalArgumentException exception) {
+                        // falls back to UTF-8
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * A recorded response, and the request it answered. Textual bodies are saved as they are so that they can be
+     * reviewed and edited, while binary bodies are saved in Base64.
+     */
+    record Recording(String method, String url, int statusCode, Map<String, List<String>> responseHeaders, String body,
+                     String bodyBase64) {
+    }
+
+    record IndexEntry(String method, String url, int statusCode) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.shaft.api;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles each GraphQL query once for the whole execution, and sends compiled queries as automatic persisted queries.
+ * <p>
+ * A compiled query is the query without its comments and insignificant whitespace and commas, together with its
+ * SHA-256 hash. A persisted query is first sent as its hash alone; if the server doesn't know the hash yet, it's sent
+ * again with its full text so that the server stores it for the next requests. Servers that don't support persisted
+ * queries are remembered, and get the full text right away.
+ */
+class GraphQlQueries {
+    private static final int MAXIMUM_COMPILED_QUERIES = 1_000;
+    private static final int MAXIMUM_ERROR_RESPONSE_LENGTH = 4_096;
+    private static final Map<String, CompiledQuery> compiledQueries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledQuery> eldest) {
+            return size() > MAXIMUM_COMPILED_QUERIES;
+        }
+    });
+    private static final Set<String> endpointsWithoutPersistedQueries = ConcurrentHashMap.newKeySet();
+
+    private GraphQlQueries() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Compiles a GraphQL query, or gets it from the cache if it was compiled before.
+     *
+     * @param query the GraphQL query, mutation, or subscription
+     * @return the minified query and its SHA-256 hash
+     */
+    static CompiledQuery compile(String query) {
+        return compiledQueries.computeIfAbsent(query, key -> {
+            var minifiedQuery = minify(key);
+            return new CompiledQuery(minifiedQuery, sha256(minifiedQuery));
+        });
+    }
+
+    /**
+     * Creates a filter that sends the request body without its query first, and sends the full request body only if
+     * the server asks for it.
+     *
+     * @param hashOnlyRequestBody the request body without the query, that only holds the query's hash
+     * @return the persisted query filter
+     */
+    static Filter persistedQueryFilter(String hashOnlyRequestBody) {
+        return new PersistedQueryFilter(hashOnlyRequestBody);
+    }
+
+    /**
+     * Removes the comments, the insignificant whitespace, and the commas from a GraphQL query, while keeping its strings
+     * and block strings as they are.
+     */
+    static String minify(String query) {
+        var minifiedQuery = new StringBuilder(query.length());
+        var pendingSeparator = false;
+        var index = 0;
+        while (index < query.length()) {
+            var character = query.charAt(index);
+            if (character == '#') {
+                while (index < query.length() && query.charAt(index) != '\n' && query.charAt(index) != '\r') {
+                    index++;
+                }
+                pendingSeparator = true;
+            } else if (Character.isWhitespace(character) || character == ',' || character == '\uFEFF') {
+                pendingSeparator = true;
+                index++;
+            } else {
+                if (pendingSeparator && !minifiedQuery.isEmpty() && isNameCharacter(minifiedQuery.charAt(minifiedQuery.length() - 1)) && isNameCharacter(character)) {
+                    minifiedQuery.append(' ');
+                }
+                pendingSeparator = false;
+                var end = character == '"' ? getStringEnd(query, index) : index + 1;
+                minifiedQuery.append(query, index, end);
+                index = end;
+            }
+        }
+        return minifiedQuery.toString();
+    }
+
+    private static int getStringEnd(String query, int start) {
+        if (query.startsWith("\"\"\"", start)) {
+            var index = start + 3;
+            while (index < query.length()) {
+                if (query.startsWith("\\\"\"\"", index)) {
+                    index += 4;
+                } else if (query.startsWith("\"\"\"", index)) {
+                    return index + 3;
+                } else {
+                    index++;
+                }
+            }
+            return query.length();
+        }
+        var index = start + 1;
+        while (index < query.length() && query.charAt(index) != '"' && query.charAt(index) != '\n') {
+            index += query.charAt(index) == '\\' ? 2 : 1;
+        }
+        return Math.min(index + 1, query.length());
+    }
+
+    private static boolean isNameCharacter(char character) {
+        return Character.isLetterOrDigit(character) || character == '_';
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    record CompiledQuery(String text, String sha256Hash) {
+    }
+
+    /**
+     * Sends the hash of the query instead of its text in a request of its own, and lets the full request body go through
+     * the rest of the filter chain when the server doesn't know the hash yet or doesn't support persisted queries. Only
+     * the final response is passed back to the other filters, so only the final attempt is reported.
+     */
+    private record PersistedQueryFilter(String hashOnlyRequestBody) implements Filter {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext context) {
+            var endpoint = requestSpec.getURI();
+            if (!endpointsWithoutPersistedQueries.contains(endpoint)) {
+                var response = sendHashOnlyRequest(requestSpec);
+                if (isAnswered(endpoint, response)) {
+                    return response;
+                }
+            }
+            // sends the full query so that the server can store it
+            return context.next(requestSpec, responseSpec);
+        }
+
+        /**
+         * The filter chain can only send one request, so the hash-only attempt is sent outside of it, without the other
+         * filters.
+         */
+        private Response sendHashOnlyRequest(FilterableRequestSpecification requestSpec) {
+            var hashOnlyRequestSpec = new RequestSpecBuilder()
+                    .setConfig(requestSpec.getConfig())
+                    .setAuth(requestSpec.getAuthenticationScheme())
+                    .setUrlEncodingEnabled(false)
+                    .setBody(hashOnlyRequestBody);
+            if (requestSpec.getProxySpecification() != null) {
+                hashOnlyRequestSpec.setProxy(requestSpec.getProxySpecification());
+            }
+            return RestAssured.given().spec(hashOnlyRequestSpec.build())
+                    .headers(requestSpec.getHeaders())
+                    .cookies(requestSpec.getCookies())
+                    .request(requestSpec.getMethod(), requestSpec.getURI());
+        }
+
+        private static boolean isAnswered(String endpoint, Response response) {
+            var responseBody = response.asString();
+            if (responseBody.length() > MAXIMUM_ERROR_RESPONSE_LENGTH) {
+                return true;
+            }
+            if (responseBody.contains("PersistedQueryNotSupported") || responseBody.contains("PERSISTED_QUERY_NOT_SUPPORTED")) {
+                endpointsWithoutPersistedQueries.add(endpoint);
+                return false;
+            }
+            return !responseBody.contains("PersistedQueryNotFound") && !responseBody.contains("PERSISTED_QUERY_NOT_FOUND");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.shaft.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JsonLoader;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
+import io.restassured.response.Response;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Parses each response body once, however many JSONPath expressions or JSON schemas are evaluated against it, and
+ * compiles each JSONPath expression once for the whole execution.
+ * <p>
+ * Parsed documents are attached to their responses through weak references, so they are discarded together with
+ * their responses. The documents are read-only once parsed, so they can be shared by parallel threads.
+ */
+class JsonResponseDocuments {
+    private static final int MAXIMUM_COMPILED_PATHS = 1_000;
+    private static final Configuration JSON_CONFIGURATION = Configuration.defaultConfiguration();
+    private static final Configuration ORG_JSON_CONFIGURATION = Configuration.builder().jsonProvider(new JsonOrgJsonProvider()).build();
+    private static final Map<String, JsonPath> compiledPaths = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > MAXIMUM_COMPILED_PATHS;
+        }
+    });
+    private static final Map<Response, ParsedResponse> parsedResponses = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private JsonResponseDocuments() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Evaluates a JSONPath expression against the response body.
+     *
+     * @param response the response whose body is read
+     * @param jsonPath the JSONPath expression
+     * @param <T>      the expected type of the result
+     * @return the value, or the list of values, that the expression points to
+     */
+    static <T> T read(Response response, String jsonPath) {
+        return compile(jsonPath).read(getParsedResponse(response).getDocument(), JSON_CONFIGURATION);
+    }
+
+    /**
+     * Evaluates a JSONPath expression against the JSON object that's embedded in the response body, for example
+     * inside HTML or XML tags, and returns the org.json representation of the result.
+     *
+     * @param response the response whose body is read
+     * @param jsonPath the JSONPath expression
+     * @param <T>      the expected type of the result
+     * @return the value, or the array of values, that the expression points to
+     * @throws JSONException if the embedded JSON object isn't valid JSON
+     */
+    static <T> T readEmbedded(Response response, String jsonPath) throws JSONException {
+        return compile(jsonPath).read(getParsedResponse(response).getEmbeddedDocument(), ORG_JSON_CONFIGURATION);
+    }
+
+    /**
+     * Evaluates a JSONPath expression against the JSON object that's embedded in the response body, for example
+     * inside HTML or XML tags, and returns plain Java maps and lists.
+     *
+     * @param response the response whose body is read
+     * @param jsonPath the JSONPath expression
+     * @param <T>      the expected type of the result
+     * @return the value, or the list of values, that the expression points to
+     */
+    static <T> T readEmbeddedAsJava(Response response, String jsonPath) {
+        return compile(jsonPath).read(getParsedResponse(response).getEmbeddedJavaDocument(), JSON_CONFIGURATION);
+    }
+
+    /**
+     * Reads the response body as a Jackson tree, with decimal numbers kept as exact decimals, for JSON schema
+     * validation.
+     *
+     * @param response the response whose body is read
+     * @return the root node of the response body
+     * @throws IOException if the response body isn't valid JSON
+     */
+    static JsonNode readTree(Response response) throws IOException {
+        try {
+            return getParsedResponse(response).getTree();
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private static JsonPath compile(String jsonPath) {
+        return compiledPaths.computeIfAbsent(jsonPath, JsonPath::compile);
+    }
+
+    private static ParsedResponse getParsedResponse(Response response) {
+        return parsedResponses.computeIfAbsent(response, key -> new ParsedResponse(key.asString()));
+    }
+
+    /**
+     * Holds the body of one response and the documents that were parsed from it. Each document is parsed the first
+     * time it's needed, and a parsing failure is kept and thrown again to each caller, just like a new parse would.
+     */
+    private static class ParsedResponse {
+        private final String body;
+        private Object document;
+        private RuntimeException documentFailure;
+        private Object embeddedDocument;
+        private Exception embeddedDocumentFailure;
+        private Object embeddedJavaDocument;
+        private RuntimeException embeddedJavaDocumentFailure;
+        private JsonNode tree;
+        private RuntimeException treeFailure;
+
+        private ParsedResponse(String body) {
+            this.body = body;
+        }
+
+        private synchronized Object getDocument() {
+            if (document == null && documentFailure == null) {
+                try {
+                    document = JSON_CONFIGURATION.jsonProvider().parse(body);
+                } catch (RuntimeException exception) {
+                    documentFailure = exception;
+                }
+            }
+            if (documentFailure != null) {
+                throw documentFailure;
+            }
+            return document;
+        }
+
+        private synchronized Object getEmbeddedDocument() throws JSONException {
+            if (embeddedDocument == null && embeddedDocumentFailure == null) {
+                try {
+                    embeddedDocument = new JSONObject(getEmbeddedJson());
+                } catch (JSONException | RuntimeException exception) {
+                    embeddedDocumentFailure = exception;
+                }
+            }
+            if (embeddedDocumentFailure instanceof JSONException jsonException) {
+                throw jsonException;
+            } else if (embeddedDocumentFailure != null) {
+                throw (RuntimeException) embeddedDocumentFailure;
+            }
+            return embeddedDocument;
+        }
+
+        private synchronized Object getEmbeddedJavaDocument() {
+            if (embeddedJavaDocument == null && embeddedJavaDocumentFailure == null) {
+                try {
+                    embeddedJavaDocument = JSON_CONFIGURATION.jsonProvider().parse(getEmbeddedJson());
+                } catch (RuntimeException exception) {
+                    embeddedJavaDocumentFailure = exception;
+                }
+            }
+            if (embeddedJavaDocumentFailure != null) {
+                throw embeddedJavaDocumentFailure;
+            }
+            return embeddedJavaDocument;
+        }
+
+        private synchronized JsonNode getTree() {
+            if (tree == null && treeFailure == null) {
+                try {
+                    tree = JsonLoader.fromString(body);
+                } catch (IOException exception) {
+                    treeFailure = new UncheckedIOException(exception);
+                } catch (RuntimeException exception) {
+                    treeFailure = exception;
+                }
+            }
+            if (treeFailure != null) {
+                throw treeFailure;
+            }
+            return tree;
+        }
+
+        private String getEmbeddedJson() {
+            return body.substring(body.indexOf("{"), body.lastIndexOf("}") + 1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.shaft.api;
+
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles each JSON schema file once for the whole execution, and validates responses against the compiled schema.
+ * <p>
+ * Compiled schemas are keyed by the schema file path, and are compiled again if the file's last modified time or size
+ * changes. Schemas are loaded by their URI, so relative {@code $ref} references to other schema files still resolve.
+ */
+class JsonSchemaCache {
+    private static final Map<Path, CompiledSchema> compiledSchemas = new ConcurrentHashMap<>();
+
+    private JsonSchemaCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Validates the response body against the JSON schema file.
+     *
+     * @param response       the response whose body is validated
+     * @param schemaFilePath the path to the JSON schema file
+     * @return the validation errors, or an empty list if the response body matches the schema
+     * @throws IOException         if the schema file or the response body can't be read
+     * @throws ProcessingException if the schema is invalid
+     */
+    static List<String> validate(Response response, String schemaFilePath) throws IOException, ProcessingException {
+        var report = getSchema(Path.of(schemaFilePath)).validate(JsonResponseDocuments.readTree(response));
+        var errors = new ArrayList<String>();
+        if (report.isSuccess()) {
+            return errors;
+        }
+        for (ProcessingMessage message : report) {
+            // the default factory also reports warnings, such as unknown keywords, which don't fail the validation
+            if (message.getLogLevel().compareTo(LogLevel.ERROR) < 0) {
+                continue;
+            }
+            var pointer = message.asJson().path("instance").path("pointer").asText();
+            errors.add((pointer.isEmpty() ? "/" : pointer) + ": " + message.getMessage());
+        }
+        return errors;
+    }
+
+    private static JsonSchema getSchema(Path schemaFile) throws IOException, ProcessingException {
+        var key = schemaFile.toAbsolutePath().normalize();
+        var lastModifiedTime = Files.getLastModifiedTime(key);
+        var size = Files.size(key);
+        var compiledSchema = compiledSchemas.get(key);
+        if (compiledSchema == null || !compiledSchema.lastModifiedTime().equals(lastModifiedTime) || compiledSchema.size() != size) {
+            // a new factory, so that the schema and the schemas it references are loaded again instead of from the old factory's cache
+            compiledSchema = new CompiledSchema(lastModifiedTime, size, JsonSchemaFactory.byDefault().getJsonSchema(key.toUri().toString()));
+            compiledSchemas.put(key, compiledSchema);
+        }
+        return compiledSchema.schema();
+    }
+
+    private record CompiledSchema(FileTime lastModifiedTime, long size, JsonSchema schema) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.shaft.api;
+
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.internal.metrics.Histogram;
+import io.qameta.allure.Step;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the request that you built over and over for a duration, on virtual threads, and measures its latency
+ * percentiles, throughput, and error rate. The individual requests aren't reported; a summary of the load test is
+ * reported and attached instead, and the response of the last successful request becomes the session's last response
+ * so that you can validate the load test using {@code assertThatResponse().p95LessThan(ms)}.
+ * <p>
+ * By default, each virtual user sends its next request as soon as it receives the previous response. Use
+ * {@link #atRate(int)} to send the requests at a fixed rate instead, whatever the response times are.
+ */
+public class LoadTestBuilder {
+    private final RequestBuilder requestBuilder;
+    private int virtualUsers = 0;
+    private int requestsPerSecond = 0;
+    private Duration duration = Duration.ofSeconds(10);
+
+    LoadTestBuilder(RequestBuilder requestBuilder) {
+        this.requestBuilder = requestBuilder;
+    }
+
+    /**
+     * Sets the number of virtual users that send the request at the same time. When the requests are sent at a fixed
+     * rate, this is the maximum number of requests that wait for their responses at the same time, and it defaults to
+     * the {@code apiMaximumConcurrentRequests} property. Otherwise, it defaults to a single virtual user. The shared
+     * connection pool is enlarged to this number of connections per route for the load test.
+     *
+     * @param virtualUsers the number of requests that are sent at the same time
+     * @return a self-reference to be used to continue building your load test
+     */
+    public LoadTestBuilder withVirtualUsers(int virtualUsers) {
+        this.virtualUsers = virtualUsers;
+        return this;
+    }
+
+    /**
+     * Sends the requests at a fixed rate, whatever the response times are.
+     *
+     * @param requestsPerSecond the number of requests that are sent each second
+     * @return a self-reference to be used to continue building your load test
+     */
+    public LoadTestBuilder atRate(int requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets how long the requests are sent for. The default duration is 10 seconds.
+     *
+     * @param duration how long the requests are sent for
+     * @return a self-reference to be used to continue building your load test
+     */
+    public LoadTestBuilder forDuration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * After you finish building your load test, use this method to run it and get back its results.
+     *
+     * @return the latency percentiles, throughput, and error rate of the load test
+     */
+    @Step("Perform load test")
+    public LoadTestResult perform() {
+        var sender = requestBuilder.prepareLoadTestRequest();
+        var concurrentRequests = requestsPerSecond > 0 && virtualUsers <= 0 ? SHAFT.Properties.flags.apiMaximumConcurrentRequests() : Math.max(1, virtualUsers);
+        ApiConnectionPool.reserveConnectionsPerRoute(concurrentRequests);
+        // latencies are recorded in microseconds, with 7 bits of precision to keep every percentile within 1%
+        var latencies = new Histogram(7);
+        var failedRequests = new LongAdder();
+        var lastSuccessfulResponse = new AtomicReference<Response>();
+        var startTime = System.nanoTime();
+        var deadline = startTime + duration.toNanos();
+        try (var executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SHAFT-LoadTest-", 0).factory())) {
+            if (requestsPerSecond > 0) {
+                var inFlightRequests = new Semaphore(concurrentRequests);
+                var interval = 1_000_000_000L / requestsPerSecond;
+                for (long dueTime = startTime; dueTime < deadline; dueTime += interval) {
+                    LockSupport.parkNanos(dueTime - System.nanoTime());
+                    inFlightRequests.acquireUninterruptibly();
+                    var scheduledTime = dueTime;
+                    executor.execute(() -> {
+                        try {
+                            send(sender, scheduledTime, latencies, failedRequests, lastSuccessfulResponse);
+                        } finally {
+                            inFlightRequests.release();
+                        }
+                    });
+                }
+            } else {
+                for (int virtualUser = 0; virtualUser < concurrentRequests; virtualUser++) {
+                    executor.execute(() -> {
+                        while (System.nanoTime() < deadline) {
+                            send(sender, System.nanoTime(), latencies, failedRequests, lastSuccessfulResponse);
+                        }
+                    });
+                }
+            }
+        }
+        var result = new LoadTestResult(latencies, failedRequests.sum(), Duration.ofNanos(System.nanoTime() - startTime));
+        var response = lastSuccessfulResponse.get();
+        if (response != null) {
+            RestActions.setLoadTestResult(response, result);
+            requestBuilder.getSession().setLastResponse(response);
+        }
+        loadTestPerformed(result);
+        return result;
+    }
+
+    private void send(Callable<Response> sender, long scheduledTime, Histogram latencies, LongAdder failedRequests, AtomicReference<Response> lastSuccessfulResponse) {
+        try {
+            var response = sender.call();
+            latencies.record((System.nanoTime() - scheduledTime) / 1000);
+            if (response != null && isSuccessful(response.getStatusCode())) {
+                lastSuccessfulResponse.set(response);
+            } else {
+                failedRequests.increment();
+            }
+        } catch (Exception exception) {
+            latencies.record((System.nanoTime() - scheduledTime) / 1000);
+            failedRequests.increment();
+        }
+    }
+
+    /**
+     * A response is successful if it has the target status code, or any 2xx status code when no target was set, the
+     * same way that a single request's status code is evaluated.
+     */
+    private boolean isSuccessful(int statusCode) {
+        var targetStatusCode = requestBuilder.getTargetStatusCode();
+        return targetStatusCode != 0 ? statusCode == targetStatusCode : statusCode >= 200 && statusCode < 300;
+    }
+
+    private void loadTestPerformed(LoadTestResult result) {
+        var request = requestBuilder.getRequestType() + " " + requestBuilder.getServiceURI() + requestBuilder.getServiceName();
+        RestActions.passAction(request + "; " + result, Arrays.asList("API Load Test", "Latency Percentiles", result.toJson()));
+    }
+}
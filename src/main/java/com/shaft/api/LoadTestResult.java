@@ -0,0 +1,121 @@
+package com.shaft.api;
+
+import com.google.gson.GsonBuilder;
+import com.shaft.tools.internal.metrics.Histogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+
+/**
+ * The outcome of an API load test; the latency percentiles, throughput, and error rate of all the requests that were
+ * sent during the test. Latencies are measured in milliseconds from the moment each request was due to be sent, so a
+ * slow service that delays the next requests is reflected in their latencies too.
+ */
+public class LoadTestResult {
+    private final Histogram latencies;
+    private final long failedRequests;
+    private final Duration elapsedTime;
+
+    LoadTestResult(Histogram latencies, long failedRequests, Duration elapsedTime) {
+        this.latencies = latencies;
+        this.failedRequests = failedRequests;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * @return the number of requests that were sent, whether they succeeded or failed
+     */
+    public long getTotalRequests() {
+        return latencies.getCount();
+    }
+
+    /**
+     * @return the number of requests that threw an exception or returned an unexpected status code
+     */
+    public long getFailedRequests() {
+        return failedRequests;
+    }
+
+    /**
+     * @return the percentage of the requests that failed, between 0 and 100
+     */
+    public double getErrorRate() {
+        return getTotalRequests() == 0 ? 0 : 100.0 * failedRequests / getTotalRequests();
+    }
+
+    /**
+     * @return the number of requests that were sent per second
+     */
+    public double getThroughput() {
+        return elapsedTime.isZero() ? 0 : getTotalRequests() * 1_000_000_000.0 / elapsedTime.toNanos();
+    }
+
+    /**
+     * @return the time it took to send all the requests and receive their responses
+     */
+    public Duration getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * Reads the latency that the given percentage of the requests took less than or the same time as.
+     *
+     * @param percentile the percentile, between 0 and 100, for example 95 for the p95 latency
+     * @return the latency in milliseconds
+     */
+    public double getPercentile(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * @return the p50 (median) latency in milliseconds
+     */
+    public double getP50() {
+        return getPercentile(50);
+    }
+
+    /**
+     * @return the p95 latency in milliseconds
+     */
+    public double getP95() {
+        return getPercentile(95);
+    }
+
+    /**
+     * @return the p99 latency in milliseconds
+     */
+    public double getP99() {
+        return getPercentile(99);
+    }
+
+    /**
+     * @return the highest latency in milliseconds
+     */
+    public double getMaximum() {
+        return latencies.getMax() / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests in %.1fs (%.1f requests/s), %.2f%% errors, p50: %.1fms, p95: %.1fms, p99: %.1fms, max: %.1fms",
+                getTotalRequests(), elapsedTime.toMillis() / 1000.0, getThroughput(), getErrorRate(), getP50(), getP95(), getP99(), getMaximum());
+    }
+
+    String toJson() {
+        var summary = new LinkedHashMap<String, Object>();
+        summary.put("totalRequests", getTotalRequests());
+        summary.put("failedRequests", getFailedRequests());
+        summary.put("errorRatePercentage", getErrorRate());
+        summary.put("elapsedTimeInSeconds", elapsedTime.toMillis() / 1000.0);
+        summary.put("throughputPerSecond", getThroughput());
+        var percentiles = new LinkedHashMap<String, Double>();
+        percentiles.put("p50", getP50());
+        percentiles.put("p90", getPercentile(90));
+        percentiles.put("p95", getP95());
+        percentiles.put("p99", getP99());
+        percentiles.put("p99.9", getPercentile(99.9));
+        percentiles.put("max", getMaximum());
+        summary.put("latencyInMilliseconds", percentiles);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(summary);
+    }
+}
@@ -1,25 +1,39 @@
 package com.shaft.api;
 
 import com.shaft.cli.FileActions;
+import com.shaft.driver.SHAFT;
 import io.qameta.allure.Step;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.config.SSLConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSender;
 import io.restassured.specification.RequestSpecification;
 import lombok.AccessLevel;
 import lombok.Getter;
+import org.testng.Reporter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 import static io.restassured.RestAssured.config;
 
 @Getter(AccessLevel.PACKAGE) //for unit tests
 @SuppressWarnings("unused")
 public class RequestBuilder {
+    private static final Executor asyncRequestsExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SHAFT-API-", 0).factory());
+    // the asynchronous requests of each calling thread are reported one after the other, in the order they were sent,
+    // and this completes with the first failure among them once the last one is reported
+    private static final ThreadLocal<CompletableFuture<Throwable>> asyncReportsFailure = ThreadLocal.withInitial(() -> CompletableFuture.completedFuture(null));
     private RestActions session;
     private Map<String, String> sessionHeaders;
     private Map<String, Object> sessionCookies;
@@ -40,6 +54,7 @@ public class RequestBuilder {
     private String authenticationPassword;
 
     private boolean appendDefaultContentCharsetToContentTypeIfUndefined;
+    private final List<Filter> filters = new ArrayList<>();
     private boolean urlEncodingEnabled;
 
     /**
@@ -281,6 +296,155 @@ public class RequestBuilder {
         return response;
     }
 
+    /**
+     * After you finish building your request, use this method to send the request in the background and continue
+     * with your test. The request is sent on a virtual thread, and is reported to the calling test in the order it was
+     * sent, after all the previous asynchronous requests of the same test were reported. Requests that aren't joined
+     * are still reported before the test finishes, and with TestNG a failed request also fails the test that sent it.
+     *
+     * @return a future that completes with the full response object once the request was sent and reported
+     */
+    public CompletableFuture<Response> performAsync() {
+        return performAsync(null);
+    }
+
+    /**
+     * Waits until all the asynchronous requests that were sent from the current thread are reported, so that their
+     * results and attachments belong to the test that sent them. The listeners call this when each test finishes.
+     *
+     * @return the first failure among the reported requests, or null if none of them failed
+     */
+    public static Throwable awaitAsyncReports() {
+        var failure = asyncReportsFailure.get().join();
+        asyncReportsFailure.remove();
+        return failure;
+    }
+
+    /**
+     * Sends a collection of requests in the background, with up to the maximum number of concurrent requests set by
+     * the {@code apiMaximumConcurrentRequests} property, and waits for all of them.
+     *
+     * @param requests the requests that will be sent
+     * @return the responses of the requests, in the same order as the requests
+     */
+    public static List<Response> performAll(Collection<RequestBuilder> requests) {
+        return performAll(requests, SHAFT.Properties.flags.apiMaximumConcurrentRequests());
+    }
+
+    /**
+     * Sends a collection of requests in the background, with up to the maximum number of concurrent requests, and waits
+     * for all of them. The requests are reported in the same order as the collection. If any request fails, all the
+     * other requests are still sent and reported before the first failure is thrown.
+     *
+     * @param requests                  the requests that will be sent
+     * @param maximumConcurrentRequests the maximum number of requests that are sent at the same time
+     * @return the responses of the requests, in the same order as the requests
+     */
+    public static List<Response> performAll(Collection<RequestBuilder> requests, int maximumConcurrentRequests) {
+        var concurrencyLimit = new Semaphore(Math.max(1, maximumConcurrentRequests));
+        var futureResponses = requests.stream().map(request -> request.performAsync(concurrencyLimit)).toList();
+        var responses = new ArrayList<Response>();
+        Throwable firstFailure = null;
+        for (var futureResponse : futureResponses) {
+            try {
+                responses.add(futureResponse.join());
+            } catch (CompletionException completionException) {
+                responses.add(null);
+                if (firstFailure == null) {
+                    firstFailure = completionException.getCause();
+                }
+            }
+        }
+        if (firstFailure instanceof Error error) {
+            throw error;
+        } else if (firstFailure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (firstFailure != null) {
+            throw new CompletionException(firstFailure);
+        }
+        return responses;
+    }
+
+    /**
+     * After you finish building your request, use this method to send it repeatedly under load, and measure its
+     * latency percentiles, throughput, and error rate.
+     *
+     * @return a LoadTestBuilder object to set the load profile and then perform() the load test
+     */
+    public LoadTestBuilder load() {
+        return new LoadTestBuilder(this);
+    }
+
+    /**
+     * Prepares this request once for a load test, and returns a sender that sends it again each time it's called
+     * without reporting it.
+     */
+    Callable<Response> prepareLoadTestRequest() {
+        String request = prepareRequestURLWithParameters();
+        RequestSpecification specs = prepareRequestSpecifications();
+        setupAuthentication(specs);
+        if (!isSupportedRequestType()) {
+            RestActions.failAction(request, new Throwable[0]);
+        }
+        Filter unreportedFilter = (requestSpec, responseSpec, context) -> context.next(requestSpec, responseSpec);
+        return () -> session.sendRequest(requestType, request, specs, unreportedFilter);
+    }
+
+    private CompletableFuture<Response> performAsync(Semaphore concurrencyLimit) {
+        String request = prepareRequestURLWithParameters();
+        RequestSpecification specs = prepareRequestSpecifications();
+        setupAuthentication(specs);
+
+        var reportingFilter = new DeferredReportingFilter();
+        var callerTestResult = Reporter.getCurrentTestResult();
+        var sentRequest = CompletableFuture.supplyAsync(() -> {
+            if (concurrencyLimit != null) {
+                concurrencyLimit.acquireUninterruptibly();
+            }
+            try {
+                return isSupportedRequestType() ? session.sendRequest(requestType, request, specs, reportingFilter) : null;
+            } finally {
+                if (concurrencyLimit != null) {
+                    concurrencyLimit.release();
+                }
+            }
+        }, asyncRequestsExecutor).handle(SentRequest::new);
+        // a failed report doesn't prevent the next requests from being reported
+        var previousReports = asyncReportsFailure.get();
+        var report = previousReports.thenCombine(sentRequest, (ignored, sent) -> {
+            Reporter.setCurrentTestResult(callerTestResult);
+            return reportAsyncRequest(request, specs, reportingFilter, sent);
+        });
+        asyncReportsFailure.set(previousReports.thenCombine(report.handle((response, throwable) -> throwable),
+                (previousFailure, failure) -> previousFailure != null ? previousFailure
+                        : failure instanceof CompletionException completionException ? completionException.getCause() : failure));
+        return report;
+    }
+
+    private Response reportAsyncRequest(String request, RequestSpecification specs, DeferredReportingFilter reportingFilter, SentRequest sent) {
+        if (!isSupportedRequestType()) {
+            RestActions.failAction(request, new Throwable[0]);
+            return null;
+        }
+        Response response = sent.response();
+        try {
+            if (sent.failure() != null) {
+                var failure = sent.failure() instanceof CompletionException completionException ? completionException.getCause() : sent.failure();
+                if (failure instanceof Error error) {
+                    throw error;
+                }
+                throw (Exception) failure;
+            }
+            reportingFilter.replay(new ApiTrafficCaptureFilter(targetStatusCode));
+            handleResponse(response, specs);
+        } catch (Exception e) {
+            handleException(request, specs, response, e);
+        }
+
+        session.setLastResponse(response);
+        return response;
+    }
+
     private String prepareRequestURLWithParameters() {
         String request = session.prepareRequestURL(serviceURI, urlArguments, serviceName);
         if (parameters != null && parametersType == RestActions.ParametersType.QUERY) {
@@ -289,8 +453,21 @@ public class RequestBuilder {
         return request;
     }
 
+    /**
+     * Adds a filter that's applied to this request after the engine's own filters, right before it's sent.
+     *
+     * @param filter the filter that will be applied to the request
+     * @return a self-reference to be used to continue building your API request
+     */
+    RequestBuilder addFilter(Filter filter) {
+        this.filters.add(filter);
+        return this;
+    }
+
     private RequestSpecification prepareRequestSpecifications() {
-        return session.prepareRequestSpecs(parameters, parametersType, requestBody, contentType, sessionCookies, sessionHeaders, sessionConfig, appendDefaultContentCharsetToContentTypeIfUndefined, urlEncodingEnabled);
+        var specs = session.prepareRequestSpecs(parameters, parametersType, requestBody, contentType, sessionCookies, sessionHeaders, sessionConfig, appendDefaultContentCharsetToContentTypeIfUndefined, urlEncodingEnabled);
+        filters.forEach(specs::filter);
+        return specs;
     }
 
     private void setupAuthentication(RequestSpecification specs) {
@@ -307,7 +484,7 @@ public class RequestBuilder {
             RestActions.failAction(request, new Throwable[0]);
             return null;
         }
-        return session.sendRequest(requestType, request, specs);
+        return session.sendRequest(requestType, request, specs, new ApiTrafficCaptureFilter(targetStatusCode));
     }
 
     private void handleResponse(Response response, RequestSpecification specs) {
@@ -355,6 +532,76 @@ public class RequestBuilder {
         return urlWithParams.toString();
     }
 
+    private record SentRequest(Response response, Throwable failure) {
+    }
+
+    /**
+     * Captures an asynchronous request and its response while it's sent, so that the same report attachments as a
+     * synchronous request can be added later, in order, once the request is reported.
+     */
+    static class DeferredReportingFilter implements Filter {
+        private FilterableRequestSpecification requestSpecification;
+        private FilterableResponseSpecification responseSpecification;
+        private Response response;
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext context) {
+            requestSpecification = requestSpec;
+            responseSpecification = responseSpec;
+            response = context.next(requestSpec, responseSpec);
+            return response;
+        }
+
+        void replay(Filter reportFilter) {
+            if (response != null) {
+                reportFilter.filter(requestSpecification, responseSpecification, new ReplayedFilterContext(response));
+            }
+        }
+    }
+
+    /**
+     * Hands an already received response to a filter instead of sending the request again.
+     */
+    static class ReplayedFilterContext implements FilterContext {
+        private final Response response;
+        private final Map<String, Object> values = new HashMap<>();
+
+        ReplayedFilterContext(Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public void setValue(String name, Object value) {
+            values.put(name, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getValue(String name) {
+            return (T) values.get(name);
+        }
+
+        @Override
+        public boolean hasValue(String name) {
+            return values.get(name) != null;
+        }
+
+        @Override
+        public boolean hasValue(String name, Object value) {
+            return Objects.equals(values.get(name), value);
+        }
+
+        @Override
+        public Response send(RequestSender requestSender) {
+            return response;
+        }
+
+        @Override
+        public Response next(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec) {
+            return response;
+        }
+    }
+
     /**
      * The type of your authentication method {BASIC, FORM, NONE}
      */
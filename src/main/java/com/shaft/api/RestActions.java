@@ -1,32 +1,32 @@
 package com.shaft.api;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParser;
-import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.JsonPath;
+import com.google.gson.stream.MalformedJsonException;
+import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
 import com.shaft.driver.DriverFactory;
 import com.shaft.driver.SHAFT;
+import com.shaft.tools.internal.metrics.EngineMetrics;
 import com.shaft.tools.internal.support.JavaHelper;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.internal.FailureReporter;
 import com.shaft.tools.io.internal.ReportManagerHelper;
 import eu.medsea.mimeutil.MimeUtil;
 import eu.medsea.mimeutil.MimeUtil2;
-import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.builder.MultiPartSpecBuilder;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.config.EncoderConfig;
 import io.restassured.config.HttpClientConfig;
 import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
 import io.restassured.http.ContentType;
 import io.restassured.http.Cookie;
 import io.restassured.http.Header;
+import io.restassured.internal.http.CharsetExtractor;
 import io.restassured.mapper.ObjectMapperType;
 import io.restassured.path.json.exception.JsonPathException;
 import io.restassured.path.xml.element.Node;
@@ -41,7 +41,6 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
-import org.skyscreamer.jsonassert.JSONAssert;
 import org.skyscreamer.jsonassert.JSONCompare;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 
@@ -49,11 +48,16 @@ import javax.xml.XMLConstants;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import java.io.*;
 import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 
@@ -68,9 +72,11 @@ public class RestActions {
     private static final String ERROR_INCORRECT_XML_PATH = "Incorrect xmlPath ";
     private static final String ERROR_FAILED_TO_PARSE_JSON = "Failed to parse the JSON document";
     private static final String GRAPHQL_END_POINT = "graphql";
-    static AllureRestAssured allureFilter = new AllureRestAssured()
-            .setRequestAttachmentName("Request")
-            .setResponseAttachmentName("Response");
+    private static final int MAXIMUM_JSON_ATTACHMENT_LENGTH = 1_000_000;
+    // transformers aren't thread-safe, but each thread can reuse its own transformer for all its formatting calls
+    private static final ThreadLocal<Transformer> prettyXmlTransformer = ThreadLocal.withInitial(RestActions::createPrettyXmlTransformer);
+    private static final Map<Response, LoadTestResult> loadTestResults = Collections.synchronizedMap(new WeakHashMap<>());
+    static Filter allureFilter = new ApiTrafficCaptureFilter();
     private static boolean AUTOMATICALLY_ASSERT_RESPONSE_STATUS_CODE = true;
     private static int HTTP_SOCKET_TIMEOUT;
     private static int HTTP_CONNECTION_TIMEOUT;
@@ -179,25 +185,22 @@ public class RestActions {
      */
     public static String getResponseJSONValue(Response response, String jsonPath) {
         String searchPool = "";
-        String jsonResponse = response.asPrettyString();
         try {
             if (jsonPath.contains("?")) {
-                List<String> jsonValueAsList = JsonPath.read(jsonResponse, jsonPath);
+                List<String> jsonValueAsList = JsonResponseDocuments.read(response, jsonPath);
                 searchPool = String.valueOf(jsonValueAsList.getFirst());
             } else {
-                var jsonValue = JsonPath.read(jsonResponse, jsonPath);
+                Object jsonValue = JsonResponseDocuments.read(response, jsonPath);
                 searchPool = String.valueOf(jsonValue);
             }
             // This implementation is to handle the *PathNotFoundException* that happens when we have json object but inside html or xml tags, so it's not represented as json object
         } catch (PathNotFoundException e) {
-            String jsonObject = jsonResponse.substring(jsonResponse.indexOf("{"), jsonResponse.lastIndexOf("}") + 1);
-            Configuration confOrgJsonProvider = Configuration.builder().jsonProvider(new JsonOrgJsonProvider()).build();
             try {
                 if (jsonPath.contains("?")) {
-                    JSONArray jsonValue = JsonPath.compile(jsonPath).read(new JSONObject(jsonObject), confOrgJsonProvider);
+                    JSONArray jsonValue = JsonResponseDocuments.readEmbedded(response, jsonPath);
                     searchPool = String.valueOf(jsonValue.get(0));
                 } else {
-                    Object jsonValue = JsonPath.compile(jsonPath).read(new JSONObject(jsonObject), confOrgJsonProvider);
+                    Object jsonValue = JsonResponseDocuments.readEmbedded(response, jsonPath);
                     searchPool = String.valueOf(jsonValue);
                 }
             } catch (JSONException rootCauseException) {
@@ -228,24 +231,21 @@ public class RestActions {
                 JSONObject obj = new JSONObject(hashMapResponse);
                 searchPool = io.restassured.path.json.JsonPath.from(obj.toString()).getString(jsonPath);
             } else if (response instanceof Response responseObject) {
-                String jsonResponse = responseObject.asPrettyString();
                 try {
                     if (jsonPath.contains("?")) {
-                        List<String> jsonValueAsList = JsonPath.read(jsonResponse, jsonPath);
+                        List<String> jsonValueAsList = JsonResponseDocuments.read(responseObject, jsonPath);
                         searchPool = String.valueOf(jsonValueAsList.getFirst());
                     } else {
-                        var jsonValue = JsonPath.read(jsonResponse, jsonPath);
+                        Object jsonValue = JsonResponseDocuments.read(responseObject, jsonPath);
                         searchPool = String.valueOf(jsonValue);
                     }
                 } catch (PathNotFoundException e) {
-                    String jsonObject = jsonResponse.substring(jsonResponse.indexOf("{"), jsonResponse.lastIndexOf("}") + 1);
-                    Configuration confOrgJsonProvider = Configuration.builder().jsonProvider(new JsonOrgJsonProvider()).build();
                     try {
                         if (jsonPath.contains("?")) {
-                            JSONArray jsonValue = JsonPath.compile(jsonPath).read(new JSONObject(jsonObject), confOrgJsonProvider);
+                            JSONArray jsonValue = JsonResponseDocuments.readEmbedded(responseObject, jsonPath);
                             searchPool = String.valueOf(jsonValue.get(0));
                         } else {
-                            Object jsonValue = JsonPath.compile(jsonPath).read(new JSONObject(jsonObject), confOrgJsonProvider);
+                            Object jsonValue = JsonResponseDocuments.readEmbedded(responseObject, jsonPath);
                             searchPool = String.valueOf(jsonValue);
                         }
                     } catch (JSONException rootCauseException) {
@@ -273,18 +273,14 @@ public class RestActions {
 
     public static List<Object> getResponseJSONValueAsList(Response response, String jsonPath) {
         List<Object> searchPool = null;
-        String jsonResponse = response.asPrettyString();
         try {
-            searchPool = JsonPath.read(jsonResponse, jsonPath);
+            // copied, so that changing the returned list doesn't change the parsed response
+            searchPool = new ArrayList<>(JsonResponseDocuments.<List<Object>>read(response, jsonPath));
         } catch (PathNotFoundException e) {
-            String jsonObject = jsonResponse.substring(jsonResponse.indexOf("{"), jsonResponse.lastIndexOf("}") + 1);
-            Configuration confOrgJsonProvider = Configuration.builder().jsonProvider(new JsonOrgJsonProvider()).build();
             List<Object> jsonList = null;
             try {
-                JSONArray jsonArray = JsonPath.compile(jsonPath).read(new JSONObject(jsonObject), confOrgJsonProvider);
-                jsonList = new ObjectMapper().readValue(Objects.requireNonNull(jsonArray).toString(), new TypeReference<>() {
-                });
-            } catch (JSONException | JsonProcessingException rootCauseException) {
+                jsonList = new ArrayList<>(Objects.requireNonNull(JsonResponseDocuments.<List<Object>>readEmbeddedAsJava(response, jsonPath)));
+            } catch (InvalidJsonException rootCauseException) {
                 ReportManager.log(ERROR_FAILED_TO_PARSE_JSON);
                 failAction(jsonPath, rootCauseException);
             }
@@ -337,7 +333,7 @@ public class RestActions {
     public static String getResponseXMLValue(Response response, String xmlPath) {
         String searchPool = "";
         try {
-            searchPool = response.xmlPath().getString(xmlPath);
+            searchPool = XmlResponseDocuments.getXmlPath(response).getString(xmlPath);
         } catch (ClassCastException rootCauseException) {
             ReportManager.log(ERROR_INCORRECT_XML_PATH + "\"" + xmlPath + "\"");
             failAction(xmlPath, rootCauseException);
@@ -375,7 +371,7 @@ public class RestActions {
     public static List<Object> getResponseXMLValueAsList(Response response, String xmlPath) {
         NodeChildren output = null;
         try {
-            output = response.xmlPath().get(xmlPath);
+            output = XmlResponseDocuments.getXmlPath(response).get(xmlPath);
         } catch (ClassCastException rootCauseException) {
             ReportManager.log(ERROR_INCORRECT_XML_PATH + "\"" + xmlPath + "\"");
             failAction(xmlPath, rootCauseException);
@@ -411,6 +407,55 @@ public class RestActions {
         return time;
     }
 
+    /**
+     * Validates the response body against a JSON schema file. Each schema file is compiled once, and compiled again
+     * only if it changes.
+     *
+     * @param response       the response object returned from performRequest()
+     * @param schemaFilePath the path to the JSON schema file
+     * @return the validation errors, or an empty list if the response body matches the schema
+     */
+    public static List<String> getSchemaValidationErrors(Response response, String schemaFilePath) {
+        try {
+            return JsonSchemaCache.validate(response, schemaFilePath);
+        } catch (IOException | ProcessingException rootCauseException) {
+            failAction("Couldn't validate the response against the JSON schema \"" + schemaFilePath + "\"", rootCauseException);
+            return List.of();
+        }
+    }
+
+    /**
+     * Extracts a latency percentile of the load test that returned this response
+     *
+     * @param response   the last response of a load test that was performed using RequestBuilder.load()
+     * @param percentile the percentile, between 0 and 100, for example 95 for the p95 latency
+     * @return the latency percentile in milliseconds
+     */
+    public static double getResponseTimePercentile(Response response, double percentile) {
+        var loadTestResult = getLoadTestResult(response);
+        if (loadTestResult == null) {
+            failAction("This response wasn't returned by a load test; use RequestBuilder.load() to measure latency percentiles.");
+            return 0;
+        }
+        double time = loadTestResult.getPercentile(percentile);
+        passAction(String.valueOf(time));
+        return time;
+    }
+
+    /**
+     * Gets the results of the load test that returned this response
+     *
+     * @param response the last response of a load test that was performed using RequestBuilder.load()
+     * @return the results of the load test, or null if the response wasn't returned by a load test
+     */
+    public static LoadTestResult getLoadTestResult(Response response) {
+        return response == null ? null : loadTestResults.get(response);
+    }
+
+    static void setLoadTestResult(Response response, LoadTestResult loadTestResult) {
+        loadTestResults.put(response, loadTestResult);
+    }
+
     /**
      * Compares the Response object against the content of the referenceJsonFilePath
      *
@@ -456,56 +501,25 @@ public class RestActions {
                     + "\", jsonPath to target array \"" + jsonPathToTargetArray + "\".");
         }
         boolean comparisonResult;
-        JSONParser parser = new JSONParser();
         List<Object> expectedJSONAttachment = null;
-
+        StreamingJsonComparator.JsonSource expectedJson = () -> Files.newBufferedReader(Path.of(referenceJsonFilePath));
         try {
-            // parse actual JSON into Object or Array
-            org.json.simple.JSONObject actualJsonObject = null;
-            org.json.simple.JSONArray actualJsonArray = null;
-
-            var actualObject = parser.parse(response.asString());
-            if (actualObject instanceof org.json.simple.JSONObject) {
-                actualJsonObject = (org.json.simple.JSONObject) parser.parse(response.asString());
-            } else {
-                // actualObject is an array org.json.simple.JSONArray
-                actualJsonArray = (org.json.simple.JSONArray) parser.parse(response.asString());
-            }
-
-            // parse expected JSON into Object or Array
-            org.json.simple.JSONObject expectedJsonObject = null;
-            org.json.simple.JSONArray expectedJsonArray = null;
-
-            var expectedObject = parser.parse(new FileReader(referenceJsonFilePath));
-            if (expectedObject instanceof org.json.simple.JSONObject) {
-                expectedJsonObject = (org.json.simple.JSONObject) parser.parse(new FileReader(referenceJsonFilePath));
-                expectedJSONAttachment = Arrays.asList("File Content", "Expected JSON",
-                        new GsonBuilder().setPrettyPrinting().create()
-                                .toJson(JsonParser.parseString(expectedJsonObject.toJSONString())));
-            } else {
-                // expectedObject is an array org.json.simple.JSONArray
-                expectedJsonArray = (org.json.simple.JSONArray) parser.parse(new FileReader(referenceJsonFilePath));
-                expectedJSONAttachment = Arrays.asList("File Content", "Expected JSON", new GsonBuilder()
-                        .setPrettyPrinting().create().toJson(JsonParser.parseString(expectedJsonArray.toJSONString())));
-            }
-
-            // handle different combinations of expected and actual (object vs array)
             // TODO: handle jsonPathToTargetArray and attempt to parse the actual result
             comparisonResult = switch (comparisonType) {
-                case EQUALS -> compareJSONEquals(expectedJsonObject, expectedJsonArray, actualJsonObject,
-                        actualJsonArray);
-                case CONTAINS -> compareJSONContains(response, expectedJsonObject, expectedJsonArray,
-                        actualJsonObject, jsonPathToTargetArray);
-                case EQUALS_IGNORING_ORDER ->
-                        compareJSONEqualsIgnoringOrder(expectedJsonObject, expectedJsonArray, actualJsonObject,
-                                actualJsonArray);
+                case EQUALS -> compareJSONEquals(response, expectedJson, false);
+                case CONTAINS -> compareJSONContains(response, referenceJsonFilePath, jsonPathToTargetArray);
+                case EQUALS_IGNORING_ORDER -> compareJSONEquals(response, expectedJson, true);
             };
+            // the expected JSON is only formatted for the report after the comparison, and is truncated if it's too large
+            expectedJSONAttachment = Arrays.asList("File Content", "Expected JSON",
+                    StreamingJsonComparator.toPrettyJson(expectedJson, MAXIMUM_JSON_ATTACHMENT_LENGTH));
+        } catch (MalformedJsonException | EOFException | IllegalStateException | ParseException |
+                 JSONException rootCauseException) {
+            failAction("Couldn't parse the desired file. \"" + referenceJsonFilePath + "\".", rootCauseException);
+            comparisonResult = false;
         } catch (IOException rootCauseException) {
             failAction("Couldn't find the desired file. \"" + referenceJsonFilePath + "\".", rootCauseException);
             comparisonResult = false;
-        } catch (ParseException | JSONException rootCauseException) {
-            failAction("Couldn't parse the desired file. \"" + referenceJsonFilePath + "\".", rootCauseException);
-            comparisonResult = false;
         }
         passAction(referenceJsonFilePath, expectedJSONAttachment);
         return comparisonResult;
@@ -607,46 +621,43 @@ public class RestActions {
         }
     }
 
-    private static boolean compareJSONEquals(org.json.simple.JSONObject expectedJsonObject,
-                                             org.json.simple.JSONArray expectedJsonArray, org.json.simple.JSONObject actualJsonObject,
-                                             org.json.simple.JSONArray actualJsonArray) {
-        if (expectedJsonObject != null && actualJsonObject != null) {
-            // if expected is an object and actual is also an object
-            return actualJsonObject.toString().equals(expectedJsonObject.toString());
-        } else {
-            // if expected is an array and actual response is also an array
-            return actualJsonArray.toString().equals(expectedJsonArray.toString());
+    private static boolean compareJSONEquals(Response response, StreamingJsonComparator.JsonSource expectedJson, boolean ignoringOrder) throws IOException {
+        var actualBody = response.asByteArray();
+        var actualCharset = getResponseCharset(response);
+        var comparator = new StreamingJsonComparator(expectedJson,
+                () -> new InputStreamReader(new ByteArrayInputStream(actualBody), actualCharset),
+                ignoringOrder, SHAFT.Properties.flags.jsonComparisonMaximumDifferences());
+        var comparisonResult = comparator.compare();
+        if (!comparisonResult) {
+            ReportManager.logDiscrete("JSON differences:\n" + String.join("\n", comparator.getDifferences()));
         }
+        return comparisonResult;
     }
 
-    private static boolean compareJSONEqualsIgnoringOrder(org.json.simple.JSONObject expectedJsonObject,
-                                                          org.json.simple.JSONArray expectedJsonArray, org.json.simple.JSONObject actualJsonObject,
-                                                          org.json.simple.JSONArray actualJsonArray) {
-        if (expectedJsonObject != null && actualJsonObject != null) {
-            // if expected is an object and actual is also an object
-            try {
-                JSONAssert.assertEquals(expectedJsonObject.toString(), actualJsonObject.toString(), JSONCompareMode.NON_EXTENSIBLE);
-                return true;
-            } catch (JSONException e) {
-                return false;
-            }
-        } else {
-            // if expected is an array and actual response is also an array
-            try {
-                JSONAssert.assertEquals(expectedJsonArray.toString(), actualJsonArray.toString(), JSONCompareMode.NON_EXTENSIBLE);
-                return true;
-            } catch (JSONException e) {
-                return false;
-            }
-        }
+    /**
+     * Resolves the charset the response body is decoded with, the same way {@link Response#asString()} does; the
+     * charset declared by the content type wins, otherwise the decoder's default for that content type is used.
+     */
+    private static Charset getResponseCharset(Response response) {
+        var contentType = response.getContentType();
+        var declaredCharset = CharsetExtractor.getCharsetFromContentType(contentType);
+        return Charset.forName(declaredCharset != null ? declaredCharset
+                : config().getDecoderConfig().defaultCharsetForContentType(contentType));
     }
 
     @SuppressWarnings("unchecked")
-    private static boolean compareJSONContains(Response response, org.json.simple.JSONObject expectedJsonObject,
-                                               org.json.simple.JSONArray expectedJsonArray, org.json.simple.JSONObject actualJsonObject,
-                                               String jsonPathToTargetArray)
-            throws JSONException, ParseException {
+    private static boolean compareJSONContains(Response response, String referenceJsonFilePath, String jsonPathToTargetArray)
+            throws JSONException, ParseException, IOException {
         JSONParser parser = new JSONParser();
+        // partial matching needs both documents, so each of them is parsed once
+        var actualObject = parser.parse(response.asString());
+        var actualJsonObject = actualObject instanceof org.json.simple.JSONObject jsonObject ? jsonObject : null;
+        Object expectedObject;
+        try (var reader = Files.newBufferedReader(Path.of(referenceJsonFilePath))) {
+            expectedObject = parser.parse(reader);
+        }
+        var expectedJsonObject = expectedObject instanceof org.json.simple.JSONObject jsonObject ? jsonObject : null;
+        var expectedJsonArray = expectedObject instanceof org.json.simple.JSONArray jsonArray ? jsonArray : null;
         if (!jsonPathToTargetArray.isEmpty() && (expectedJsonArray != null)) {
             // if expected is an array and the user provided the path to extract it from the
             // response
@@ -679,6 +690,21 @@ public class RestActions {
     private static String prettyFormatXML(String input) {
         Source xmlInput = new StreamSource(new StringReader(input));
         StringWriter stringWriter = new StringWriter();
+        try {
+            Transformer transformer = prettyXmlTransformer.get();
+            if (transformer == null) {
+                return input;
+            }
+            transformer.transform(xmlInput, new StreamResult(stringWriter));
+            return stringWriter.toString().trim();
+        } catch (Exception e) {
+            // a transformer that failed mid-way is replaced rather than reused
+            prettyXmlTransformer.remove();
+            return input;
+        }
+    }
+
+    private static Transformer createPrettyXmlTransformer() {
         try {
             TransformerFactory transformerFactory = TransformerFactory.newInstance();
             transformerFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
@@ -686,10 +712,9 @@ public class RestActions {
             transformer.setOutputProperty(OutputKeys.INDENT, "yes");
             transformer.setOutputProperty(OutputKeys.DOCTYPE_PUBLIC, "yes");
             transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-            transformer.transform(xmlInput, new StreamResult(stringWriter));
-            return stringWriter.toString().trim();
-        } catch (Exception e) {
-            return input;
+            return transformer;
+        } catch (TransformerException e) {
+            return null;
         }
     }
 
@@ -712,9 +737,37 @@ public class RestActions {
      * @return Response object
      */
     private static Response graphQlRequestHelper(String base_URI_forHelperMethod, org.json.simple.JSONObject requestBody_forHelperMethod) {
+        var requestBuilder = prepareGraphQlRequest(base_URI_forHelperMethod, requestBody_forHelperMethod);
         ReportManager.logDiscrete("GraphQl Request is being Performed with the Following Parameters [Service URL: " + base_URI_forHelperMethod + "graphql | Request Body: " + requestBody_forHelperMethod + "\"");
-        return buildNewRequest(base_URI_forHelperMethod, GRAPHQL_END_POINT, RequestType.POST).setRequestBody(requestBody_forHelperMethod)
-                .setContentType(ContentType.JSON).performRequest();
+        return requestBuilder.performRequest();
+    }
+
+    /**
+     * private helper method that compiles the query of a graphql request body, and sends it as a persisted query if
+     * persisted queries are enabled.
+     *
+     * @param base_URI_forHelperMethod    The Base URI without "graphql". example:: "<a href="https://api.example.com/">https://api.example.com/</a>"
+     * @param requestBody_forHelperMethod the request body.
+     * @return a RequestBuilder object that's ready to perform the request
+     */
+    @SuppressWarnings("unchecked")
+    private static RequestBuilder prepareGraphQlRequest(String base_URI_forHelperMethod, org.json.simple.JSONObject requestBody_forHelperMethod) {
+        var compiledQuery = GraphQlQueries.compile(String.valueOf(requestBody_forHelperMethod.get("query")));
+        requestBody_forHelperMethod.put("query", compiledQuery.text());
+        var requestBuilder = buildNewRequest(base_URI_forHelperMethod, GRAPHQL_END_POINT, RequestType.POST).setRequestBody(requestBody_forHelperMethod)
+                .setContentType(ContentType.JSON);
+        if (SHAFT.Properties.flags.enableGraphQlPersistedQueries()) {
+            org.json.simple.JSONObject persistedQuery = new org.json.simple.JSONObject();
+            persistedQuery.put("version", 1);
+            persistedQuery.put("sha256Hash", compiledQuery.sha256Hash());
+            org.json.simple.JSONObject extensions = new org.json.simple.JSONObject();
+            extensions.put("persistedQuery", persistedQuery);
+            requestBody_forHelperMethod.put("extensions", extensions);
+            org.json.simple.JSONObject hashOnlyRequestBody = new org.json.simple.JSONObject(requestBody_forHelperMethod);
+            hashOnlyRequestBody.remove("query");
+            requestBuilder.addFilter(GraphQlQueries.persistedQueryFilter(hashOnlyRequestBody.toJSONString()));
+        }
+        return requestBuilder;
     }
 
     /**
@@ -778,9 +831,71 @@ public class RestActions {
      * @return Response object
      */
     private static Response graphQlRequestHelperWithHeader(String base_URI_forHelperMethod, org.json.simple.JSONObject requestBody_forHelperMethod, String headerKey_forHelperMethod, String headerValue_forHelperMethod) {
+        var requestBuilder = prepareGraphQlRequest(base_URI_forHelperMethod, requestBody_forHelperMethod);
         ReportManager.logDiscrete("GraphQl Request is being Performed with the Following Parameters [Service URL: " + base_URI_forHelperMethod + "graphql | Request Body: " + requestBody_forHelperMethod + " | Header: \"" + headerKey_forHelperMethod + "\":\"" + headerValue_forHelperMethod + "\"\"");
-        return buildNewRequest(base_URI_forHelperMethod, GRAPHQL_END_POINT, RequestType.POST).setRequestBody(requestBody_forHelperMethod)
-                .setContentType(ContentType.JSON).addHeader(headerKey_forHelperMethod, headerValue_forHelperMethod).performRequest();
+        return requestBuilder.addHeader(headerKey_forHelperMethod, headerValue_forHelperMethod).performRequest();
+    }
+
+    /**
+     * Perform several Graphql Queries in one HTTP request - WITHOUT Header. The graphql server must support query batching;
+     * the response body is a JSON array that holds the response of each query, in the same order as the queries.
+     *
+     * @param base_URI The Base URI without "graphql". example:: "<a href="https://api.example.com/">https://api.example.com/</a>"
+     * @param queries  graphql queries or mutations.
+     * @return Graphql Response
+     */
+    public static Response sendGraphQlBatchRequest(String base_URI, List<String> queries) {
+        return sendGraphQlBatchRequest(base_URI, queries, null);
+    }
+
+    /**
+     * Perform several Graphql Queries with their Variables in one HTTP request - WITHOUT Header. The graphql server must
+     * support query batching; the response body is a JSON array that holds the response of each query, in the same order
+     * as the queries.
+     *
+     * @param base_URI  The Base URI without "graphql". example:: "<a href="https://api.example.com/">https://api.example.com/</a>"
+     * @param queries   graphql queries or mutations.
+     * @param variables graphql variables of each query, in the same order as the queries; use null for queries without variables.
+     * @return Graphql Response
+     */
+    public static Response sendGraphQlBatchRequest(String base_URI, List<String> queries, List<String> variables) {
+        var requestBody = prepareGraphQlBatchRequestBody(queries, variables);
+        ReportManager.logDiscrete("GraphQl Batch Request is being Performed with the Following Parameters [Service URL: " + base_URI + "graphql | Request Body: " + requestBody + "\"");
+        return buildNewRequest(base_URI, GRAPHQL_END_POINT, RequestType.POST).setRequestBody(requestBody)
+                .setContentType(ContentType.JSON).performRequest();
+    }
+
+    /**
+     * Perform several Graphql Queries with their Variables in one HTTP request - WITH Header. The graphql server must
+     * support query batching; the response body is a JSON array that holds the response of each query, in the same order
+     * as the queries.
+     *
+     * @param base_URI     The Base URI without "graphql". example:: "<a href="https://api.example.com/">https://api.example.com/</a>"
+     * @param queries      graphql queries or mutations.
+     * @param variables    graphql variables of each query, in the same order as the queries; use null for queries without variables.
+     * @param header_key   the name of the header that you want to add. example:: "Authorization"
+     * @param header_value the value that will be put inside the key. example:: "bearer ${token}"
+     * @return Graphql Response
+     */
+    public static Response sendGraphQlBatchRequestWithHeader(String base_URI, List<String> queries, List<String> variables, String header_key, String header_value) {
+        var requestBody = prepareGraphQlBatchRequestBody(queries, variables);
+        ReportManager.logDiscrete("GraphQl Batch Request is being Performed with the Following Parameters [Service URL: " + base_URI + "graphql | Request Body: " + requestBody + " | Header: \"" + header_key + "\":\"" + header_value + "\"\"");
+        return buildNewRequest(base_URI, GRAPHQL_END_POINT, RequestType.POST).setRequestBody(requestBody)
+                .setContentType(ContentType.JSON).addHeader(header_key, header_value).performRequest();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static org.json.simple.JSONArray prepareGraphQlBatchRequestBody(List<String> queries, List<String> variables) {
+        org.json.simple.JSONArray requestBody = new org.json.simple.JSONArray();
+        for (int index = 0; index < queries.size(); index++) {
+            org.json.simple.JSONObject operation = new org.json.simple.JSONObject();
+            operation.put("query", GraphQlQueries.compile(queries.get(index)).text());
+            if (variables != null && index < variables.size() && variables.get(index) != null) {
+                operation.put("variables", variables.get(index));
+            }
+            requestBody.add(operation);
+        }
+        return requestBody;
     }
 
     /**
@@ -875,10 +990,10 @@ public class RestActions {
         //Add configs
         RestAssuredConfig userConfigs = sessionConfig.and().encoderConfig((new EncoderConfig()).defaultContentCharset("UTF-8")
                         .appendDefaultContentCharsetToContentTypeIfUndefined(appendDefaultContentCharsetToContentTypeIfUndefined)).and()
-                .httpClient(HttpClientConfig.httpClientConfig()
+                .httpClient(ApiConnectionPool.configure(HttpClientConfig.httpClientConfig()
                         .setParam("http.connection.timeout", HTTP_CONNECTION_TIMEOUT * 1000)
                         .setParam("http.socket.timeout", HTTP_SOCKET_TIMEOUT * 1000)
-                        .setParam("http.connection-manager.timeout", HTTP_CONNECTION_MANAGER_TIMEOUT * 1000));
+                        .setParam("http.connection-manager.timeout", HTTP_CONNECTION_MANAGER_TIMEOUT * 1000), sessionConfig));
         builder.setConfig(userConfigs);
         // timeouts documentation
         /*
@@ -995,21 +1110,44 @@ public class RestActions {
     }
 
     Response sendRequest(RequestType requestType, String request, RequestSpecification specs) {
+        return sendRequest(requestType, request, specs, allureFilter);
+    }
+
+    Response sendRequest(RequestType requestType, String request, RequestSpecification specs, Filter reportingFilter) {
+        var startTime = System.nanoTime();
+        var outcome = "failure";
+        try (var ignored = EngineTracer.startSpan("API Request", requestType.name() + " " + request)) {
+            var targetRequest = ApiTrafficStore.getMode() == ApiTrafficStore.Mode.REPLAY ? ApiTrafficStore.toReplayURL(request) : request;
+            var response = executeRequest(requestType, targetRequest, specs, reportingFilter);
+            if (response != null) {
+                outcome = String.valueOf(response.getStatusCode() / 100) + "xx";
+            }
+            return response;
+        } finally {
+            EngineMetrics.recordDuration("api_request", startTime, "method", requestType.name(), "status", outcome);
+        }
+    }
+
+    private Response executeRequest(RequestType requestType, String request, RequestSpecification specs, Filter reportingFilter) {
+        var requestSpecification = given().filter(reportingFilter);
+        if (ApiTrafficStore.getMode() == ApiTrafficStore.Mode.RECORD) {
+            requestSpecification.filter(ApiTrafficStore.getRecorder());
+        }
         switch (requestType) {
             case POST -> {
-                return given().filter(allureFilter).spec(specs).when().post(request).andReturn();
+                return requestSpecification.spec(specs).when().post(request).andReturn();
             }
             case PATCH -> {
-                return given().filter(allureFilter).spec(specs).when().patch(request).andReturn();
+                return requestSpecification.spec(specs).when().patch(request).andReturn();
             }
             case PUT -> {
-                return given().filter(allureFilter).spec(specs).when().put(request).andReturn();
+                return requestSpecification.spec(specs).when().put(request).andReturn();
             }
             case GET -> {
-                return given().filter(allureFilter).spec(specs).when().get(request).andReturn();
+                return requestSpecification.spec(specs).when().get(request).andReturn();
             }
             case DELETE -> {
-                return given().filter(allureFilter).spec(specs).when().delete(request).andReturn();
+                return requestSpecification.spec(specs).when().delete(request).andReturn();
             }
             default -> {
             }
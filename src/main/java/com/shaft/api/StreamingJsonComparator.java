@@ -0,0 +1,394 @@
+package com.shaft.api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compares two JSON documents token by token, without building a tree of either document.
+ * <p>
+ * Each document is reduced in a single streaming pass to a structural hash, in which object members are unordered
+ * and array elements are ordered, or unordered when ignoring the order. Documents with equal hashes are equal. When the
+ * hashes differ, the documents are streamed again level by level, descending only into the members and elements that
+ * differ, until the configured maximum number of differences is found. Memory use depends on the width of the
+ * compared levels, not on the size of the documents.
+ */
+class StreamingJsonComparator {
+    private static final long PRIME = 0x100000001b3L;
+    private static final long OBJECT_SEED = 0x6a09e667f3bcc909L;
+    private static final long ARRAY_SEED = 0xbb67ae8584caa73bL;
+    private static final long STRING_SEED = 0x3c6ef372fe94f82bL;
+    private static final long NUMBER_SEED = 0xa54ff53a5f1d36f1L;
+    private static final long TRUE_HASH = 0x510e527fade682d1L;
+    private static final long FALSE_HASH = 0x9b05688c2b3e6c1fL;
+    private static final long NULL_HASH = 0x1f83d9abfb41bd6bL;
+    private static final int MAXIMUM_VALUE_LENGTH = 100;
+    private final JsonSource expected;
+    private final JsonSource actual;
+    private final boolean ignoringOrder;
+    private final int maximumDifferences;
+    private final List<String> differences = new ArrayList<>();
+
+    /**
+     * @param expected           the reference document
+     * @param actual             the document that's compared against the reference
+     * @param ignoringOrder      true to compare arrays regardless of the order of their elements
+     * @param maximumDifferences the number of differences after which the comparison stops
+     */
+    StreamingJsonComparator(JsonSource expected, JsonSource actual, boolean ignoringOrder, int maximumDifferences) {
+        this.expected = expected;
+        this.actual = actual;
+        this.ignoringOrder = ignoringOrder;
+        this.maximumDifferences = Math.max(1, maximumDifferences);
+    }
+
+    /**
+     * Writes a document as indented JSON, streaming it token by token and truncating it at the maximum length.
+     *
+     * @param source        the document
+     * @param maximumLength the maximum number of characters to be written
+     * @return the indented document
+     * @throws IOException if the document couldn't be read or isn't valid JSON
+     */
+    static String toPrettyJson(JsonSource source, int maximumLength) throws IOException {
+        var output = new StringWriter();
+        try (var reader = new JsonReader(source.open());
+             var writer = new JsonWriter(new LimitedWriter(output, maximumLength))) {
+            writer.setIndent("  ");
+            copy(reader, writer);
+        } catch (LimitReachedException limitReachedException) {
+            output.append("\n... truncated after ").append(String.valueOf(maximumLength)).append(" characters.");
+        }
+        return output.toString();
+    }
+
+    /**
+     * @return true if the documents are equal
+     * @throws IOException if either document couldn't be read or isn't valid JSON
+     */
+    boolean compare() throws IOException {
+        differences.clear();
+        if (hash(expected) == hash(actual)) {
+            return true;
+        }
+        locateDifferences(new ArrayList<>(), new ArrayList<>(), "$");
+        return false;
+    }
+
+    /**
+     * @return the differences that were found by the last comparison, up to the maximum number of differences
+     */
+    List<String> getDifferences() {
+        return Collections.unmodifiableList(differences);
+    }
+
+    private long hash(JsonSource source) throws IOException {
+        try (var reader = new JsonReader(source.open())) {
+            var hash = hash(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new IllegalStateException("Unexpected content after the end of the JSON document at " + reader.getPath());
+            }
+            return hash;
+        }
+    }
+
+    private long hash(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT -> {
+                reader.beginObject();
+                var members = 0L;
+                var count = 0;
+                while (reader.hasNext()) {
+                    var nameHash = hashString(STRING_SEED, reader.nextName());
+                    // summed, so that the order of the members doesn't change the hash of the object
+                    members += mix(nameHash * PRIME ^ hash(reader));
+                    count++;
+                }
+                reader.endObject();
+                return mix(OBJECT_SEED ^ members) + count;
+            }
+            case BEGIN_ARRAY -> {
+                reader.beginArray();
+                var elements = ARRAY_SEED;
+                var count = 0;
+                while (reader.hasNext()) {
+                    var elementHash = hash(reader);
+                    elements = ignoringOrder ? elements + mix(elementHash) : elements * PRIME + elementHash;
+                    count++;
+                }
+                reader.endArray();
+                return mix(elements) + count;
+            }
+            case STRING -> {
+                return hashString(STRING_SEED, reader.nextString());
+            }
+            case NUMBER -> {
+                return hashString(NUMBER_SEED, canonicalizeNumber(reader.nextString()));
+            }
+            case BOOLEAN -> {
+                return reader.nextBoolean() ? TRUE_HASH : FALSE_HASH;
+            }
+            case NULL -> {
+                reader.nextNull();
+                return NULL_HASH;
+            }
+            default -> throw new IllegalStateException("Unexpected " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    /**
+     * Numbers are compared the same way as the previous tree based comparison did: integers as longs and decimals as
+     * doubles when the order matters, and all numbers as doubles when ignoring the order.
+     */
+    private String canonicalizeNumber(String number) {
+        try {
+            if (!ignoringOrder && number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1) {
+                return String.valueOf(Long.parseLong(number));
+            }
+            return String.valueOf(Double.parseDouble(number));
+        } catch (NumberFormatException numberFormatException) {
+            return number;
+        }
+    }
+
+    private void locateDifferences(List<Object> expectedPath, List<Object> actualPath, String displayPath) throws IOException {
+        if (differences.size() >= maximumDifferences) {
+            return;
+        }
+        var expectedNode = summarize(expected, expectedPath);
+        var actualNode = summarize(actual, actualPath);
+        if (expectedNode.token() != actualNode.token() || expectedNode.isScalar()) {
+            addDifference(displayPath, "expected " + expectedNode.describe() + " but found " + actualNode.describe());
+        } else if (expectedNode.token() == JsonToken.BEGIN_OBJECT) {
+            for (var member : expectedNode.members().entrySet()) {
+                var actualHash = actualNode.members().get(member.getKey());
+                if (actualHash == null) {
+                    addDifference(displayPath + "." + member.getKey(), "is missing");
+                } else if (!actualHash.equals(member.getValue())) {
+                    locateDifferences(append(expectedPath, member.getKey()), append(actualPath, member.getKey()), displayPath + "." + member.getKey());
+                }
+            }
+            actualNode.members().keySet().stream()
+                    .filter(name -> !expectedNode.members().containsKey(name))
+                    .forEach(name -> addDifference(displayPath + "." + name, "is unexpected"));
+        } else if (ignoringOrder) {
+            locateUnorderedElementDifferences(expectedPath, actualPath, displayPath, expectedNode.elements(), actualNode.elements());
+        } else {
+            var commonSize = Math.min(expectedNode.elements().size(), actualNode.elements().size());
+            for (var index = 0; index < commonSize; index++) {
+                if (!expectedNode.elements().get(index).equals(actualNode.elements().get(index))) {
+                    locateDifferences(append(expectedPath, index), append(actualPath, index), displayPath + "[" + index + "]");
+                }
+            }
+            if (expectedNode.elements().size() != actualNode.elements().size()) {
+                addDifference(displayPath, "expected " + expectedNode.describe() + " but found " + actualNode.describe());
+            }
+        }
+    }
+
+    private void locateUnorderedElementDifferences(List<Object> expectedPath, List<Object> actualPath, String displayPath,
+                                                   List<Long> expectedElements, List<Long> actualElements) throws IOException {
+        var unmatchedActualElements = new HashMap<Long, Deque<Integer>>();
+        for (var index = 0; index < actualElements.size(); index++) {
+            unmatchedActualElements.computeIfAbsent(actualElements.get(index), hash -> new ArrayDeque<>()).add(index);
+        }
+        var missingElements = new ArrayList<Integer>();
+        for (var index = 0; index < expectedElements.size(); index++) {
+            var matchingElements = unmatchedActualElements.get(expectedElements.get(index));
+            if (matchingElements == null || matchingElements.isEmpty()) {
+                missingElements.add(index);
+            } else {
+                matchingElements.poll();
+            }
+        }
+        var unexpectedElements = unmatchedActualElements.values().stream().flatMap(Collection::stream).sorted().toList();
+        // the unmatched elements are paired in order, which finds the changed members of elements that were edited
+        var pairs = Math.min(missingElements.size(), unexpectedElements.size());
+        for (var pair = 0; pair < pairs; pair++) {
+            locateDifferences(append(expectedPath, missingElements.get(pair)), append(actualPath, unexpectedElements.get(pair)),
+                    displayPath + "[" + missingElements.get(pair) + "]");
+        }
+        missingElements.stream().skip(pairs).forEach(index -> addDifference(displayPath + "[" + index + "]", "has no matching element"));
+        unexpectedElements.stream().skip(pairs).forEach(index -> addDifference(displayPath + "[" + index + "]", "is an unexpected element in the actual document"));
+    }
+
+    private Node summarize(JsonSource source, List<Object> path) throws IOException {
+        try (var reader = new JsonReader(source.open())) {
+            for (var segment : path) {
+                if (segment instanceof String name) {
+                    reader.beginObject();
+                    while (!reader.nextName().equals(name)) {
+                        reader.skipValue();
+                    }
+                } else {
+                    reader.beginArray();
+                    for (var index = 0; index < (Integer) segment; index++) {
+                        reader.skipValue();
+                    }
+                }
+            }
+            var token = reader.peek();
+            switch (token) {
+                case BEGIN_OBJECT -> {
+                    var members = new LinkedHashMap<String, Long>();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        members.put(reader.nextName(), hash(reader));
+                    }
+                    return new Node(token, null, members, List.of());
+                }
+                case BEGIN_ARRAY -> {
+                    var elements = new ArrayList<Long>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        elements.add(hash(reader));
+                    }
+                    return new Node(token, null, Map.of(), elements);
+                }
+                case STRING -> {
+                    return new Node(token, "\"" + truncate(reader.nextString()) + "\"", Map.of(), List.of());
+                }
+                case NUMBER -> {
+                    return new Node(token, truncate(reader.nextString()), Map.of(), List.of());
+                }
+                case BOOLEAN -> {
+                    return new Node(token, String.valueOf(reader.nextBoolean()), Map.of(), List.of());
+                }
+                default -> {
+                    reader.nextNull();
+                    return new Node(JsonToken.NULL, "null", Map.of(), List.of());
+                }
+            }
+        }
+    }
+
+    private void addDifference(String path, String difference) {
+        if (differences.size() < maximumDifferences) {
+            differences.add(path + " " + difference);
+        }
+    }
+
+    private static List<Object> append(List<Object> path, Object segment) {
+        var newPath = new ArrayList<>(path);
+        newPath.add(segment);
+        return newPath;
+    }
+
+    private static void copy(JsonReader reader, JsonWriter writer) throws IOException {
+        var depth = 0;
+        do {
+            switch (reader.peek()) {
+                case BEGIN_OBJECT -> {
+                    reader.beginObject();
+                    writer.beginObject();
+                    depth++;
+                }
+                case END_OBJECT -> {
+                    reader.endObject();
+                    writer.endObject();
+                    depth--;
+                }
+                case BEGIN_ARRAY -> {
+                    reader.beginArray();
+                    writer.beginArray();
+                    depth++;
+                }
+                case END_ARRAY -> {
+                    reader.endArray();
+                    writer.endArray();
+                    depth--;
+                }
+                case NAME -> writer.name(reader.nextName());
+                case STRING -> writer.value(reader.nextString());
+                case NUMBER -> writer.jsonValue(reader.nextString());
+                case BOOLEAN -> writer.value(reader.nextBoolean());
+                case NULL -> {
+                    reader.nextNull();
+                    writer.nullValue();
+                }
+                default -> throw new IllegalStateException("Unexpected " + reader.peek() + " at " + reader.getPath());
+            }
+        } while (depth > 0);
+    }
+
+    private static long hashString(long seed, String value) {
+        var hash = seed;
+        for (var character : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (character & 0xff)) * PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAXIMUM_VALUE_LENGTH ? value.substring(0, MAXIMUM_VALUE_LENGTH) + "..." : value;
+    }
+
+    /**
+     * A JSON document that can be read more than once.
+     */
+    @FunctionalInterface
+    interface JsonSource {
+        Reader open() throws IOException;
+    }
+
+    private record Node(JsonToken token, String value, Map<String, Long> members, List<Long> elements) {
+        boolean isScalar() {
+            return token != JsonToken.BEGIN_OBJECT && token != JsonToken.BEGIN_ARRAY;
+        }
+
+        String describe() {
+            return switch (token) {
+                case BEGIN_OBJECT -> "an object with " + members.size() + " members";
+                case BEGIN_ARRAY -> "an array of " + elements.size() + " elements";
+                default -> value;
+            };
+        }
+    }
+
+    private static class LimitReachedException extends IOException {
+    }
+
+    private static class LimitedWriter extends Writer {
+        private final Writer writer;
+        private final int limit;
+        private int length = 0;
+
+        private LimitedWriter(Writer writer, int limit) {
+            this.writer = writer;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] characters, int offset, int count) throws IOException {
+            var remaining = limit - length;
+            writer.write(characters, offset, Math.min(count, remaining));
+            length += Math.min(count, remaining);
+            if (count > remaining) {
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.shaft.api;
+
+import io.restassured.path.xml.XmlPath;
+import io.restassured.response.Response;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Parses each XML response body once, however many XmlPath expressions are evaluated against it.
+ * <p>
+ * Each response gets a single XmlPath object, which parses the body the first time an expression is evaluated and
+ * keeps the parsed document for the next ones. The XmlPath objects are attached to their responses through weak
+ * references, so they are discarded together with their responses.
+ */
+class XmlResponseDocuments {
+    private static final Map<Response, XmlPath> xmlPaths = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private XmlResponseDocuments() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gets the XmlPath object of the response body.
+     *
+     * @param response the response whose body is read
+     * @return the XmlPath object that all the expressions evaluated against this response share
+     */
+    static XmlPath getXmlPath(Response response) {
+        return xmlPaths.computeIfAbsent(response, Response::xmlPath);
+    }
+}
@@ -770,6 +770,18 @@ public class FileActions {
     }
 
     private void zipFolder(String srcFolder, String destZipFile) {
+        try {
+            var parallelZipArchiver = new ParallelZipArchiver(Paths.get(srcFolder));
+            if (parallelZipArchiver.isSupported()) {
+                try (FileOutputStream fileWriter = new FileOutputStream(destZipFile)) {
+                    parallelZipArchiver.writeTo(fileWriter);
+                }
+                return;
+            }
+        } catch (IOException rootCauseException) {
+            failAction(rootCauseException);
+        }
+        // archives that need ZIP64 extensions are written sequentially
         /*
          * create the output stream to zip file result
          */
@@ -0,0 +1,269 @@
+package com.shaft.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Archives a folder by compressing its files in parallel, each with its own deflater, then writing the compressed
+ * entries to the archive in order.
+ * <p>
+ * Files that are already compressed (images, videos, and archives) are stored as is, since deflating them again costs
+ * time without reducing their size; their checksums are computed while streaming them, and they're streamed again from
+ * disk into the archive instead of being held in memory. Archives that would need ZIP64 extensions are not supported, which is checked
+ * using {@link #isSupported()} before writing.
+ */
+class ParallelZipArchiver {
+    private static final Set<String> STORED_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "webp", "mp4", "webm", "mov", "avi", "zip", "gz", "jar", "7z");
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int VERSION_NEEDED_TO_EXTRACT = 20;
+    private static final int UTF8_NAMES_FLAG = 0x0800;
+    private static final int DIRECTORY_ATTRIBUTE = 0x10;
+    private static final long MAX_ARCHIVE_SIZE = 0xFFFFFFFFL;
+    private static final int MAX_ENTRIES = 0xFFFF;
+    private static final int MAX_ENTRY_SIZE = Integer.MAX_VALUE - 8;
+    private final List<SourceEntry> sourceEntries = new ArrayList<>();
+    private long totalSize = 0;
+    private boolean hasOversizedEntry = false;
+
+    ParallelZipArchiver(Path sourceFolder) throws IOException {
+        var normalizedSourceFolder = sourceFolder.toAbsolutePath().normalize();
+        var rootName = String.valueOf(normalizedSourceFolder.getFileName());
+        try (var paths = Files.walk(normalizedSourceFolder)) {
+            for (var path : paths.sorted().toList()) {
+                var relativePath = normalizedSourceFolder.relativize(path).toString().replace('\\', '/');
+                var entryName = relativePath.isEmpty() ? rootName : rootName + "/" + relativePath;
+                if (Files.isDirectory(path)) {
+                    try (var children = Files.list(path)) {
+                        if (children.findAny().isEmpty()) {
+                            addSourceEntry(new SourceEntry(entryName + "/", path, true), 0);
+                        }
+                    }
+                } else if (Files.isRegularFile(path)) {
+                    addSourceEntry(new SourceEntry(entryName, path, false), Files.size(path));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the folder can be archived without ZIP64 extensions
+     */
+    boolean isSupported() {
+        return !hasOversizedEntry && sourceEntries.size() <= MAX_ENTRIES && totalSize < MAX_ARCHIVE_SIZE;
+    }
+
+    void writeTo(OutputStream destination) throws IOException {
+        var parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        // bounds the number of deflated entries that are held in memory while waiting to be written
+        var maxPendingEntries = parallelism * 2;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            var thread = new Thread(runnable, "SHAFT-ZipArchiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var writer = new ArchiveWriter(new BufferedOutputStream(destination, 64 * 1024));
+            var pendingEntries = new ArrayDeque<Future<CompressedEntry>>();
+            for (var sourceEntry : sourceEntries) {
+                if (pendingEntries.size() >= maxPendingEntries) {
+                    writer.write(await(pendingEntries.removeFirst()));
+                }
+                pendingEntries.addLast(executor.submit(() -> compress(sourceEntry)));
+            }
+            while (!pendingEntries.isEmpty()) {
+                writer.write(await(pendingEntries.removeFirst()));
+            }
+            writer.finish();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void addSourceEntry(SourceEntry sourceEntry, long size) {
+        sourceEntries.add(sourceEntry);
+        var nameLength = sourceEntry.name().getBytes(StandardCharsets.UTF_8).length;
+        totalSize += size + LOCAL_FILE_HEADER_SIZE + CENTRAL_DIRECTORY_HEADER_SIZE + 2L * nameLength;
+        hasOversizedEntry |= size > MAX_ENTRY_SIZE;
+    }
+
+    private static CompressedEntry await(Future<CompressedEntry> pendingEntry) throws IOException {
+        try {
+            return pendingEntry.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while archiving", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static CompressedEntry compress(SourceEntry sourceEntry) throws IOException {
+        var lastModified = LocalDateTime.ofInstant(Files.getLastModifiedTime(sourceEntry.path()).toInstant(), ZoneId.systemDefault());
+        if (sourceEntry.directory()) {
+            return new CompressedEntry(sourceEntry.name(), true, lastModified, 0, 0, 0, new byte[0], null);
+        }
+        if (STORED_EXTENSIONS.contains(getExtension(sourceEntry.name()))) {
+            var crc = new CRC32();
+            long size;
+            try (var content = new CheckedInputStream(Files.newInputStream(sourceEntry.path()), crc)) {
+                size = content.transferTo(OutputStream.nullOutputStream());
+            }
+            return new CompressedEntry(sourceEntry.name(), false, lastModified, 0, crc.getValue(), size, null, sourceEntry.path());
+        }
+        var content = Files.readAllBytes(sourceEntry.path());
+        var crc = new CRC32();
+        crc.update(content);
+        var deflatedContent = deflate(content);
+        if (deflatedContent.length < content.length) {
+            return new CompressedEntry(sourceEntry.name(), false, lastModified, Deflater.DEFLATED, crc.getValue(), content.length, deflatedContent, null);
+        }
+        return new CompressedEntry(sourceEntry.name(), false, lastModified, 0, crc.getValue(), content.length, content, null);
+    }
+
+    private static byte[] deflate(byte[] content) {
+        var deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            var output = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+            var buffer = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String getExtension(String entryName) {
+        var extensionIndex = entryName.lastIndexOf('.');
+        return extensionIndex == -1 ? "" : entryName.substring(extensionIndex + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private record SourceEntry(String name, Path path, boolean directory) {
+    }
+
+    /**
+     * An entry that's ready to be written, either with its data in memory or, for stored entries, with the file that
+     * its data is streamed from.
+     */
+    private record CompressedEntry(String name, boolean directory, LocalDateTime lastModified, int method, long crc,
+                                   long size, byte[] data, Path storedFile) {
+        long compressedSize() {
+            return data != null ? data.length : size;
+        }
+
+        int dosTime() {
+            return lastModified.getYear() < 1980 ? 0 : (lastModified.getHour() << 11) | (lastModified.getMinute() << 5) | (lastModified.getSecond() / 2);
+        }
+
+        int dosDate() {
+            return lastModified.getYear() < 1980 ? (1 << 5) | 1 : ((lastModified.getYear() - 1980) << 9) | (lastModified.getMonthValue() << 5) | lastModified.getDayOfMonth();
+        }
+    }
+
+    /**
+     * Writes the local file headers and data of the entries as they arrive, then the central directory.
+     */
+    private static class ArchiveWriter {
+        private final OutputStream output;
+        private final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+        private long offset = 0;
+        private int entriesCount = 0;
+
+        ArchiveWriter(OutputStream output) {
+            this.output = output;
+        }
+
+        void write(CompressedEntry entry) throws IOException {
+            var name = entry.name().getBytes(StandardCharsets.UTF_8);
+            var localHeaderOffset = offset;
+            writeInt(output, LOCAL_FILE_HEADER_SIGNATURE);
+            writeShort(output, VERSION_NEEDED_TO_EXTRACT);
+            writeCommonHeaderFields(output, entry, name.length);
+            writeShort(output, 0); // extra field length
+            output.write(name);
+            if (entry.data() != null) {
+                output.write(entry.data());
+            } else {
+                try (var content = Files.newInputStream(entry.storedFile())) {
+                    if (content.transferTo(output) != entry.size()) {
+                        throw new IOException("File changed while archiving: " + entry.storedFile());
+                    }
+                }
+            }
+            offset += LOCAL_FILE_HEADER_SIZE + name.length + entry.compressedSize();
+
+            writeInt(centralDirectory, CENTRAL_DIRECTORY_HEADER_SIGNATURE);
+            writeShort(centralDirectory, VERSION_NEEDED_TO_EXTRACT); // version made by
+            writeShort(centralDirectory, VERSION_NEEDED_TO_EXTRACT);
+            writeCommonHeaderFields(centralDirectory, entry, name.length);
+            writeShort(centralDirectory, 0); // extra field length
+            writeShort(centralDirectory, 0); // file comment length
+            writeShort(centralDirectory, 0); // disk number start
+            writeShort(centralDirectory, 0); // internal file attributes
+            writeInt(centralDirectory, entry.directory() ? DIRECTORY_ATTRIBUTE : 0);
+            writeInt(centralDirectory, (int) localHeaderOffset);
+            centralDirectory.write(name);
+            entriesCount++;
+        }
+
+        void finish() throws IOException {
+            var centralDirectoryOffset = offset;
+            centralDirectory.writeTo(output);
+            writeInt(output, END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            writeShort(output, 0); // number of this disk
+            writeShort(output, 0); // disk where the central directory starts
+            writeShort(output, entriesCount);
+            writeShort(output, entriesCount);
+            writeInt(output, centralDirectory.size());
+            writeInt(output, (int) centralDirectoryOffset);
+            writeShort(output, 0); // comment length
+            output.flush();
+        }
+
+        private static void writeCommonHeaderFields(OutputStream stream, CompressedEntry entry, int nameLength) throws IOException {
+            writeShort(stream, UTF8_NAMES_FLAG);
+            writeShort(stream, entry.method());
+            writeShort(stream, entry.dosTime());
+            writeShort(stream, entry.dosDate());
+            writeInt(stream, (int) entry.crc());
+            writeInt(stream, (int) entry.compressedSize());
+            writeInt(stream, (int) entry.size());
+            writeShort(stream, nameLength);
+        }
+
+        private static void writeShort(OutputStream stream, int value) throws IOException {
+            stream.write(value & 0xFF);
+            stream.write((value >>> 8) & 0xFF);
+        }
+
+        private static void writeInt(OutputStream stream, int value) throws IOException {
+            writeShort(stream, value & 0xFFFF);
+            writeShort(stream, (value >>> 16) & 0xFFFF);
+        }
+    }
+}
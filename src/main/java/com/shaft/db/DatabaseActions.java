@@ -1,6 +1,7 @@
 package com.shaft.db;
 
 import com.shaft.driver.SHAFT;
+import com.shaft.tools.internal.metrics.EngineMetrics;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.internal.FailureReporter;
 import com.shaft.tools.io.internal.ReportManagerHelper;
@@ -351,7 +352,9 @@ public class DatabaseActions {
     public ResultSet executeSelectQuery(String sql) {
         ResultSet resultSet = null;
         try (var connection = createConnection()) {
+            var startTime = System.nanoTime();
             resultSet = createStatement(connection).executeQuery(sql);
+            EngineMetrics.recordDuration("database_query", startTime, "type", "SELECT");
             if (resultSet != null) {
                 CachedRowSet crs = RowSetProvider.newFactory().createCachedRowSet();
                 crs.populate(resultSet);
@@ -380,7 +383,9 @@ public class DatabaseActions {
     private int executeDataManipulationQueries(String sql, String queryType) {
         var affectedRows = 0;
         try (var connection = createConnection()) {
+            var startTime = System.nanoTime();
             affectedRows = createStatement(connection).executeUpdate(sql);
+            EngineMetrics.recordDuration("database_query", startTime, "type", queryType);
             passAction(sql);
         } catch (SQLException | NullPointerException rootCauseException) {
             failAction(getReportMessage(queryType, sql), rootCauseException);
@@ -13,7 +13,7 @@ import com.shaft.gui.element.AsyncElementActions;
 import com.shaft.gui.element.ElementActions;
 import com.shaft.gui.element.TouchActions;
 import com.shaft.gui.waits.WaitActions;
-import com.shaft.listeners.internal.WebDriverListener;
+import com.shaft.listeners.internal.NativeModeDecorator;
 import com.shaft.tools.io.ExcelFileManager;
 import com.shaft.tools.io.JSONFileManager;
 import com.shaft.tools.io.ReportManager;
@@ -24,10 +24,10 @@ import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
 import io.restassured.response.Response;
 import org.openqa.selenium.MutableCapabilities;
-import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import java.io.InputStream;
 import java.sql.ResultSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 
@@ -129,7 +129,7 @@ public class SHAFT {
 //                    driverThreadLocal.set(new EventFiringDecorator<>(RemoteWebDriver.class, new WebDriverListener()).decorate(remoteWebDriver));
                 } else {
                     if (!SHAFT.Properties.flags.enableTrueNativeMode()) {
-                        return new EventFiringDecorator<>(org.openqa.selenium.WebDriver.class, new WebDriverListener()).decorate(helper.getDriver());
+                        return new NativeModeDecorator().decorate(helper.getDriver());
                     } else {
                         return helper.getDriver();
                     }
@@ -184,6 +184,14 @@ public class SHAFT {
             return session.buildNewRequest(serviceName, RestActions.RequestType.PUT);
         }
 
+        public List<Response> performAll(RequestBuilder... requests) {
+            return RequestBuilder.performAll(Arrays.asList(requests));
+        }
+
+        public List<Response> performAll(int maximumConcurrentRequests, RequestBuilder... requests) {
+            return RequestBuilder.performAll(Arrays.asList(requests), maximumConcurrentRequests);
+        }
+
         public void addHeader(String key, String value) {
             session.addHeaderVariable(key, value);
         }
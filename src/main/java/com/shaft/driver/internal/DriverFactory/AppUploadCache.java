@@ -0,0 +1,119 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+import org.apache.logging.log4j.Level;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches the URLs of native app files that were uploaded to cloud device providers, so that the same app file is
+ * only uploaded once until its upload expires.
+ * <p>
+ * Uploads are keyed by the provider, the username, the custom_id, and the SHA-256 checksum of the app file, so a new
+ * build of the app is uploaded as soon as it changes. The cache is shared between threads and forked JVMs, and an
+ * upload holds its lock so that parallel sessions wait for it and reuse its URL instead of uploading the same file.
+ */
+public class AppUploadCache {
+    private static final FileLockedProperties cachedUploads = new FileLockedProperties(
+            Path.of(System.getProperty("user.home"), ".cache", "shaft", "app-uploads.properties"), "SHAFT app upload cache");
+    private static final Map<String, String> checksums = new ConcurrentHashMap<>();
+
+    private AppUploadCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the URL of a previous upload of the same app file, or uploads it if it wasn't uploaded before or if its
+     * upload has expired.
+     *
+     * @param provider the name of the cloud device provider
+     * @param username the username that owns the upload
+     * @param appPath  the absolute path to the app file
+     * @param customId the custom_id of the app
+     * @param uploader uploads the app file and returns its URL, or an empty string if the upload failed
+     * @return the URL of the uploaded app file
+     */
+    static String getOrUpload(String provider, String username, String appPath, String customId, Supplier<String> uploader) {
+        if (!SHAFT.Properties.flags.enableAppUploadCache()) {
+            return uploader.get();
+        }
+        try {
+            var key = String.join("|", provider, username, customId, getChecksum(Path.of(appPath))).replaceAll("\\s", "_");
+            return cachedUploads.update(uploads -> getOrUpload(uploads, key, provider, uploader));
+        } catch (IOException | UncheckedIOException | OverlappingFileLockException exception) {
+            ReportManagerHelper.logDiscrete(exception, Level.DEBUG);
+            return uploader.get();
+        }
+    }
+
+    private static String getOrUpload(Properties uploads, String key, String provider, Supplier<String> uploader) {
+        var now = System.currentTimeMillis();
+        // drops expired uploads of all apps to keep the cache file small
+        uploads.stringPropertyNames().stream()
+                .filter(property -> property.endsWith(".expiresAt"))
+                .filter(property -> isExpired(uploads.getProperty(property), now))
+                .map(property -> property.substring(0, property.length() - ".expiresAt".length()))
+                .toList()
+                .forEach(expiredKey -> {
+                    uploads.remove(expiredKey + ".appUrl");
+                    uploads.remove(expiredKey + ".expiresAt");
+                });
+        var cachedAppUrl = uploads.getProperty(key + ".appUrl");
+        if (cachedAppUrl != null && !cachedAppUrl.isBlank()) {
+            ReportManager.logDiscrete("Reusing the " + provider + " app_url of a previous upload of the same app file: " + cachedAppUrl);
+            return cachedAppUrl;
+        }
+        var appUrl = uploader.get();
+        if (appUrl != null && !appUrl.isBlank()) {
+            uploads.setProperty(key + ".appUrl", appUrl);
+            uploads.setProperty(key + ".expiresAt", String.valueOf(now + TimeUnit.HOURS.toMillis(SHAFT.Properties.flags.appUploadCacheExpiryInHours())));
+        }
+        return appUrl;
+    }
+
+    private static boolean isExpired(String expiresAt, long now) {
+        try {
+            return Long.parseLong(expiresAt) <= now;
+        } catch (NumberFormatException exception) {
+            return true;
+        }
+    }
+
+    /**
+     * Calculates the checksum of the app file once per JVM for each version of the file.
+     */
+    private static String getChecksum(Path appFile) throws IOException {
+        var fileVersion = appFile.toAbsolutePath() + "|" + Files.size(appFile) + "|" + Files.getLastModifiedTime(appFile).toMillis();
+        var checksum = checksums.get(fileVersion);
+        if (checksum == null) {
+            try (InputStream inputStream = Files.newInputStream(appFile)) {
+                var messageDigest = MessageDigest.getInstance("SHA-256");
+                var buffer = new byte[1024 * 1024];
+                int bytesRead;
+                while ((bytesRead = inputStream.read(buffer)) != -1) {
+                    messageDigest.update(buffer, 0, bytesRead);
+                }
+                checksum = HexFormat.of().formatHex(messageDigest.digest());
+            } catch (NoSuchAlgorithmException exception) {
+                throw new IOException(exception);
+            }
+            checksums.put(fileVersion, checksum);
+        }
+        return checksum;
+    }
+}
@@ -68,7 +68,6 @@ public class BrowserStackHelper {
      * @return appURL for the newly uploaded app file on BrowserStack to be used for future tests
      */
     private static MutableCapabilities setupNativeAppExecution(String username, String password, String deviceName, String osVersion, String relativePathToAppFile, String appName) {
-        SHAFT.Properties.timeouts.set().apiSocketTimeout(600); //increasing socket timeout to 10 minutes to upload a new app file
         ReportManager.logDiscrete("Setting up BrowserStack configuration for new native app version...");
         String testData = "Username: " + username + ", Password: " + "•".repeat(password.length()) + ", Device Name: " + deviceName + ", OS Version: " + osVersion + ", Relative Path to App File: " + relativePathToAppFile + ", App Name: " + appName;
 
@@ -89,17 +88,23 @@ public class BrowserStackHelper {
         List<List<Object>> parameters = new ArrayList<>();
         parameters.add(apkFile);
         parameters.add(customID);
-        var appUrl = "";
-        try {
-            appUrl = Objects.requireNonNull(RestActions.getResponseJSONValue(new RestActions(serviceUri).buildNewRequest(appUploadServiceName, RestActions.RequestType.POST)
-                            .setParameters(parameters, RestActions.ParametersType.FORM)
-                            .setAuthentication(username, password, RequestBuilder.AuthenticationType.BASIC)
-                            .performRequest(),
-                    "app_url"));
-            ReportManager.logDiscrete("BrowserStack app_url: " + appUrl);
-        } catch (NullPointerException exception) {
-            failAction(testData, exception);
-        }
+        String uploadTestData = testData;
+        // the same app file is only uploaded once until its upload expires
+        var appUrl = AppUploadCache.getOrUpload("BrowserStack", username, appPath, custom_id, () -> {
+            SHAFT.Properties.timeouts.set().apiSocketTimeout(600); //increasing socket timeout to 10 minutes to upload a new app file
+            try {
+                var uploadedAppUrl = Objects.requireNonNull(RestActions.getResponseJSONValue(new RestActions(serviceUri).buildNewRequest(appUploadServiceName, RestActions.RequestType.POST)
+                                .setParameters(parameters, RestActions.ParametersType.FORM)
+                                .setAuthentication(username, password, RequestBuilder.AuthenticationType.BASIC)
+                                .performRequest(),
+                        "app_url"));
+                ReportManager.logDiscrete("BrowserStack app_url: " + uploadedAppUrl);
+                return uploadedAppUrl;
+            } catch (NullPointerException exception) {
+                failAction(uploadTestData, exception);
+                return "";
+            }
+        });
         // set properties
         MutableCapabilities browserStackCapabilities = setBrowserStackProperties(username, password, deviceName, osVersion, appUrl);
         testData = testData + ", App URL: " + appUrl;
@@ -0,0 +1,159 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.driver.DriverFactory.DriverType;
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.Level;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.LocalFileDetector;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Keeps the browser containers of dockerized executions running after their sessions are closed, so that the next
+ * session of the same browser and version is created in a warm container instead of starting a new one.
+ * <p>
+ * Each lease creates a new browser session in the container, which resets the browser state. Containers that stay
+ * idle for longer than {@code dockerizedBrowserPoolIdleTimeout} seconds are stopped. Executions that record videos
+ * are not pooled, since each recording belongs to the lifetime of its container.
+ */
+public class DockerizedBrowserPool {
+    private static final Map<String, BlockingDeque<Container>> idleContainers = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Container> leasedContainers = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService idleContainersSweeper;
+    private static volatile boolean isShutdown = false;
+
+    private DockerizedBrowserPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static boolean isEnabled() {
+        return SHAFT.Properties.flags.enableDockerizedBrowserPool()
+                && !isShutdown
+                && !SHAFT.Properties.visuals.videoParamsRecordVideo();
+    }
+
+    /**
+     * Creates a new session in an idle container, or in a new container if none is available.
+     *
+     * @param driverType         the browser type of the requested session
+     * @param capabilities       the capabilities of the requested session
+     * @param newContainerConfig the configured WebDriverManager that will start a new container if needed
+     * @return the new session
+     */
+    static RemoteWebDriver lease(DriverType driverType, Capabilities capabilities, WebDriverManager newContainerConfig) {
+        startIdleContainersSweeper();
+        var key = getPoolKey(driverType, capabilities);
+        var idle = idleContainers.computeIfAbsent(key, k -> new LinkedBlockingDeque<>());
+        Container container;
+        while ((container = idle.pollFirst()) != null) {
+            try {
+                var driver = new RemoteWebDriver(container.webDriverManager.getDockerSeleniumServerUrl(), capabilities);
+                driver.setFileDetector(new LocalFileDetector());
+                leasedContainers.put(driver, container);
+                ReportManager.logDiscrete("Reusing a running \"" + driverType.getValue() + "\" container.");
+                return driver;
+            } catch (Exception exception) {
+                // the container is no longer usable
+                ReportManagerHelper.logDiscrete(exception, Level.DEBUG);
+                container.stop();
+            }
+        }
+        var driver = (RemoteWebDriver) newContainerConfig.create();
+        leasedContainers.put(driver, new Container(key, newContainerConfig));
+        return driver;
+    }
+
+    /**
+     * Closes the session and keeps its container running for the next lease.
+     *
+     * @param driver the session that is being closed
+     * @return true if the session belonged to a pooled container, false if the caller should close it
+     */
+    static boolean release(WebDriver driver) {
+        var container = leasedContainers.remove(driver);
+        if (container == null) {
+            return false;
+        }
+        try {
+            driver.quit();
+        } catch (Exception exception) {
+            // session was already terminated
+        }
+        var idle = idleContainers.computeIfAbsent(container.key, k -> new LinkedBlockingDeque<>());
+        if (isShutdown || idle.size() >= SHAFT.Properties.flags.dockerizedBrowserPoolSize()) {
+            container.stop();
+        } else {
+            container.idleSince = System.nanoTime();
+            idle.offerLast(container);
+        }
+        return true;
+    }
+
+    /**
+     * Stops all idle containers, and makes sure that leased containers are stopped once their sessions are closed.
+     */
+    public static synchronized void shutdown() {
+        isShutdown = true;
+        if (idleContainersSweeper != null) {
+            idleContainersSweeper.shutdownNow();
+        }
+        idleContainers.values().forEach(idle -> {
+            Container container;
+            while ((container = idle.pollFirst()) != null) {
+                container.stop();
+            }
+        });
+    }
+
+    private static synchronized void startIdleContainersSweeper() {
+        if (idleContainersSweeper == null && !isShutdown) {
+            idleContainersSweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "SHAFT-DockerizedBrowserPool");
+                thread.setDaemon(true);
+                return thread;
+            });
+            idleContainersSweeper.scheduleWithFixedDelay(DockerizedBrowserPool::stopIdleContainers, 10, 10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void stopIdleContainers() {
+        var idleTimeout = TimeUnit.SECONDS.toNanos(SHAFT.Properties.flags.dockerizedBrowserPoolIdleTimeout());
+        var now = System.nanoTime();
+        idleContainers.values().forEach(idle -> idle.removeIf(container -> {
+            if (now - container.idleSince > idleTimeout) {
+                container.stop();
+                return true;
+            }
+            return false;
+        }));
+    }
+
+    private static String getPoolKey(DriverType driverType, Capabilities capabilities) {
+        return driverType.name() + "|" + capabilities.getBrowserVersion() + "|" + SHAFT.Properties.web.headlessExecution() + "|" + SHAFT.Properties.platform.proxy();
+    }
+
+    private static class Container {
+        private final String key;
+        private final WebDriverManager webDriverManager;
+        private volatile long idleSince;
+
+        Container(String key, WebDriverManager webDriverManager) {
+            this.key = key;
+            this.webDriverManager = webDriverManager;
+        }
+
+        void stop() {
+            try {
+                webDriverManager.quit();
+            } catch (Exception exception) {
+                ReportManagerHelper.logDiscrete(exception, Level.DEBUG);
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.shaft.gui.internal.video.RecordManager;
 import com.shaft.properties.internal.Properties;
 import com.shaft.properties.internal.PropertiesHelper;
 import com.shaft.tools.internal.support.JavaHelper;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.internal.FailureReporter;
 import com.shaft.tools.io.internal.ProgressBarLogger;
@@ -23,34 +24,39 @@ import lombok.*;
 import org.apache.logging.log4j.Level;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.devtools.Command;
 import org.openqa.selenium.devtools.DevTools;
 import org.openqa.selenium.devtools.HasDevTools;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.ie.InternetExplorerDriverService;
 import org.openqa.selenium.remote.*;
+import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariDriverService;
 import org.testng.Reporter;
 
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class DriverFactoryHelper {
-    private static final String WEB_DRIVER_MANAGER_MESSAGE = "Identifying OS/Driver combination. Please note that if a new browser/driver executable will be downloaded it may take some time depending on your connection...";
+    static final String WEB_DRIVER_MANAGER_MESSAGE = "Identifying OS/Driver combination. Please note that if a new browser/driver executable will be downloaded it may take some time depending on your connection...";
     private static final String WEB_DRIVER_MANAGER_DOCKERIZED_MESSAGE = "Identifying target OS/Browser and setting up the dockerized environment automatically. Please note that if a new docker container will be downloaded it may take some time depending on your connection...";
     private static final ThreadLocal<WebDriverManager> webDriverManager = new ThreadLocal<>();
     @Getter(AccessLevel.PUBLIC)
     private static final Dimension TARGET_WINDOW_SIZE = new Dimension(1920, 1080);
     private static final long appiumServerInitializationTimeout = TimeUnit.MINUTES.toSeconds(SHAFT.Properties.timeouts.timeoutForRemoteServerToBeUp()); // seconds
-    private static final int appiumServerInitializationPollingInterval = 1; // seconds
     private static final long remoteServerInstanceCreationTimeout = TimeUnit.MINUTES.toSeconds(SHAFT.Properties.timeouts.remoteServerInstanceCreationTimeout()); // seconds
-    private static final int appiumServerPreparationPollingInterval = 1; // seconds
     // TODO: implement pass and fail actions to enable initial factory method screenshot and append it to animated GIF
     private static String TARGET_HUB_URL;
     @Getter(AccessLevel.PUBLIC)
@@ -128,78 +134,39 @@ public class DriverFactoryHelper {
         return DriverType.CHROME;
     }
 
-    @SneakyThrows(InterruptedException.class)
-    private static int attemptRemoteServerPing() {
-        boolean serverReady = false;
-        var session = new SHAFT.API(TARGET_HUB_URL);
-        var statusCode = 500;
-        var startTime = System.currentTimeMillis();
-        do {
-            try {
-                statusCode = session.get("status/").perform().andReturn().statusCode();
-                if (statusCode >= 200 && statusCode < 300) {
-                    serverReady = true;
-                }
-            } catch (Throwable throwable1) {
-                try {
-                    statusCode = session.get("wd/hub/status/").perform().andReturn().statusCode();
-                    if (statusCode >= 200 && statusCode < 300) {
-                        serverReady = true;
-                    }
-                } catch (Throwable throwable2) {
-                    // do nothing
-                    ReportManagerHelper.logDiscrete(throwable1, Level.DEBUG);
-                    ReportManagerHelper.logDiscrete(throwable2, Level.DEBUG);
-                }
-            }
-            if (!serverReady) {
-                //noinspection BusyWait
-                Thread.sleep(TimeUnit.SECONDS.toMillis(appiumServerInitializationPollingInterval));
-            }
-        } while (!serverReady && (System.currentTimeMillis() - startTime < TimeUnit.SECONDS.toMillis(appiumServerInitializationTimeout)));
-        if (!serverReady) {
-            failAction("Failed to connect to remote server. It was still not ready after " + TimeUnit.SECONDS.toMinutes(appiumServerInitializationTimeout) + " minutes.");
-        }
-        return statusCode;
-    }
-
-    @SneakyThrows({MalformedURLException.class, InterruptedException.class})
+    @SneakyThrows(MalformedURLException.class)
     private static WebDriver attemptRemoteServerConnection(Capabilities capabilities) {
-        WebDriver driver = null;
-        boolean isRemoteConnectionEstablished = false;
-        var startTime = System.currentTimeMillis();
-        Exception exception = null;
-        do {
+        var retryScheduler = SessionCreationRetryScheduler.forRemoteSession(remoteServerInstanceCreationTimeout);
+        while (true) {
+            Exception exception;
+            SessionCreationRetryScheduler.FailureCause failureCause;
             try {
-                driver = connectToRemoteServer(capabilities, false);
-                isRemoteConnectionEstablished = true;
+                var driver = connectToRemoteServer(capabilities, false);
+                retryScheduler.recordSuccess();
+                return driver;
             } catch (SessionNotCreatedException | URISyntaxException sessionNotCreatedException1) {
                 exception = sessionNotCreatedException1;
-                if (sessionNotCreatedException1.getMessage().contains("missing in the capabilities")) {
-                    break;
-                } else {
+                failureCause = SessionCreationRetryScheduler.classify(sessionNotCreatedException1);
+                if (failureCause != SessionCreationRetryScheduler.FailureCause.NON_RETRYABLE) {
                     try {
-                        driver = connectToRemoteServer(capabilities, true);
-                        isRemoteConnectionEstablished = true;
+                        var driver = connectToRemoteServer(capabilities, true);
+                        retryScheduler.recordSuccess();
+                        return driver;
                     } catch (SessionNotCreatedException |
                              URISyntaxException sessionNotCreatedException2) {
-                        // do nothing
                         exception = sessionNotCreatedException2;
+                        failureCause = SessionCreationRetryScheduler.classify(sessionNotCreatedException2);
                         ReportManagerHelper.logDiscrete(sessionNotCreatedException1, Level.DEBUG);
                         ReportManagerHelper.logDiscrete(sessionNotCreatedException2, Level.DEBUG);
                     }
                 }
             }
-            if (!isRemoteConnectionEstablished) {
-                //terminate in case of any other exception
-                //noinspection BusyWait
-                Thread.sleep(TimeUnit.SECONDS.toMillis(appiumServerPreparationPollingInterval));
+            //terminate in case of any other exception
+            if (!retryScheduler.awaitNextAttempt(failureCause)) {
+                failAction("Failed to connect to remote server. Session was still not created after " + TimeUnit.SECONDS.toMinutes(remoteServerInstanceCreationTimeout) + " minutes.", exception);
+                return null;
             }
-        } while (!isRemoteConnectionEstablished && (System.currentTimeMillis() - startTime < TimeUnit.SECONDS.toMillis(remoteServerInstanceCreationTimeout)));
-        if (!isRemoteConnectionEstablished) {
-            failAction("Failed to connect to remote server. Session was still not created after " + TimeUnit.SECONDS.toMinutes(remoteServerInstanceCreationTimeout) + " minutes.", exception);
         }
-        return driver;
     }
 
     private static WebDriver connectToRemoteServer(Capabilities capabilities, boolean isLegacy) throws MalformedURLException, URISyntaxException {
@@ -210,33 +177,37 @@ public class DriverFactoryHelper {
 
         if (targetPlatform.equalsIgnoreCase(Platform.ANDROID.toString())) {
             if (SHAFT.Properties.platform.executionAddress().contains("lambdatest") && !isMobileWebExecution()) {
-                return new AndroidDriver(new URI(targetMobileHubUrl).toURL(), capabilities);
+                return new AndroidDriver(new URI(targetMobileHubUrl).toURL(), SharedHttpClientFactory.getInstance(), capabilities);
             } else {
                 if (SHAFT.Properties.platform.executionAddress().contains("lambdatest")) {
-                    return new AndroidDriver(new URI(targetLambdaTestHubURL).toURL(), capabilities);
+                    return new AndroidDriver(new URI(targetLambdaTestHubURL).toURL(), SharedHttpClientFactory.getInstance(), capabilities);
                 } else {
-                    return new AndroidDriver(new URI(targetHubUrl).toURL(), capabilities);
+                    return new AndroidDriver(new URI(targetHubUrl).toURL(), SharedHttpClientFactory.getInstance(), capabilities);
                 }
             }
         } else if (targetPlatform.equalsIgnoreCase(Platform.IOS.toString())) {
             if (SHAFT.Properties.platform.executionAddress().contains("lambdatest") && !isMobileWebExecution()) {
-                return new IOSDriver(new URI(targetMobileHubUrl).toURL(), capabilities);
+                return new IOSDriver(new URI(targetMobileHubUrl).toURL(), SharedHttpClientFactory.getInstance(), capabilities);
             } else {
                 if (SHAFT.Properties.platform.executionAddress().contains("lambdatest")) {
-                    return new IOSDriver(new URI(targetLambdaTestHubURL).toURL(), capabilities);
+                    return new IOSDriver(new URI(targetLambdaTestHubURL).toURL(), SharedHttpClientFactory.getInstance(), capabilities);
                 } else {
-                    return new IOSDriver(new URI(targetHubUrl).toURL(), capabilities);
+                    return new IOSDriver(new URI(targetHubUrl).toURL(), SharedHttpClientFactory.getInstance(), capabilities);
                 }
             }
         } else {
             if (SHAFT.Properties.platform.executionAddress().contains("lambdatest")) {
-                return new RemoteWebDriver(new URI(targetLambdaTestHubURL).toURL(), capabilities, false);
+                return new RemoteWebDriver(createRemoteCommandExecutor(new URI(targetLambdaTestHubURL).toURL()), capabilities);
             } else {
-                return new RemoteWebDriver(new URI(targetHubUrl).toURL(), capabilities, false);
+                return new RemoteWebDriver(createRemoteCommandExecutor(new URI(targetHubUrl).toURL()), capabilities);
             }
         }
     }
 
+    private static CommandExecutor createRemoteCommandExecutor(URL remoteAddress) {
+        return new HttpCommandExecutor(Map.of(), ClientConfig.defaultConfig().baseUrl(remoteAddress), SharedHttpClientFactory.getInstance());
+    }
+
     public static void initializeSystemProperties() {
         PropertiesHelper.postProcessing();
         TARGET_HUB_URL = (SHAFT.Properties.platform.executionAddress().trim().toLowerCase().startsWith("http")) ? SHAFT.Properties.platform.executionAddress() : "http://" + SHAFT.Properties.platform.executionAddress() + "/";
@@ -254,18 +225,25 @@ public class DriverFactoryHelper {
             }
             try {
                 attachWebDriverLogs();
-                //if dockerized wdm.quit the relevant one
-                if (SHAFT.Properties.platform.executionAddress().toLowerCase().contains("dockerized")) {
-                    var pathToRecording = webDriverManager.get().getDockerRecordingPath(driver);
-                    webDriverManager.get().quit(driver);
-                    RecordManager.attachVideoRecording(pathToRecording);
-                } else {
-                    try {
-                        driver.close();
-                    } catch (Exception e) {
-                        //ignore
+                // pooled sessions are reset and kept alive for the next test
+                if (!DriverSessionPool.release(driver)) {
+                    //if dockerized wdm.quit the relevant one
+                    if (SHAFT.Properties.platform.executionAddress().toLowerCase().contains("dockerized")) {
+                        // pooled containers are kept running for the next session
+                        if (DockerizedBrowserPool.release(driver)) {
+                            return;
+                        }
+                        var pathToRecording = webDriverManager.get().getDockerRecordingPath(driver);
+                        webDriverManager.get().quit(driver);
+                        RecordManager.attachVideoRecording(pathToRecording);
+                    } else {
+                        try {
+                            driver.close();
+                        } catch (Exception e) {
+                            //ignore
+                        }
+                        driver.quit();
                     }
-                    driver.quit();
                 }
             } catch (WebDriverException | NullPointerException e) {
                 // driver was already closed at an earlier stage
@@ -302,107 +280,114 @@ public class DriverFactoryHelper {
         }
         initialLog = initialLog.replace(targetPlatform, JavaHelper.convertToSentenceCase(targetPlatform));
         ReportManager.logDiscrete(initialLog + ".");
-        try {
-            ReportManager.logDiscrete(WEB_DRIVER_MANAGER_MESSAGE);
-            switch (driverType) {
-                case FIREFOX -> setDriver(new FirefoxDriver(optionsManager.getFfOptions()));
-                case IE -> setDriver(new InternetExplorerDriver(optionsManager.getIeOptions()));
-                case CHROME -> {
-                    setDriver(new ChromeDriver(optionsManager.getChOptions()));
-                    disableCacheEdgeAndChrome();
-                }
-                case EDGE -> {
-                    setDriver(new EdgeDriver(optionsManager.getEdOptions()));
-                    disableCacheEdgeAndChrome();
-                }
-                case SAFARI -> setDriver(new SafariDriver(optionsManager.getSfOptions()));
-                default ->
-                        failAction("Unsupported Driver Type \"" + JavaHelper.convertToSentenceCase(driverType.getValue()) + "\".");
-            }
-            ReportManager.log(initialLog.replace("Attempting to run locally on", "Successfully Opened") + ".");
-        } catch (Exception exception) {
-            String message = exception.getMessage();
-            if (message.contains("cannot create default profile directory")) {
-                // this exception happens when the profile directory is not correct, very specific case
-                // should fail immediately
-                failAction("Failed to create new Browser Session", exception);
-            } else if (message.contains("DevToolsActivePort file doesn't exist")) {
-                // this exception was observed with `Windows_Edge_Local` pipeline to happen randomly
-                // suggested fix as per titus fortner: https://bugs.chromium.org/p/chromedriver/issues/detail?id=4403#c35
+        var retryScheduler = SessionCreationRetryScheduler.forLocalSession(retryAttempts);
+        while (true) {
+            try {
                 switch (driverType) {
-                    case DriverType.CHROME -> {
+                    case FIREFOX -> {
+                        var ffOptions = optionsManager.getFfOptions();
+                        setDriver(new FirefoxDriver(DriverResolutionCache.resolve(new GeckoDriverService.Builder(), ffOptions), ffOptions));
+                    }
+                    case IE -> {
+                        var ieOptions = optionsManager.getIeOptions();
+                        setDriver(new InternetExplorerDriver(DriverResolutionCache.resolve(new InternetExplorerDriverService.Builder(), ieOptions), ieOptions));
+                    }
+                    case CHROME -> {
                         var chOptions = optionsManager.getChOptions();
-                        chOptions.addArguments("--remote-debugging-pipe");
-                        optionsManager.setChOptions(chOptions);
+                        setDriver(new ChromeDriver(DriverResolutionCache.resolve(new ChromeDriverService.Builder(), chOptions), chOptions));
+                        disableCacheEdgeAndChrome();
                     }
-                    case DriverType.EDGE -> {
+                    case EDGE -> {
                         var edOptions = optionsManager.getEdOptions();
-                        edOptions.addArguments("--remote-debugging-pipe");
-                        optionsManager.setEdOptions(edOptions);
+                        setDriver(new EdgeDriver(DriverResolutionCache.resolve(new EdgeDriverService.Builder(), edOptions), edOptions));
+                        disableCacheEdgeAndChrome();
+                    }
+                    case SAFARI -> {
+                        var sfOptions = optionsManager.getSfOptions();
+                        setDriver(new SafariDriver(DriverResolutionCache.resolve(new SafariDriverService.Builder(), sfOptions), sfOptions));
                     }
+                    default ->
+                            failAction("Unsupported Driver Type \"" + JavaHelper.convertToSentenceCase(driverType.getValue()) + "\".");
                 }
-            } else if (message.contains("Failed to initialize BiDi Mapper")) {
-                // this exception happens in some corner cases where the capabilities are not compatible with BiDi mode
-                // should force disable BiDi and try again
-                SHAFT.Properties.platform.set().enableBiDi(false);
-                switch (driverType) {
-                    case DriverType.FIREFOX -> {
-                        var ffOptions = optionsManager.getFfOptions();
-                        ffOptions.setCapability("webSocketUrl", SHAFT.Properties.platform.enableBiDi());
-                        optionsManager.setFfOptions(ffOptions);
+                ReportManager.log(initialLog.replace("Attempting to run locally on", "Successfully Opened") + ".");
+                retryScheduler.recordSuccess();
+                return;
+            } catch (Exception exception) {
+                var failureCause = SessionCreationRetryScheduler.classify(exception);
+                switch (failureCause) {
+                    // this exception happens when the profile directory is not correct, very specific case
+                    // should fail immediately
+                    case NON_RETRYABLE -> failAction("Failed to create new Browser Session", exception);
+                    case DEVTOOLS_PORT_MISSING -> {
+                        // this exception was observed with `Windows_Edge_Local` pipeline to happen randomly
+                        // suggested fix as per titus fortner: https://bugs.chromium.org/p/chromedriver/issues/detail?id=4403#c35
+                        switch (driverType) {
+                            case DriverType.CHROME -> {
+                                var chOptions = optionsManager.getChOptions();
+                                chOptions.addArguments("--remote-debugging-pipe");
+                                optionsManager.setChOptions(chOptions);
+                            }
+                            case DriverType.EDGE -> {
+                                var edOptions = optionsManager.getEdOptions();
+                                edOptions.addArguments("--remote-debugging-pipe");
+                                optionsManager.setEdOptions(edOptions);
+                            }
+                        }
                     }
-                    case DriverType.CHROME -> {
-                        var chOptions = optionsManager.getChOptions();
-                        chOptions.setCapability("webSocketUrl", SHAFT.Properties.platform.enableBiDi());
-                        optionsManager.setChOptions(chOptions);
+                    case BIDI_MAPPER_FAILURE -> {
+                        // this exception happens in some corner cases where the capabilities are not compatible with BiDi mode
+                        // should force disable BiDi and try again
+                        SHAFT.Properties.platform.set().enableBiDi(false);
+                        switch (driverType) {
+                            case DriverType.FIREFOX -> {
+                                var ffOptions = optionsManager.getFfOptions();
+                                ffOptions.setCapability("webSocketUrl", SHAFT.Properties.platform.enableBiDi());
+                                optionsManager.setFfOptions(ffOptions);
+                            }
+                            case DriverType.CHROME -> {
+                                var chOptions = optionsManager.getChOptions();
+                                chOptions.setCapability("webSocketUrl", SHAFT.Properties.platform.enableBiDi());
+                                optionsManager.setChOptions(chOptions);
+                            }
+                            case DriverType.EDGE -> {
+                                var edOptions = optionsManager.getEdOptions();
+                                edOptions.setCapability("webSocketUrl", SHAFT.Properties.platform.enableBiDi());
+                                optionsManager.setEdOptions(edOptions);
+                            }
+                        }
                     }
-                    case DriverType.EDGE -> {
-                        var edOptions = optionsManager.getEdOptions();
-                        edOptions.setCapability("webSocketUrl", SHAFT.Properties.platform.enableBiDi());
-                        optionsManager.setEdOptions(edOptions);
+                    case SAFARI_ALREADY_PAIRED -> {
+                        //this issue happens when running locally via safari/mac platform
+                        // attempting blind fix by trying to quit existing safari instances if any
+                        try {
+                            SHAFT.CLI.terminal().performTerminalCommands(Arrays.asList(
+                                    "osascript -e 'quit app \"Safari\"'", "osascript -e 'quit app \"SafariDriver\"'",
+                                    "pkill -x Safari", "pkill -x SafariDriver",
+                                    "killall Safari", "killall SafariDriver"));
+                            //minimizing retry attempts to save execution time
+                            retryScheduler.limitToOneMoreAttempt();
+                        } catch (Throwable throwable) {
+                            // ignore
+                        }
+                    }
+                    // an auto closable BiDi session that was left hanging is handled by the retry scheduler,
+                    // which keeps retrying until it times out instead of waiting for the full timeout
+                    default -> {
                     }
                 }
-            } else if (message.contains("The Safari instance is already paired with another WebDriver session.")) {
-                //this issue happens when running locally via safari/mac platform
-                // attempting blind fix by trying to quit existing safari instances if any
+                // attempting blind fix by trying to quit existing driver if any
                 try {
-                    SHAFT.CLI.terminal().performTerminalCommands(Arrays.asList(
-                            "osascript -e 'quit app \"Safari\"'", "osascript -e 'quit app \"SafariDriver\"'",
-                            "pkill -x Safari", "pkill -x SafariDriver",
-                            "killall Safari", "killall SafariDriver"));
-                    //minimizing retry attempts to save execution time
-                    retryAttempts = 0;
+                    driver.quit();
                 } catch (Throwable throwable) {
                     // ignore
+                } finally {
+                    setDriver(null);
                 }
-            } else if (exception.getMessage().contains("java.util.concurrent.TimeoutException")) {
-                // this happens in case an auto closable BiDi session was left hanging
-                // the default timeout is 30 seconds, so this wait will waste 26 and the following will waste 5 more
-                // the desired effect will be to wait for the bidi session to timeout
-                try {
-                    Thread.sleep(26000);
-                } catch (InterruptedException e) {
-                    //do nothing
+                // evaluating retry attempts
+                if (!retryScheduler.awaitNextAttempt(failureCause)) {
+                    failAction("Failed to create new Browser Session", exception);
                 }
             }
-            // attempting blind fix by trying to quit existing driver if any
-            try {
-                driver.quit();
-            } catch (Throwable throwable) {
-                // ignore
-            } finally {
-                setDriver(null);
-            }
-            // evaluating retry attempts
-            if (retryAttempts > 0) {
-                try {
-                    Thread.sleep(5000);
-                } catch (InterruptedException e) {
-                    //do nothing
-                }
-                createNewLocalDriverInstance(driverType, retryAttempts - 1);
-            }
-            failAction("Failed to create new Browser Session", exception);
         }
     }
 
@@ -415,21 +400,41 @@ public class DriverFactoryHelper {
 
         try {
             ReportManager.logDiscrete(WEB_DRIVER_MANAGER_DOCKERIZED_MESSAGE);
+            Capabilities capabilities = null;
             switch (driverType) {
-                case FIREFOX ->
-                        webDriverManager.set(WebDriverManager.firefoxdriver().capabilities(optionsManager.getFfOptions()));
-                case CHROME ->
-                        webDriverManager.set(WebDriverManager.chromedriver().capabilities(optionsManager.getChOptions()));
-                case EDGE ->
-                        webDriverManager.set(WebDriverManager.edgedriver().capabilities(optionsManager.getEdOptions()));
-                case SAFARI ->
-                        webDriverManager.set(WebDriverManager.safaridriver().capabilities(optionsManager.getSfOptions()));
+                case FIREFOX -> {
+                    capabilities = optionsManager.getFfOptions();
+                    webDriverManager.set(WebDriverManager.firefoxdriver().capabilities(capabilities));
+                }
+                case CHROME -> {
+                    capabilities = optionsManager.getChOptions();
+                    webDriverManager.set(WebDriverManager.chromedriver().capabilities(capabilities));
+                }
+                case EDGE -> {
+                    capabilities = optionsManager.getEdOptions();
+                    webDriverManager.set(WebDriverManager.edgedriver().capabilities(capabilities));
+                }
+                case SAFARI -> {
+                    capabilities = optionsManager.getSfOptions();
+                    webDriverManager.set(WebDriverManager.safaridriver().capabilities(capabilities));
+                }
                 default ->
                         failAction("Unsupported Driver Type \"" + JavaHelper.convertToSentenceCase(driverType.getValue()) + "\". We only support Chrome, Edge, Firefox, and Safari in this dockerized mode.");
             }
-            RemoteWebDriver remoteWebDriver = (RemoteWebDriver) webDriverManager.get().proxy(SHAFT.Properties.platform.proxy()).browserInDocker().dockerShmSize("2g").enableVnc().viewOnly().avoidUseChromiumDriverSnap().dockerScreenResolution(TARGET_WINDOW_SIZE.getWidth() + "x" + TARGET_WINDOW_SIZE.getHeight() + "x24")
+            var dockerizedBrowser = webDriverManager.get().proxy(SHAFT.Properties.platform.proxy()).browserInDocker().dockerShmSize("2g").avoidUseChromiumDriverSnap().dockerScreenResolution(TARGET_WINDOW_SIZE.getWidth() + "x" + TARGET_WINDOW_SIZE.getHeight() + "x24");
 //                    .dockerVolumes("\\local\\path:\\container\\path")
-                    .enableRecording().dockerRecordingOutput(SHAFT.Properties.paths.video()).create();
+            // the container is only recorded, and exposed over VNC for the recorder, when videos are needed
+            if (SHAFT.Properties.visuals.videoParamsRecordVideo()) {
+                dockerizedBrowser.enableVnc().viewOnly().enableRecording().dockerRecordingOutput(SHAFT.Properties.paths.video());
+            }
+            RemoteWebDriver remoteWebDriver;
+            if (DockerizedBrowserPool.isEnabled()) {
+                remoteWebDriver = DockerizedBrowserPool.lease(driverType, capabilities, dockerizedBrowser);
+                // the container belongs to the pool, which stops it once it's no longer needed
+                webDriverManager.remove();
+            } else {
+                remoteWebDriver = (RemoteWebDriver) dockerizedBrowser.create();
+            }
             remoteWebDriver.setFileDetector(new LocalFileDetector());
 //            driver =ThreadGuard.protect(remoteWebDriver));
             setDriver(remoteWebDriver);
@@ -484,7 +489,7 @@ public class DriverFactoryHelper {
             try {
                 TARGET_HUB_URL = TARGET_HUB_URL.contains("0.0.0.0") ? TARGET_HUB_URL.replace("0.0.0.0", "localhost") : TARGET_HUB_URL;
                 if (Properties.flags.forceCheckStatusOfRemoteServer()) {
-                    var statusCode = attemptRemoteServerPing();
+                    var statusCode = RemoteServerHealthProbe.awaitReady(TARGET_HUB_URL, appiumServerInitializationTimeout);
                     ReportManager.logDiscrete("Remote server is online, established successful connection with status code: " + statusCode + ".");
                 }
             } catch (Throwable throwable) {
@@ -599,7 +604,35 @@ public class DriverFactoryHelper {
     }
 
     public void initializeDriver(@NonNull DriverType driverType, MutableCapabilities customDriverOptions) {
+        try (var ignored = EngineTracer.startSpan("Driver", "Initialize " + driverType.getValue())) {
+            initializeDriverInstance(driverType, customDriverOptions);
+        }
+    }
+
+    private void initializeDriverInstance(DriverType driverType, MutableCapabilities customDriverOptions) {
         initializeSystemProperties();
+        var isPooledSession = DriverSessionPool.isEligible(driverType, customDriverOptions);
+        var leasedDriver = isPooledSession ? DriverSessionPool.lease(driverType) : null;
+        if (leasedDriver != null) {
+            setDriver(leasedDriver);
+            ReportManager.log("Successfully leased a pre-warmed \"" + JavaHelper.convertToSentenceCase(driverType.getValue()) + "\" session.");
+        } else {
+            createDriverInstance(driverType, customDriverOptions);
+            if (isPooledSession && driver != null) {
+                DriverSessionPool.register(driverType, driver);
+            }
+        }
+        // start session recording
+        RecordManager.startVideoRecording(driver);
+
+        if (SHAFT.Properties.healenium.healEnabled()) {
+            ReportManager.logDiscrete("Initializing Healenium's Self Healing Driver...");
+//            driver =ThreadGuard.protect(SelfHealingDriver.create(driver)));
+            setDriver(SelfHealingDriver.create(driver));
+        }
+    }
+
+    void createDriverInstance(DriverType driverType, MutableCapabilities customDriverOptions) {
         try {
             var isMobileExecution = Platform.ANDROID.toString().equalsIgnoreCase(SHAFT.Properties.platform.targetPlatform()) || Platform.IOS.toString().equalsIgnoreCase(SHAFT.Properties.platform.targetPlatform());
             if (isMobileExecution) {
@@ -642,16 +675,23 @@ public class DriverFactoryHelper {
                     new BrowserActions(this).maximizeWindow();
                 }
             }
-            // start session recording
-            RecordManager.startVideoRecording(driver);
         } catch (NullPointerException e) {
             FailureReporter.fail(DriverFactoryHelper.class, "Unhandled Exception with Driver Type \"" + JavaHelper.convertToSentenceCase(driverType.getValue()) + "\".", e);
         }
+    }
 
-        if (SHAFT.Properties.healenium.healEnabled()) {
-            ReportManager.logDiscrete("Initializing Healenium's Self Healing Driver...");
-//            driver =ThreadGuard.protect(SelfHealingDriver.create(driver)));
-            setDriver(SelfHealingDriver.create(driver));
+    /**
+     * Pre-warms the driver session pool for the target browser, if it's enabled.
+     */
+    public static void prewarmDriverSessionPool() {
+        if (SHAFT.Properties.flags.enableDriverSessionPool() && isWebExecution()) {
+            try {
+                initializeSystemProperties();
+                DriverSessionPool.prewarm(getDriverTypeFromName(SHAFT.Properties.web.targetBrowserName()));
+            } catch (Throwable throwable) {
+                // sessions will be created on demand instead
+                ReportManagerHelper.logDiscrete(throwable, Level.DEBUG);
+            }
         }
     }
 }
@@ -0,0 +1,138 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+import org.apache.logging.log4j.Level;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the driver and browser binaries that Selenium Manager resolves for local executions, so that threads and
+ * forked JVMs that use the same browser don't repeat the resolution for each new session.
+ * <p>
+ * Resolved paths are shared between JVMs through a properties file which is guarded by a file lock, and are keyed by
+ * the browser name, the requested browser version, and the operating system. A cached entry is resolved again once
+ * its binaries are removed, the browser binary is updated, or it's older than a day.
+ */
+public class DriverResolutionCache {
+    private static final FileLockedProperties cachedEntries = new FileLockedProperties(
+            Path.of(System.getProperty("user.home"), ".cache", "selenium", "shaft-driver-resolution.properties"), "SHAFT driver resolution cache");
+    private static final long TIME_TO_LIVE = TimeUnit.DAYS.toMillis(1);
+    private static final Map<String, ResolvedBinaries> resolvedBinaries = new ConcurrentHashMap<>();
+
+    private DriverResolutionCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Builds a driver service that uses the cached driver binary, and points the browser options to the cached
+     * browser binary. Falls back to letting the driver resolve its binaries if the cache is disabled or unavailable.
+     *
+     * @param serviceBuilder the builder of the driver service for the target browser
+     * @param options        the browser options that will be used to create the new session
+     * @param <S>            the type of the driver service
+     * @return the driver service that should be used to create the new session
+     */
+    static <S extends DriverService> S resolve(DriverService.Builder<S, ?> serviceBuilder, MutableCapabilities options) {
+        if (!SHAFT.Properties.flags.enableDriverResolutionCache()) {
+            ReportManager.logDiscrete(DriverFactoryHelper.WEB_DRIVER_MANAGER_MESSAGE);
+            return serviceBuilder.build();
+        }
+        var key = getKey(options);
+        var binaries = resolvedBinaries.get(key);
+        if (binaries == null || !binaries.isValid()) {
+            try {
+                binaries = cachedEntries.update(entries -> loadOrResolve(entries, key, serviceBuilder, options));
+                resolvedBinaries.put(key, binaries);
+            } catch (IOException | OverlappingFileLockException exception) {
+                ReportManagerHelper.logDiscrete(exception, Level.DEBUG);
+                ReportManager.logDiscrete(DriverFactoryHelper.WEB_DRIVER_MANAGER_MESSAGE);
+                return serviceBuilder.build();
+            }
+        }
+        serviceBuilder.usingDriverExecutable(new File(binaries.driverPath()));
+        if (!binaries.browserPath().isEmpty()) {
+            // same as what the driver does when Selenium Manager resolves the browser binary
+            switch (options) {
+                case ChromiumOptions<?> chromiumOptions -> chromiumOptions.setBinary(binaries.browserPath());
+                case FirefoxOptions firefoxOptions -> firefoxOptions.setBinary(binaries.browserPath());
+                default -> {
+                }
+            }
+            options.setCapability(CapabilityType.BROWSER_VERSION, (Object) null);
+        }
+        return serviceBuilder.build();
+    }
+
+    private static ResolvedBinaries loadOrResolve(Properties entries, String key, DriverService.Builder<?, ?> serviceBuilder, MutableCapabilities options) {
+        var binaries = ResolvedBinaries.read(entries, key);
+        if (binaries != null && binaries.isValid()) {
+            return binaries;
+        }
+        ReportManager.logDiscrete(DriverFactoryHelper.WEB_DRIVER_MANAGER_MESSAGE);
+        var driverFinder = new DriverFinder(serviceBuilder.build(), options);
+        var browserPath = driverFinder.hasBrowserPath() ? driverFinder.getBrowserPath() : "";
+        binaries = new ResolvedBinaries(driverFinder.getDriverPath(), browserPath, getLastModified(browserPath), System.currentTimeMillis());
+        binaries.write(entries, key);
+        return binaries;
+    }
+
+    private static String getKey(MutableCapabilities options) {
+        return String.join("|", options.getBrowserName(), String.valueOf(options.getBrowserVersion()),
+                System.getProperty("os.name"), System.getProperty("os.arch")).replaceAll("\\s", "_");
+    }
+
+    private static long getLastModified(String path) {
+        try {
+            return path.isEmpty() ? 0 : Files.getLastModifiedTime(Path.of(path)).toMillis();
+        } catch (IOException | InvalidPathException exception) {
+            return -1;
+        }
+    }
+
+    private record ResolvedBinaries(String driverPath, String browserPath, long browserLastModified, long resolvedAt) {
+        static ResolvedBinaries read(Properties cachedEntries, String key) {
+            var driverPath = cachedEntries.getProperty(key + ".driverPath");
+            if (driverPath == null) {
+                return null;
+            }
+            try {
+                return new ResolvedBinaries(driverPath,
+                        cachedEntries.getProperty(key + ".browserPath", ""),
+                        Long.parseLong(cachedEntries.getProperty(key + ".browserLastModified", "-1")),
+                        Long.parseLong(cachedEntries.getProperty(key + ".resolvedAt", "0")));
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+
+        void write(Properties cachedEntries, String key) {
+            cachedEntries.setProperty(key + ".driverPath", driverPath);
+            cachedEntries.setProperty(key + ".browserPath", browserPath);
+            cachedEntries.setProperty(key + ".browserLastModified", String.valueOf(browserLastModified));
+            cachedEntries.setProperty(key + ".resolvedAt", String.valueOf(resolvedAt));
+        }
+
+        boolean isValid() {
+            return System.currentTimeMillis() - resolvedAt < TIME_TO_LIVE
+                    && Files.isExecutable(Path.of(driverPath))
+                    && getLastModified(browserPath) == browserLastModified;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.driver.DriverFactory.DriverType;
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+import org.apache.logging.log4j.Level;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps a pool of pre-warmed browser sessions per browser type, which are leased to tests instead of creating a new
+ * session for each test.
+ * <p>
+ * When a leased session is closed it is reset (extra windows, cookies, storage, and DevTools listeners) and returned
+ * to the pool. A session is quit and replaced in the background once it reaches the maximum number of uses, or if
+ * it fails to reset or to respond to a health check.
+ * <p>
+ * Only Chromium based sessions are pooled, since their cookies and the storage of every origin they visited can be
+ * cleared through the Chrome DevTools Protocol, which WebDriver alone can only do for the origin of the current page.
+ */
+public class DriverSessionPool {
+    private static final Set<DriverType> POOLED_DRIVER_TYPES = EnumSet.of(DriverType.CHROME, DriverType.EDGE, DriverType.CHROMIUM);
+    private static final Map<String, BlockingDeque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> pendingSessions = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+    private static final Set<String> failedPools = ConcurrentHashMap.newKeySet();
+    private static volatile boolean isShutdown = false;
+    // creates the sessions that pre-warm the pool, and is replaced in tests
+    static Function<DriverType, WebDriver> sessionFactory = driverType -> {
+        var helper = new DriverFactoryHelper();
+        helper.createDriverInstance(driverType, null);
+        return helper.getDriver();
+    };
+
+    private DriverSessionPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Only Chromium based desktop web sessions with the default options are pooled, since their state can be fully
+     * reset between tests.
+     */
+    static boolean isEligible(DriverType driverType, MutableCapabilities customDriverOptions) {
+        var executionAddress = SHAFT.Properties.platform.executionAddress().toLowerCase();
+        return SHAFT.Properties.flags.enableDriverSessionPool()
+                && !isShutdown
+                && DriverFactoryHelper.isWebExecution()
+                && !SHAFT.Properties.healenium.healEnabled()
+                && !executionAddress.contains("dockerized")
+                && !executionAddress.contains("browserstack")
+                && !executionAddress.contains("lambdatest")
+                && POOLED_DRIVER_TYPES.contains(driverType)
+                && (customDriverOptions == null || customDriverOptions.asMap().isEmpty());
+    }
+
+    /**
+     * Starts creating the configured number of sessions for the given browser type in the background.
+     *
+     * @param driverType the browser type to be pre-warmed
+     */
+    static void prewarm(DriverType driverType) {
+        if (isEligible(driverType, null)) {
+            ReportManager.logDiscrete("Pre-warming " + SHAFT.Properties.flags.driverSessionPoolSize() + " \"" + driverType.getValue() + "\" driver sessions...");
+            replenish(driverType);
+        }
+    }
+
+    /**
+     * Leases an idle healthy session, and tops up the pool in the background.
+     *
+     * @param driverType the browser type of the requested session
+     * @return a ready session, or null if none is available so that the caller creates a new one
+     */
+    static WebDriver lease(DriverType driverType) {
+        var idle = getIdleSessions(driverType);
+        PooledSession session;
+        try {
+            while ((session = idle.pollFirst()) != null) {
+                if (session.isHealthy()) {
+                    leasedSessions.put(session.driver, session);
+                    return session.driver;
+                }
+                session.quit();
+            }
+            return null;
+        } finally {
+            replenish(driverType);
+        }
+    }
+
+    /**
+     * Registers a session that was created on demand, so that it's returned to the pool once it's closed.
+     */
+    static void register(DriverType driverType, WebDriver driver) {
+        leasedSessions.put(driver, new PooledSession(driverType, driver));
+    }
+
+    /**
+     * Returns a leased session to the pool, or quits it if it can no longer be reused.
+     *
+     * @param driver the session that is being closed
+     * @return true if the session was managed by the pool, false if the caller should quit it
+     */
+    static boolean release(WebDriver driver) {
+        var session = leasedSessions.remove(driver);
+        if (session == null) {
+            return false;
+        }
+        session.uses++;
+        var idle = getIdleSessions(session.driverType);
+        if (isShutdown || idle.size() >= SHAFT.Properties.flags.driverSessionPoolSize()
+                || session.uses >= SHAFT.Properties.flags.driverSessionPoolMaximumUsesPerSession() || !session.reset()) {
+            session.quit();
+            replenish(session.driverType);
+        } else {
+            idle.offerLast(session);
+        }
+        return true;
+    }
+
+    /**
+     * Quits all idle sessions, and makes sure that leased sessions are quit once they are closed.
+     */
+    public static void shutdown() {
+        isShutdown = true;
+        idleSessions.values().forEach(idle -> {
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                session.quit();
+            }
+        });
+    }
+
+    private static synchronized void replenish(DriverType driverType) {
+        var key = getPoolKey(driverType);
+        var idle = getIdleSessions(driverType);
+        var pending = pendingSessions.computeIfAbsent(key, k -> new AtomicInteger());
+        while (!isShutdown && !failedPools.contains(key) && idle.size() + pending.get() < SHAFT.Properties.flags.driverSessionPoolSize()) {
+            pending.incrementAndGet();
+            Thread.ofVirtual().start(() -> {
+                try {
+                    var session = new PooledSession(driverType, sessionFactory.apply(driverType));
+                    if (isShutdown) {
+                        session.quit();
+                    } else {
+                        idle.offerLast(session);
+                    }
+                } catch (Throwable throwable) {
+                    // stops pre-warming this pool, so that leases fall back to creating new sessions on demand
+                    failedPools.add(key);
+                    ReportManagerHelper.logDiscrete(throwable, Level.DEBUG);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private static BlockingDeque<PooledSession> getIdleSessions(DriverType driverType) {
+        return idleSessions.computeIfAbsent(getPoolKey(driverType), key -> new LinkedBlockingDeque<>());
+    }
+
+    private static String getPoolKey(DriverType driverType) {
+        return driverType.name() + "|" + SHAFT.Properties.platform.executionAddress() + "|" + SHAFT.Properties.platform.targetPlatform() + "|" + SHAFT.Properties.web.headlessExecution();
+    }
+
+    private static class PooledSession {
+        private final DriverType driverType;
+        private final WebDriver driver;
+        private int uses = 0;
+
+        PooledSession(DriverType driverType, WebDriver driver) {
+            this.driverType = driverType;
+            this.driver = driver;
+        }
+
+        boolean isHealthy() {
+            try {
+                return !driver.getWindowHandles().isEmpty();
+            } catch (Exception exception) {
+                return false;
+            }
+        }
+
+        /**
+         * Restores the session to a blank state, leaving a single window open on a blank page. The cookies of all the
+         * domains are cleared, along with the storage of every origin that the session's windows navigated to.
+         *
+         * @return true if the session was reset successfully
+         */
+        boolean reset() {
+            if (!(driver instanceof HasCdp cdpDriver)) {
+                return false;
+            }
+            try {
+                var visitedOrigins = new LinkedHashSet<String>();
+                var windowHandles = driver.getWindowHandles();
+                var firstWindowHandle = windowHandles.iterator().next();
+                for (var windowHandle : windowHandles) {
+                    driver.switchTo().window(windowHandle);
+                    visitedOrigins.addAll(getVisitedOrigins(cdpDriver));
+                    if (!windowHandle.equals(firstWindowHandle)) {
+                        driver.close();
+                    }
+                }
+                driver.switchTo().window(firstWindowHandle);
+                driver.get("about:blank");
+                cdpDriver.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                for (var origin : visitedOrigins) {
+                    cdpDriver.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+                }
+                if (driver instanceof HasDevTools hasDevToolsDriver) {
+                    // only an already open DevTools connection is reset, to avoid opening a new one for each lease
+                    hasDevToolsDriver.maybeGetDevTools().ifPresent(DevTools::clearListeners);
+                }
+                return true;
+            } catch (Exception exception) {
+                ReportManagerHelper.logDiscrete(exception, Level.DEBUG);
+                return false;
+            }
+        }
+
+        /**
+         * @return the web origins in the navigation history of the current window
+         */
+        private static Set<String> getVisitedOrigins(HasCdp cdpDriver) {
+            var origins = new LinkedHashSet<String>();
+            if (cdpDriver.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries") instanceof List<?> entries) {
+                for (var entry : entries) {
+                    if (entry instanceof Map<?, ?> entryMap) {
+                        try {
+                            var url = URI.create(String.valueOf(entryMap.get("url")));
+                            if (("http".equals(url.getScheme()) || "https".equals(url.getScheme())) && url.getHost() != null) {
+                                origins.add(url.getScheme() + "://" + url.getHost() + (url.getPort() != -1 ? ":" + url.getPort() : ""));
+                            }
+                        } catch (IllegalArgumentException exception) {
+                            // not a web page
+                        }
+                    }
+                }
+            }
+            return origins;
+        }
+
+        void quit() {
+            try {
+                driver.quit();
+            } catch (Exception exception) {
+                // session was already terminated
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A properties file that's shared between threads and forked JVMs, and is only read and updated while holding both
+ * an in-process lock and a file lock.
+ */
+class FileLockedProperties {
+    private final Path file;
+    private final Path lockFile;
+    private final String comment;
+    // file locks are held per JVM, so threads of the same JVM have to take turns before acquiring it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    FileLockedProperties(Path file, String comment) {
+        this.file = file;
+        this.lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        this.comment = comment;
+    }
+
+    /**
+     * Loads the properties, applies the action to them, and saves them if they were changed. Other threads and JVMs
+     * wait until the action is done, which lets them reuse its result instead of repeating it.
+     *
+     * @param action the action that reads or updates the properties
+     * @param <T>    the type of the action's result
+     * @return the result of the action
+     * @throws IOException if the properties file couldn't be locked, read, or written
+     */
+    <T> T update(Function<Properties, T> action) throws IOException {
+        lock.lock();
+        try {
+            Files.createDirectories(file.getParent());
+            try (var channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 var ignored = channel.lock()) {
+                var properties = new Properties();
+                if (Files.exists(file)) {
+                    try (InputStream inputStream = Files.newInputStream(file)) {
+                        properties.load(inputStream);
+                    }
+                }
+                var originalProperties = (Properties) properties.clone();
+                var result = action.apply(properties);
+                if (!properties.equals(originalProperties)) {
+                    // written to a temporary file first so that a JVM that's killed mid-write doesn't corrupt the file
+                    var temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                    try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                        properties.store(outputStream, comment);
+                    }
+                    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return result;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
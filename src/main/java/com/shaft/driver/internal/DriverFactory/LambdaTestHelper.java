@@ -65,7 +65,6 @@ public class LambdaTestHelper {
      * @return appURL for the newly uploaded app file on LambdaTest to be used for future tests
      */
     private static MutableCapabilities setupNativeAppExecution(String username, String password, String deviceName, String osVersion, String relativePathToAppFile, String appName) {
-        SHAFT.Properties.timeouts.set().apiSocketTimeout(600); //increasing socket timeout to 10 minutes to upload a new app file
         ReportManager.logDiscrete("Setting up LambdaTest configuration for new native app version...");
         String testData = "Username: " + username + ", Password: " + "•".repeat(password.length()) + ", Device Name: " + deviceName + ", OS Version: " + osVersion + ", Relative Path to App File: " + relativePathToAppFile + ", App Name: " + appName;
         // upload app to LambdaTest api
@@ -85,13 +84,19 @@ public class LambdaTestHelper {
         List<List<Object>> parameters = new ArrayList<>();
         parameters.add(apkFile);
         parameters.add(customID);
-        var appUrl = "";
-        try {
-            appUrl = Objects.requireNonNull(RestActions.getResponseJSONValue(new SHAFT.API(serviceUri).post(appUploadServiceName).setContentType("multipart/form-data").setParameters(parameters, RestActions.ParametersType.FORM).setAuthentication(username, password, RequestBuilder.AuthenticationType.BASIC).perform(), "app_url"));
-            ReportManager.logDiscrete("LambdaTest app_url: " + appUrl);
-        } catch (NullPointerException exception) {
-            failAction(testData, exception);
-        }
+        String uploadTestData = testData;
+        // the same app file is only uploaded once until its upload expires
+        var appUrl = AppUploadCache.getOrUpload("LambdaTest", username, appPath, custom_id, () -> {
+            SHAFT.Properties.timeouts.set().apiSocketTimeout(600); //increasing socket timeout to 10 minutes to upload a new app file
+            try {
+                var uploadedAppUrl = Objects.requireNonNull(RestActions.getResponseJSONValue(new SHAFT.API(serviceUri).post(appUploadServiceName).setContentType("multipart/form-data").setParameters(parameters, RestActions.ParametersType.FORM).setAuthentication(username, password, RequestBuilder.AuthenticationType.BASIC).perform(), "app_url"));
+                ReportManager.logDiscrete("LambdaTest app_url: " + uploadedAppUrl);
+                return uploadedAppUrl;
+            } catch (NullPointerException exception) {
+                failAction(uploadTestData, exception);
+                return "";
+            }
+        });
         // set properties
         testData = testData + ", App URL: " + appUrl;
         passAction(testData);
@@ -0,0 +1,149 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+import org.apache.logging.log4j.Level;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Checks whether remote servers are ready to create new sessions, using a single background probe per server that is
+ * shared by all the threads waiting for it.
+ * <p>
+ * Waiting threads are notified as soon as the server responds successfully, and the ready state of each server is
+ * cached for {@code remoteServerStatusCacheTTL} seconds so that parallel threads don't query it again.
+ */
+public class RemoteServerHealthProbe {
+    private static final List<String> STATUS_ENDPOINTS = List.of("status/", "wd/hub/status/");
+    private static final long INITIAL_POLLING_INTERVAL = 100; // milliseconds
+    private static final long MAXIMUM_POLLING_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final Map<String, ServerStatus> serverStatuses = new ConcurrentHashMap<>();
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(REQUEST_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private RemoteServerHealthProbe() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Waits until the remote server is ready, or returns immediately if it was found to be ready recently.
+     *
+     * @param serverUrl        the base URL of the remote server
+     * @param timeoutInSeconds the maximum time to wait for the server to be ready
+     * @return the status code of the last successful status request
+     * @throws IllegalStateException if the server was still not ready after the timeout
+     */
+    static int awaitReady(String serverUrl, long timeoutInSeconds) {
+        var readiness = serverStatuses.computeIfAbsent(serverUrl, ServerStatus::new).getReadiness(timeoutInSeconds);
+        try {
+            return readiness.get(timeoutInSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the remote server to be ready.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(getNotReadyMessage(timeoutInSeconds), e);
+        }
+    }
+
+    private static String getNotReadyMessage(long timeoutInSeconds) {
+        return "Failed to connect to remote server. It was still not ready after " + TimeUnit.SECONDS.toMinutes(timeoutInSeconds) + " minutes.";
+    }
+
+    private static class ServerStatus {
+        private final String serverUrl;
+        private CompletableFuture<Integer> readiness;
+        private long readyUntil;
+
+        ServerStatus(String serverUrl) {
+            this.serverUrl = serverUrl.endsWith("/") ? serverUrl : serverUrl + "/";
+        }
+
+        /**
+         * @return the cached ready state if it's still valid, the probe that is currently in progress, or a new probe
+         */
+        synchronized CompletableFuture<Integer> getReadiness(long timeoutInSeconds) {
+            var isExpired = readiness != null && readiness.isDone()
+                    && (readiness.isCompletedExceptionally() || System.nanoTime() - readyUntil >= 0);
+            if (readiness == null || isExpired) {
+                var newReadiness = new CompletableFuture<Integer>();
+                readiness = newReadiness;
+                Thread.ofVirtual().name("SHAFT-RemoteServerProbe").start(() -> probe(newReadiness, timeoutInSeconds));
+            }
+            return readiness;
+        }
+
+        private synchronized void markReady() {
+            readyUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHAFT.Properties.timeouts.remoteServerStatusCacheTTL());
+        }
+
+        private void probe(CompletableFuture<Integer> readiness, long timeoutInSeconds) {
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutInSeconds);
+            var pollingInterval = INITIAL_POLLING_INTERVAL;
+            Throwable lastFailure = null;
+            try {
+                while (true) {
+                    for (var endpoint : STATUS_ENDPOINTS) {
+                        try {
+                            var statusCode = httpClient.send(buildStatusRequest(endpoint), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (statusCode >= 200 && statusCode < 300) {
+                                markReady();
+                                readiness.complete(statusCode);
+                                return;
+                            }
+                        } catch (IOException | URISyntaxException exception) {
+                            lastFailure = exception;
+                            ReportManagerHelper.logDiscrete(exception, Level.DEBUG);
+                        }
+                    }
+                    var remainingTime = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingTime <= 0) {
+                        break;
+                    }
+                    //noinspection BusyWait
+                    Thread.sleep(Math.min(pollingInterval, remainingTime));
+                    pollingInterval = Math.min(pollingInterval * 2, MAXIMUM_POLLING_INTERVAL);
+                }
+                readiness.completeExceptionally(new IllegalStateException(getNotReadyMessage(timeoutInSeconds), lastFailure));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                readiness.completeExceptionally(e);
+            } catch (Throwable throwable) {
+                readiness.completeExceptionally(throwable);
+            }
+        }
+
+        private HttpRequest buildStatusRequest(String endpoint) throws URISyntaxException {
+            var uri = new URI(serverUrl + endpoint);
+            var requestBuilder = HttpRequest.newBuilder().GET().timeout(REQUEST_TIMEOUT);
+            var userInfo = uri.getRawUserInfo();
+            if (userInfo != null) {
+                // the HTTP client doesn't support credentials in the URL, so they're sent as a basic authorization header
+                uri = new URI(uri.getScheme(), null, uri.getHost(), uri.getPort(), uri.getPath(), uri.getQuery(), null);
+                var credentials = URLDecoder.decode(userInfo, StandardCharsets.UTF_8);
+                requestBuilder.header("Authorization", "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+            }
+            return requestBuilder.uri(uri).build();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.tools.internal.metrics.EngineMetrics;
+import com.shaft.tools.io.ReportManager;
+import org.openqa.selenium.SessionNotCreatedException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a failed browser session creation should be retried, and how long to wait before retrying.
+ * <p>
+ * Failures are classified by their cause, and retries are spaced using a bounded exponential backoff with jitter
+ * instead of fixed sleeps. A session that fails because a previous BiDi session is still open is retried within
+ * that session's timeout window without consuming the retry budget, so that the new session is created as soon as
+ * the old one closes. Failures, backoff delays, and the number of attempts are recorded as engine metrics.
+ */
+public class SessionCreationRetryScheduler {
+    static final long INITIAL_BACKOFF = 250; // milliseconds
+    static final long MAXIMUM_BACKOFF = TimeUnit.SECONDS.toMillis(8);
+    // matches the default timeout of an auto closable BiDi session
+    static final long STALE_BIDI_SESSION_TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+    // replaced by tests to retry without waiting
+    static LongSupplier clock = System::nanoTime;
+    static Sleeper sleeper = Thread::sleep;
+    private final String target;
+    private final int maximumRetries;
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final long startTime = clock.getAsLong();
+    private int attempts = 0;
+    private int retries = 0;
+    private long staleBiDiSessionDeadline = 0;
+
+    private SessionCreationRetryScheduler(String target, int maximumRetries, long timeoutInSeconds) {
+        this.target = target;
+        this.maximumRetries = maximumRetries;
+        this.hasDeadline = timeoutInSeconds > 0;
+        this.deadline = startTime + TimeUnit.SECONDS.toNanos(Math.max(0, timeoutInSeconds));
+    }
+
+    /**
+     * @param maximumRetries the number of retries after the first attempt
+     * @return a scheduler that's only bounded by the number of retries
+     */
+    static SessionCreationRetryScheduler forLocalSession(int maximumRetries) {
+        return new SessionCreationRetryScheduler("local", maximumRetries, 0);
+    }
+
+    /**
+     * @param timeoutInSeconds the maximum time to keep retrying
+     * @return a scheduler that's only bounded by time
+     */
+    static SessionCreationRetryScheduler forRemoteSession(long timeoutInSeconds) {
+        return new SessionCreationRetryScheduler("remote", Integer.MAX_VALUE, timeoutInSeconds);
+    }
+
+    static FailureCause classify(Throwable throwable) {
+        var message = String.valueOf(throwable.getMessage());
+        if (message.contains("cannot create default profile directory") || message.contains("missing in the capabilities")) {
+            return FailureCause.NON_RETRYABLE;
+        } else if (message.contains("DevToolsActivePort file doesn't exist")) {
+            return FailureCause.DEVTOOLS_PORT_MISSING;
+        } else if (message.contains("Failed to initialize BiDi Mapper")) {
+            return FailureCause.BIDI_MAPPER_FAILURE;
+        } else if (message.contains("The Safari instance is already paired with another WebDriver session.")) {
+            return FailureCause.SAFARI_ALREADY_PAIRED;
+        } else if (message.contains("java.util.concurrent.TimeoutException") || hasCause(throwable, TimeoutException.class)) {
+            return FailureCause.STALE_BIDI_SESSION;
+        } else if (throwable instanceof SessionNotCreatedException) {
+            return FailureCause.SESSION_NOT_CREATED;
+        }
+        return FailureCause.UNKNOWN;
+    }
+
+    private static boolean hasCause(Throwable throwable, Class<? extends Throwable> causeType) {
+        for (var cause = throwable; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (causeType.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Allows a single final attempt, used after a blind fix that either works immediately or not at all.
+     */
+    void limitToOneMoreAttempt() {
+        retries = Math.max(retries, maximumRetries - 1);
+    }
+
+    /**
+     * Records a failed attempt, then waits before the next one if it should be retried.
+     *
+     * @param failureCause the classified cause of the failed attempt
+     * @return true if the session creation should be attempted again
+     */
+    boolean awaitNextAttempt(FailureCause failureCause) {
+        attempts++;
+        EngineMetrics.increment("session_creation_failures", "target", target, "cause", failureCause.name());
+        if (failureCause == FailureCause.NON_RETRYABLE) {
+            return false;
+        }
+        var now = clock.getAsLong();
+        var isWaitingForStaleBiDiSession = false;
+        if (failureCause == FailureCause.STALE_BIDI_SESSION) {
+            if (staleBiDiSessionDeadline == 0) {
+                staleBiDiSessionDeadline = now + STALE_BIDI_SESSION_TIMEOUT;
+            }
+            isWaitingForStaleBiDiSession = now - staleBiDiSessionDeadline < 0;
+        }
+        if (!isWaitingForStaleBiDiSession) {
+            if (retries >= maximumRetries) {
+                return false;
+            }
+            retries++;
+        }
+        var remainingTime = hasDeadline ? TimeUnit.NANOSECONDS.toMillis(deadline - now) : Long.MAX_VALUE;
+        if (remainingTime <= 0) {
+            return false;
+        }
+        var backoff = Math.min(getBackoff(attempts), remainingTime);
+        EngineMetrics.recordValue("session_creation_backoff_milliseconds", backoff, "target", target, "cause", failureCause.name());
+        ReportManager.logDiscrete("Failed to create a new " + target + " session (" + failureCause.name() + "), retrying in " + backoff + "ms.");
+        try {
+            sleeper.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    void recordSuccess() {
+        EngineMetrics.recordValue("session_creation_attempts", attempts + 1L, "target", target);
+        if (attempts > 0) {
+            EngineMetrics.recordDuration("session_creation_retry_time", startTime, "target", target);
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter, which keeps a minimum delay while spreading out parallel retries.
+     */
+    static long getBackoff(int attempt) {
+        var exponentialBackoff = Math.min(MAXIMUM_BACKOFF, INITIAL_BACKOFF << Math.min(attempt - 1, 16));
+        var halfBackoff = exponentialBackoff / 2;
+        return halfBackoff + ThreadLocalRandom.current().nextLong(halfBackoff + 1);
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long milliseconds) throws InterruptedException;
+    }
+
+    enum FailureCause {
+        NON_RETRYABLE,
+        DEVTOOLS_PORT_MISSING,
+        BIDI_MAPPER_FAILURE,
+        SAFARI_ALREADY_PAIRED,
+        STALE_BIDI_SESSION,
+        SESSION_NOT_CREATED,
+        UNKNOWN
+    }
+}
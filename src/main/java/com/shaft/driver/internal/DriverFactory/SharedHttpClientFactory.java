@@ -0,0 +1,98 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.driver.SHAFT;
+import org.openqa.selenium.remote.http.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Creates the HTTP clients of remote sessions, so that all the sessions to the same remote server share one tuned
+ * client instead of each session opening its own connection pool.
+ * <p>
+ * The shared clients keep their connections alive between commands and sessions, which saves the connection setup and
+ * TLS handshake of each new session. HTTPS servers are reached over HTTP/2 when they support it, while plain HTTP
+ * servers use HTTP/1.1 to avoid the cleartext upgrade round trip. Closing a session doesn't close its shared client.
+ */
+class SharedHttpClientFactory implements HttpClient.Factory {
+    private static final SharedHttpClientFactory INSTANCE = new SharedHttpClientFactory();
+    private final HttpClient.Factory delegate = HttpClient.Factory.createDefault();
+    private final Map<String, HttpClient> sharedClients = new ConcurrentHashMap<>();
+
+    private SharedHttpClientFactory() {
+    }
+
+    static SharedHttpClientFactory getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        var tunedConfig = config
+                .connectionTimeout(Duration.ofSeconds(SHAFT.Properties.timeouts.remoteServerConnectionTimeout()))
+                .readTimeout(Duration.ofSeconds(SHAFT.Properties.timeouts.remoteServerReadTimeout()))
+                .version("https".equalsIgnoreCase(config.baseUri().getScheme()) ? "HTTP_2" : "HTTP_1_1");
+        if (SHAFT.Properties.flags.enableRemoteResponseCompression()) {
+            tunedConfig = tunedConfig.withFilter(tunedConfig.filter().andThen(new ResponseCompressionFilter()));
+        }
+        var key = String.join("|", String.valueOf(tunedConfig.baseUri()),
+                String.valueOf(tunedConfig.connectionTimeout()), String.valueOf(tunedConfig.readTimeout()),
+                String.valueOf(SHAFT.Properties.flags.enableRemoteResponseCompression()));
+        var finalConfig = tunedConfig;
+        return new SharedHttpClient(sharedClients.computeIfAbsent(key, k -> delegate.createClient(finalConfig)));
+    }
+
+    @Override
+    public void cleanupIdleClients() {
+        delegate.cleanupIdleClients();
+    }
+
+    /**
+     * Hands the shared client to one session, and ignores the session's request to close it when the session quits.
+     */
+    private record SharedHttpClient(HttpClient client) implements HttpClient {
+        @Override
+        public HttpResponse execute(HttpRequest request) throws UncheckedIOException {
+            return client.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return client.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // the shared client is reused by the next session to the same remote server
+        }
+    }
+
+    /**
+     * Asks the remote server to compress its responses, which shrinks large responses such as screenshots and page
+     * sources, and decompresses them before they reach the session.
+     */
+    private static class ResponseCompressionFilter implements Filter {
+        @Override
+        public HttpHandler apply(HttpHandler next) {
+            return request -> {
+                request.setHeader("Accept-Encoding", "gzip");
+                var response = next.execute(request);
+                if ("gzip".equalsIgnoreCase(response.getHeader("Content-Encoding"))) {
+                    try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(Contents.bytes(response.getContent())))) {
+                        response.setContent(Contents.bytes(inputStream.readAllBytes()));
+                        response.removeHeader("Content-Encoding");
+                        response.removeHeader("Content-Length");
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }
+                return response;
+            };
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.shaft.driver.internal.DriverFactory;
 
 import com.shaft.driver.SHAFT;
+import com.shaft.tools.internal.metrics.EngineMetrics;
+import com.shaft.tools.internal.tracing.EngineTracer;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.Browser;
 import org.openqa.selenium.support.ui.FluentWait;
@@ -8,6 +11,7 @@ import org.openqa.selenium.support.ui.FluentWait;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 public class SynchronizationManager {
     private static final int ELEMENT_IDENTIFICATION_POLLING_DELAY = 100; // milliseconds
@@ -22,7 +26,7 @@ public class SynchronizationManager {
     }
 
     public FluentWait<?> fluentWait(boolean isValidToCheckForVisibility) {
-        return new FluentWait<>(driver)
+        return new TimedFluentWait(driver)
                 .withTimeout(Duration.ofSeconds((long) (SHAFT.Properties.timeouts.defaultElementIdentificationTimeout())))
                 .pollingEvery(Duration.ofMillis(ELEMENT_IDENTIFICATION_POLLING_DELAY))
                 .ignoreAll(getExpectedExceptions(isValidToCheckForVisibility));
@@ -54,4 +58,29 @@ public class SynchronizationManager {
 
         return expectedExceptions;
     }
+
+    /**
+     * Records the time spent waiting, and whether the wait was satisfied or timed out, into the engine metrics.
+     */
+    private static class TimedFluentWait extends FluentWait<WebDriver> {
+        TimedFluentWait(WebDriver driver) {
+            super(driver);
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            var startTime = System.nanoTime();
+            var outcome = "satisfied";
+            var span = EngineTracer.startSpan("Wait", String.valueOf(isTrue));
+            try (span) {
+                return super.until(isTrue);
+            } catch (TimeoutException timeoutException) {
+                outcome = "timeout";
+                span.fail();
+                throw timeoutException;
+            } finally {
+                EngineMetrics.recordDuration("synchronization_wait", startTime, "outcome", outcome);
+            }
+        }
+    }
 }
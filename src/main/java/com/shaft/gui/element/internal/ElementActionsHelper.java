@@ -13,9 +13,13 @@ import com.shaft.gui.internal.exceptions.MultipleElementsFoundException;
 import com.shaft.gui.internal.image.ImageProcessingActions;
 import com.shaft.gui.internal.image.ScreenshotManager;
 import com.shaft.gui.internal.locator.LocatorBuilder;
+import com.shaft.gui.internal.locator.SelfHealingLocators;
 import com.shaft.gui.internal.locator.ShadowLocatorBuilder;
+import com.shaft.tools.internal.metrics.EngineMetrics;
+import com.shaft.tools.internal.profiling.WireCommandProfiler;
 import com.shaft.tools.internal.support.JavaHelper;
 import com.shaft.tools.internal.support.JavaScriptHelper;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.internal.FailureReporter;
 import com.shaft.tools.io.internal.ReportHelper;
@@ -120,12 +124,21 @@ public class ElementActionsHelper {
 
     //TODO: keep enhancing this method until we only need to make ONE WebDriver call per element in case of Type and Click (including element name)
     public List<Object> waitForElementPresence(WebDriver driver, By elementLocator, boolean checkForVisibility, Object... action) {
+        // the lookups and the action are profiled together, so that repeated lookups of the same element are attributed to it
+        var actionName = action != null && action.length > 0 ? ((ElementAction) action[0]).name() : "IDENTIFY_ELEMENT";
+        try (var profiledAction = WireCommandProfiler.startAction(actionName)) {
+            return waitForElementPresence(driver, elementLocator, checkForVisibility, profiledAction, action);
+        }
+    }
+
+    private List<Object> waitForElementPresence(WebDriver driver, By elementLocator, boolean checkForVisibility, WireCommandProfiler.ActionScope profiledAction, Object[] action) {
         boolean isValidToCheckForVisibility = isValidToCheckForVisibility(elementLocator, checkForVisibility);
         var isMobileExecution = DriverFactoryHelper.isMobileNativeExecution() || DriverFactoryHelper.isMobileWebExecution();
 
         try {
             return new SynchronizationManager(driver).fluentWait(isValidToCheckForVisibility)
                     .until(f -> {
+                        profiledAction.startAttempt();
                         try (ExecutorService myExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
                             final WebElement[] targetElement = new WebElement[1];
                             ElementInformation elementInformation = new ElementInformation();
@@ -151,7 +164,7 @@ public class ElementActionsHelper {
                                     FailureReporter.fail(ElementActionsHelper.class, "Failed to identify unique element", invalidSelectorException);
                                 }
                             }
-                            var threadRect = myExecutor.submit(() -> {
+                            var threadRect = myExecutor.submit(WireCommandProfiler.inCurrentScope(() -> {
                                 // BLOCK #2 :: GETTING THE ELEMENT LOCATION (RECT)
                                 try {
                                     elementInformation.setElementRect(targetElement[0].getRect());
@@ -159,8 +172,8 @@ public class ElementActionsHelper {
                                     // this exception happens sometimes with certain browsers and causes a timeout
                                     // this empty block should handle that issue
                                 }
-                            });
-                            var threadLocate = myExecutor.submit(() -> {
+                            }));
+                            var threadLocate = myExecutor.submit(WireCommandProfiler.inCurrentScope(() -> {
                                 // BLOCK #3 :: SCROLLING TO ELEMENT | CONFIRMING IT IS DISPLAYED
                                 if (isValidToCheckForVisibility) {
                                     if (!isMobileExecution) {
@@ -181,8 +194,8 @@ public class ElementActionsHelper {
                                         targetElement[0].isDisplayed();
                                     }
                                 }
-                            });
-                            var threadCount = myExecutor.submit(() -> {
+                            }));
+                            var threadCount = myExecutor.submit(WireCommandProfiler.inCurrentScope(() -> {
                                 // BLOCK #4 :: GETTING THE NUMBER OF FOUND ELEMENTS
                                 if (shadowDomLocator != null && cssSelector == elementLocator) {
                                     elementInformation.setNumberOfFoundElements(driver.findElement(shadowDomLocator)
@@ -192,15 +205,15 @@ public class ElementActionsHelper {
                                 } else {
                                     elementInformation.setNumberOfFoundElements(driver.findElements(elementLocator).size());
                                 }
-                            });
-                            var threadHTML = myExecutor.submit(() -> {
+                            }));
+                            var threadHTML = myExecutor.submit(WireCommandProfiler.inCurrentScope(() -> {
                                 // BLOCK #5 :: GETTING THE INNER AND OUTER HTML
                                 if (!isMobileExecution && GET_ELEMENT_HTML) {
                                     elementInformation.setOuterHTML(targetElement[0].getAttribute("outerHTML"));
                                     elementInformation.setInnerHTML(targetElement[0].getAttribute("innerHTML"));
                                 }
-                            });
-                            var threadName = myExecutor.submit(() -> {
+                            }));
+                            var threadName = myExecutor.submit(WireCommandProfiler.inCurrentScope(() -> {
                                 // BLOCK #6 :: GETTING ELEMENT NAME
                                 if (SHAFT.Properties.reporting.captureElementName()) {
                                     var elementName = JavaHelper.formatLocatorToString(elementLocator);
@@ -216,7 +229,7 @@ public class ElementActionsHelper {
                                     }
                                     elementInformation.setElementName(elementName);
                                 }
-                            });
+                            }));
 
                             // SYNCHRONIZATION POINT
                             threadRect.get();
@@ -245,6 +258,7 @@ public class ElementActionsHelper {
                                             elementInformation.setActionResult(performAction(driver, elementInformation, (ElementAction) action[0], action[1]));
                                 }
                             }
+                            SelfHealingLocators.record(elementLocator, elementInformation.getOuterHTML(), elementInformation.getElementRect());
                             return elementInformation.toList();
                             // int numberOfFoundElements
                             // WebElement firstElement
@@ -257,6 +271,13 @@ public class ElementActionsHelper {
                         }
                     });
         } catch (org.openqa.selenium.TimeoutException timeoutException) {
+            // In case the element was not found, attempt to heal its locator before failing
+            if (timeoutException.getCause() instanceof NoSuchElementException) {
+                var healedLocator = SelfHealingLocators.heal(driver, elementLocator);
+                if (healedLocator != null) {
+                    return waitForElementPresence(driver, healedLocator, checkForVisibility, profiledAction, action);
+                }
+            }
             // In case the element was not found / not visible and the timeout expired
             var causeMessage = timeoutException.getCause().getMessage();
             causeMessage = !causeMessage.isBlank() && causeMessage.contains("\n") ? timeoutException.getMessage() + " || " + causeMessage.substring(0, causeMessage.indexOf("\n")) : timeoutException.getMessage();
@@ -278,6 +299,15 @@ public class ElementActionsHelper {
     }
 
     private String performAction(WebDriver driver, ElementInformation elementInformation, ElementAction action, Object parameter) {
+        var startTime = System.nanoTime();
+        try (var ignored = EngineTracer.startSpan("Element Action", action.name())) {
+            return executeAction(driver, elementInformation, action, parameter);
+        } finally {
+            EngineMetrics.recordDuration("element_action", startTime, "action", action.name());
+        }
+    }
+
+    private String executeAction(WebDriver driver, ElementInformation elementInformation, ElementAction action, Object parameter) {
         switch (action) {
             case CLICK -> {
                 //move to element
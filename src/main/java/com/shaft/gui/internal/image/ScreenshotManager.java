@@ -7,6 +7,8 @@ import com.shaft.enums.internal.Screenshots;
 import com.shaft.gui.browser.internal.JavaScriptWaitManager;
 import com.shaft.gui.element.internal.ElementActionsHelper;
 import com.shaft.gui.element.internal.ElementInformation;
+import com.shaft.tools.internal.metrics.EngineMetrics;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.internal.ReportManagerHelper;
 import lombok.SneakyThrows;
 import org.openqa.selenium.Rectangle;
@@ -47,6 +49,19 @@ public class ScreenshotManager {
     }
 
     public byte[] takeScreenshot(WebDriver driver, By targetElementLocator) {
+        var startTime = System.nanoTime();
+        byte[] screenshot;
+        try (var ignored = EngineTracer.startSpan("Screenshot", "Capture " + Screenshots.getType().name())) {
+            screenshot = captureScreenshot(driver, targetElementLocator);
+        }
+        EngineMetrics.recordDuration("screenshot_capture", startTime, "type", Screenshots.getType().name());
+        if (screenshot != null) {
+            EngineMetrics.recordValue("screenshot_size_bytes", screenshot.length);
+        }
+        return screenshot;
+    }
+
+    private byte[] captureScreenshot(WebDriver driver, By targetElementLocator) {
         if (driver instanceof SelfHealingDriver selfHealingDriver) {
             driver = selfHealingDriver.getDelegate();
         }
@@ -59,7 +74,7 @@ public class ScreenshotManager {
                     } catch (Throwable throwable) {
                         ReportManagerHelper.logDiscrete(throwable);
                         SHAFT.Properties.visuals.set().screenshotParamsScreenshotType(String.valueOf(Screenshots.VIEWPORT));
-                        yield takeScreenshot(driver, null);
+                        yield captureScreenshot(driver, null);
                     }
                 }
                 case ELEMENT -> takeElementScreenshot(driver, targetElementLocator, true);
@@ -84,12 +99,14 @@ public class ScreenshotManager {
              * Adding Screenshot to the Report.
              *
              */
-            try {
+            try (var ignored = EngineTracer.startSpan("Screenshot", "Encode")) {
+                var startTime = System.nanoTime();
                 // add SHAFT_Engine logo overlay
                 BufferedImage screenshotImage = ImageIO.read(new ByteArrayInputStream(image));
                 ScreenshotHelper.overlayShaftEngineLogo(screenshotImage);
                 ByteArrayOutputStream screenshotOutputStream = new ByteArrayOutputStream();
                 ImageIO.write(screenshotImage, "png", screenshotOutputStream);
+                EngineMetrics.recordDuration("screenshot_encode", startTime);
                 return Arrays.asList("Screenshot", generateAttachmentFileName(actionName),
                         new ByteArrayInputStream(screenshotOutputStream.toByteArray()));
             } catch (IOException e) {
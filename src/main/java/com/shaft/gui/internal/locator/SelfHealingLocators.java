@@ -0,0 +1,253 @@
+package com.shaft.gui.internal.locator;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.shaft.cli.FileActions;
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.internal.support.JavaHelper;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+import org.apache.logging.log4j.Level;
+import org.jsoup.Jsoup;
+import org.jsoup.parser.Parser;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An embedded alternative to the Healenium backend, which heals broken locators without any remote services.
+ * <p>
+ * Each time an element is found, a fingerprint of it (tag, attributes, text, and location) is recorded in memory from
+ * the information that was already fetched to perform the action, so finding elements costs no extra WebDriver calls.
+ * Only when a locator fails to find any element, the elements of the same tag on the current page are fetched in a
+ * single script call and scored against the last fingerprint of that locator. The fingerprints are kept in a JSON
+ * index inside the {@code selfHealingFolderPath}, so that they can be used to heal locators in later executions.
+ */
+public class SelfHealingLocators {
+    private static final String INDEX_FILE_NAME = "locatorFingerprints.json";
+    private static final int MAXIMUM_TEXT_LENGTH = 200;
+    private static final int MAXIMUM_CANDIDATES = 1000;
+    private static final Set<String> IGNORED_ATTRIBUTES = Set.of("style");
+    private static final Map<String, Double> ATTRIBUTE_WEIGHTS = Map.of("id", 3.0, "name", 2.0, "data-testid", 3.0, "data-test", 3.0, "aria-label", 2.0, "placeholder", 1.5, "type", 1.0, "href", 1.5, "class", 1.5);
+    private static final double TEXT_WEIGHT = 2.0;
+    private static final double LOCATION_WEIGHT = 1.0;
+    private static final double SIZE_WEIGHT = 0.5;
+    private static final double MAXIMUM_LOCATION_DISTANCE = 500;
+    private static final String CANDIDATES_SCRIPT = """
+            var elements = document.getElementsByTagName(arguments[0]);
+            var candidates = [];
+            for (var i = 0; i < elements.length && i < arguments[1]; i++) {
+                var element = elements[i];
+                var attributes = {};
+                for (var j = 0; j < element.attributes.length; j++) {
+                    attributes[element.attributes[j].name] = element.attributes[j].value;
+                }
+                var rect = element.getBoundingClientRect();
+                candidates.push({
+                    attributes: attributes,
+                    text: (element.innerText || element.textContent || '').trim().substring(0, arguments[2]),
+                    x: rect.left + window.scrollX, y: rect.top + window.scrollY, width: rect.width, height: rect.height
+                });
+            }
+            return candidates;""";
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static Map<String, Fingerprint> fingerprints;
+    private static volatile boolean isModified = false;
+
+    private SelfHealingLocators() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return SHAFT.Properties.healenium.embeddedHealEnabled() && !SHAFT.Properties.healenium.healEnabled();
+    }
+
+    /**
+     * Records the fingerprint of an element that was found successfully. The element's HTML is parsed in the
+     * background, so that it doesn't delay the action that's being performed.
+     *
+     * @param elementLocator the locator that was used to find the element
+     * @param outerHTML      the outer HTML of the element
+     * @param elementRect    the location and size of the element, if available
+     */
+    public static void record(By elementLocator, String outerHTML, Rectangle elementRect) {
+        if (!isEnabled() || elementLocator == null || outerHTML == null || outerHTML.isBlank()) {
+            return;
+        }
+        Thread.ofVirtual().start(() -> {
+            try {
+                var element = Jsoup.parse(outerHTML, "", Parser.xmlParser()).children().first();
+                if (element == null) {
+                    return;
+                }
+                var attributes = new TreeMap<String, String>();
+                element.attributes().forEach(attribute -> {
+                    if (!IGNORED_ATTRIBUTES.contains(attribute.getKey())) {
+                        attributes.put(attribute.getKey(), attribute.getValue());
+                    }
+                });
+                var text = truncate(element.text().trim());
+                var fingerprint = elementRect == null
+                        ? new Fingerprint(element.normalName(), attributes, text, -1, -1, -1, -1)
+                        : new Fingerprint(element.normalName(), attributes, text, elementRect.getX(), elementRect.getY(), elementRect.getWidth(), elementRect.getHeight());
+                if (!fingerprint.equals(getFingerprints().put(getKey(elementLocator), fingerprint))) {
+                    isModified = true;
+                }
+            } catch (Throwable throwable) {
+                ReportManagerHelper.logDiscrete(throwable, Level.DEBUG);
+            }
+        });
+    }
+
+    /**
+     * Attempts to find the element that a broken locator used to point to, by scoring the elements of the same tag on
+     * the current page against the last recorded fingerprint of that locator.
+     *
+     * @param driver         the current instance of Selenium WebDriver
+     * @param elementLocator the locator that failed to find any element
+     * @return a locator for the best matching element, or null if no element matched closely enough
+     */
+    public static By heal(WebDriver driver, By elementLocator) {
+        if (!isEnabled() || elementLocator == null || !(driver instanceof JavascriptExecutor javascriptExecutor)) {
+            return null;
+        }
+        var fingerprint = getFingerprints().get(getKey(elementLocator));
+        if (fingerprint == null) {
+            return null;
+        }
+        try {
+            var candidates = (List<?>) javascriptExecutor.executeScript(CANDIDATES_SCRIPT, fingerprint.tag(), MAXIMUM_CANDIDATES, MAXIMUM_TEXT_LENGTH);
+            if (candidates == null) {
+                return null;
+            }
+            var bestScore = 0.0;
+            var bestIndex = -1;
+            for (var index = 0; index < candidates.size(); index++) {
+                var score = fingerprint.score(Fingerprint.fromCandidate(fingerprint.tag(), (Map<?, ?>) candidates.get(index)));
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestIndex = index;
+                }
+            }
+            if (bestIndex == -1 || bestScore < getMinimumScore()) {
+                return null;
+            }
+            var healedLocator = By.xpath("(//" + fingerprint.tag() + ")[" + (bestIndex + 1) + "]");
+            ReportManager.log("Healed the broken locator \"" + JavaHelper.formatLocatorToString(elementLocator) + "\" using \"" + JavaHelper.formatLocatorToString(healedLocator)
+                    + "\" with a score of " + String.format(Locale.ROOT, "%.2f", bestScore) + ". Please update this locator.");
+            return healedLocator;
+        } catch (Throwable throwable) {
+            ReportManagerHelper.logDiscrete(throwable, Level.DEBUG);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the recorded fingerprints to the self-healing index, if any of them changed during this execution.
+     */
+    public static void save() {
+        if (isEnabled() && isModified) {
+            isModified = false;
+            FileActions.getInstance(true).writeToFile(SHAFT.Properties.paths.selfHealing(), INDEX_FILE_NAME, gson.toJson(new TreeMap<>(getFingerprints())));
+        }
+    }
+
+    private static synchronized Map<String, Fingerprint> getFingerprints() {
+        if (fingerprints == null) {
+            fingerprints = new ConcurrentHashMap<>();
+            var indexFile = Path.of(SHAFT.Properties.paths.selfHealing(), INDEX_FILE_NAME);
+            if (Files.exists(indexFile)) {
+                try {
+                    Map<String, Fingerprint> savedFingerprints = gson.fromJson(Files.readString(indexFile, StandardCharsets.UTF_8), new TypeToken<Map<String, Fingerprint>>() {
+                    }.getType());
+                    if (savedFingerprints != null) {
+                        fingerprints.putAll(savedFingerprints);
+                    }
+                } catch (IOException | RuntimeException exception) {
+                    ReportManagerHelper.logDiscrete(exception, Level.DEBUG);
+                }
+            }
+        }
+        return fingerprints;
+    }
+
+    private static double getMinimumScore() {
+        try {
+            return Double.parseDouble(SHAFT.Properties.healenium.scoreCap());
+        } catch (NumberFormatException exception) {
+            return 0.5;
+        }
+    }
+
+    private static String getKey(By elementLocator) {
+        return elementLocator.toString();
+    }
+
+    private static String truncate(String text) {
+        return text.length() > MAXIMUM_TEXT_LENGTH ? text.substring(0, MAXIMUM_TEXT_LENGTH) : text;
+    }
+
+    record Fingerprint(String tag, Map<String, String> attributes, String text, int x, int y, int width, int height) {
+        static Fingerprint fromCandidate(String tag, Map<?, ?> candidate) {
+            var attributes = new TreeMap<String, String>();
+            if (candidate.get("attributes") instanceof Map<?, ?> candidateAttributes) {
+                candidateAttributes.forEach((name, value) -> attributes.put(String.valueOf(name), String.valueOf(value)));
+            }
+            return new Fingerprint(tag, attributes, truncate(String.valueOf(candidate.get("text"))),
+                    toInt(candidate.get("x")), toInt(candidate.get("y")), toInt(candidate.get("width")), toInt(candidate.get("height")));
+        }
+
+        private static int toInt(Object value) {
+            return value instanceof Number number ? (int) Math.round(number.doubleValue()) : -1;
+        }
+
+        /**
+         * @return the weighted similarity between this fingerprint and the candidate, from 0 to 1
+         */
+        double score(Fingerprint candidate) {
+            var totalWeight = 0.0;
+            var matchedWeight = 0.0;
+            for (var attribute : attributes.entrySet()) {
+                var weight = ATTRIBUTE_WEIGHTS.getOrDefault(attribute.getKey(), 1.0);
+                totalWeight += weight;
+                var candidateValue = candidate.attributes().get(attribute.getKey());
+                if (candidateValue != null) {
+                    matchedWeight += weight * ("class".equals(attribute.getKey())
+                            ? getTokensSimilarity(attribute.getValue(), candidateValue)
+                            : (attribute.getValue().equals(candidateValue) ? 1 : 0));
+                }
+            }
+            if (!text.isEmpty()) {
+                totalWeight += TEXT_WEIGHT;
+                matchedWeight += TEXT_WEIGHT * (text.equals(candidate.text()) ? 1 : getTokensSimilarity(text, candidate.text()));
+            }
+            if (width >= 0 && candidate.width() >= 0) {
+                totalWeight += LOCATION_WEIGHT + SIZE_WEIGHT;
+                var distance = Math.hypot(x - candidate.x(), y - candidate.y());
+                matchedWeight += LOCATION_WEIGHT * Math.max(0, 1 - distance / MAXIMUM_LOCATION_DISTANCE);
+                var area = (double) width * height;
+                var candidateArea = (double) candidate.width() * candidate.height();
+                matchedWeight += SIZE_WEIGHT * (Math.max(area, candidateArea) == 0 ? 1 : Math.min(area, candidateArea) / Math.max(area, candidateArea));
+            }
+            return totalWeight == 0 ? 0 : matchedWeight / totalWeight;
+        }
+
+        private static double getTokensSimilarity(String first, String second) {
+            var firstTokens = new HashSet<>(Arrays.asList(first.trim().toLowerCase(Locale.ROOT).split("\\s+")));
+            var secondTokens = new HashSet<>(Arrays.asList(second.trim().toLowerCase(Locale.ROOT).split("\\s+")));
+            var union = new HashSet<>(firstTokens);
+            union.addAll(secondTokens);
+            firstTokens.retainAll(secondTokens);
+            return union.isEmpty() ? 0 : (double) firstTokens.size() / union.size();
+        }
+    }
+}
@@ -15,13 +15,16 @@
  */
 package com.shaft.listeners;
 
+import com.shaft.api.RequestBuilder;
 import com.shaft.cli.FileActions;
 import com.shaft.driver.SHAFT;
 import com.shaft.gui.internal.image.AnimatedGifManager;
 import com.shaft.gui.internal.video.RecordManager;
 import com.shaft.listeners.internal.CucumberHelper;
-import com.shaft.listeners.internal.TestNGListenerHelper;
+import com.shaft.tools.internal.profiling.WireCommandProfiler;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.internal.ReportManagerHelper;
+import com.shaft.tools.io.internal.TestLogBuffer;
 import io.cucumber.core.feature.FeatureParser;
 import io.cucumber.core.resource.Resource;
 import io.cucumber.messages.types.Examples;
@@ -216,6 +219,7 @@ public class CucumberFeatureListener extends AllureCucumber7Jvm {
 
     private void handleTestCaseFinished(final TestCaseFinished event) {
         //custom code
+        RequestBuilder.awaitAsyncReports();
         if (Reporter.getCurrentTestResult() == null) {
             // running in native Cucumber mode
             if (SHAFT.Properties.visuals.videoParamsScope().equals("TestMethod")) {
@@ -224,12 +228,12 @@ public class CucumberFeatureListener extends AllureCucumber7Jvm {
             AnimatedGifManager.attachAnimatedGif();
             // configuration method attachment is not added to the report (Allure ->
             // threadContext.getCurrent(); -> empty)
-            ReportManagerHelper.attachTestLog(lastStartedScenarioName,
-                    TestNGListenerHelper.createTestLog(Reporter.getOutput()));
+            ReportManagerHelper.attachTestLog(lastStartedScenarioName, TestLogBuffer.drainCurrent());
         } else {
-            ReportManagerHelper.attachTestLog(lastStartedScenarioName,
-                    TestNGListenerHelper.createTestLog(Reporter.getOutput()));
+            ReportManagerHelper.attachTestLog(lastStartedScenarioName, TestLogBuffer.drainCurrent());
         }
+        EngineTracer.attach(lastStartedScenarioName);
+        WireCommandProfiler.attach(lastStartedScenarioName);
         // resetting scope and config
 //        if (!DriverFactoryHelper.isMobileNativeExecution()) {
 //            ElementActions.switchToDefaultContent();
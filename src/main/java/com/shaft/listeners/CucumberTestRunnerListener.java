@@ -1,12 +1,13 @@
 package com.shaft.listeners;
 
+import com.shaft.api.RequestBuilder;
 import com.shaft.cli.FileActions;
 import com.shaft.driver.SHAFT;
 import com.shaft.gui.internal.image.AnimatedGifManager;
 import com.shaft.gui.internal.video.RecordManager;
-import com.shaft.listeners.internal.TestNGListenerHelper;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.internal.ReportManagerHelper;
+import com.shaft.tools.io.internal.TestLogBuffer;
 import io.cucumber.core.feature.FeatureParser;
 import io.cucumber.core.gherkin.Feature;
 import io.cucumber.core.resource.Resource;
@@ -73,14 +74,14 @@ public class CucumberTestRunnerListener extends AllureCucumber7Jvm {
     }
 
     private void caseFinishedHandler(TestCaseFinished event) {
+        RequestBuilder.awaitAsyncReports();
         if (Reporter.getCurrentTestResult() == null) {
             // running in native Cucumber mode
             if (SHAFT.Properties.visuals.videoParamsScope().equals("TestMethod")) {
                 RecordManager.attachVideoRecording();
             }
             AnimatedGifManager.attachAnimatedGif();
-            ReportManagerHelper.attachTestLog(lastStartedScenarioName,
-                    TestNGListenerHelper.createTestLog(Reporter.getOutput()));
+            ReportManagerHelper.attachTestLog(lastStartedScenarioName, TestLogBuffer.drainCurrent());
         }
     }
 
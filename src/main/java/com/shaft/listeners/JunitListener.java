@@ -1,13 +1,22 @@
 package com.shaft.listeners;
 
+import com.shaft.api.ApiTrafficStore;
+import com.shaft.api.RequestBuilder;
 import com.shaft.driver.SHAFT;
+import com.shaft.driver.internal.DriverFactory.DockerizedBrowserPool;
+import com.shaft.driver.internal.DriverFactory.DriverSessionPool;
+import com.shaft.gui.internal.locator.SelfHealingLocators;
 import com.shaft.listeners.internal.JiraHelper;
 import com.shaft.listeners.internal.JunitListenerHelper;
+import com.shaft.tools.internal.metrics.EngineMetrics;
+import com.shaft.tools.internal.profiling.WireCommandProfiler;
 import com.shaft.tools.internal.security.GoogleTink;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.internal.AllureManager;
 import com.shaft.tools.io.internal.ExecutionSummaryReport;
 import com.shaft.tools.io.internal.ProjectStructureManager;
 import com.shaft.tools.io.internal.ReportManagerHelper;
+import com.shaft.tools.io.internal.TestLogBuffer;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.launcher.*;
 
@@ -53,6 +62,10 @@ public class JunitListener implements LauncherSessionListener {
                 public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
                     afterInvocation();
                     if (testIdentifier.isTest()) {
+                        RequestBuilder.awaitAsyncReports();
+                        EngineTracer.attach(testIdentifier.getDisplayName());
+                        WireCommandProfiler.attach(testIdentifier.getDisplayName());
+                        TestLogBuffer.releaseCurrent();
                         switch (testExecutionResult.getStatus()) {
                             case SUCCESSFUL -> onTestSuccess(testIdentifier);
                             case FAILED, ABORTED -> {
@@ -70,6 +83,13 @@ public class JunitListener implements LauncherSessionListener {
         ReportManagerHelper.setDiscreteLogging(true);
         JiraHelper.reportExecutionStatusToJira();
         GoogleTink.encrypt();
+        DriverSessionPool.shutdown();
+        DockerizedBrowserPool.shutdown();
+        ApiTrafficStore.shutdown();
+        SelfHealingLocators.save();
+        EngineMetrics.export();
+        EngineTracer.export();
+        WireCommandProfiler.export();
         AllureManager.generateAllureReportArchive();
         AllureManager.openAllureReportAfterExecution();
         long executionEndTime = System.currentTimeMillis();
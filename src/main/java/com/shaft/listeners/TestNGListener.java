@@ -1,10 +1,18 @@
 package com.shaft.listeners;
 
+import com.shaft.api.ApiTrafficStore;
 import com.shaft.driver.SHAFT;
+import com.shaft.driver.internal.DriverFactory.DockerizedBrowserPool;
+import com.shaft.driver.internal.DriverFactory.DriverFactoryHelper;
+import com.shaft.driver.internal.DriverFactory.DriverSessionPool;
 import com.shaft.gui.internal.image.ImageProcessingActions;
+import com.shaft.gui.internal.locator.SelfHealingLocators;
 import com.shaft.listeners.internal.*;
 import com.shaft.properties.internal.PropertiesHelper;
+import com.shaft.tools.internal.metrics.EngineMetrics;
+import com.shaft.tools.internal.profiling.WireCommandProfiler;
 import com.shaft.tools.internal.security.GoogleTink;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.internal.*;
 import io.qameta.allure.Allure;
@@ -80,6 +88,7 @@ public class TestNGListener implements IAlterSuiteListener, IAnnotationTransform
         Thread.ofVirtual().start(ImageProcessingActions::loadOpenCV);
         allureEnvironmentSetup = Thread.ofVirtual().start(AllureManager::initializeAllureReportingEnvironment);
         Thread.ofVirtual().start(ReportManagerHelper::cleanExecutionSummaryReportDirectory);
+        Thread.ofVirtual().start(DriverFactoryHelper::prewarmDriverSessionPool);
         ReportManagerHelper.setDiscreteLogging(SHAFT.Properties.reporting.alwaysLogDiscreetly());
         ReportManagerHelper.setDebugMode(SHAFT.Properties.reporting.debugMode());
     }
@@ -186,6 +195,7 @@ public class TestNGListener implements IAlterSuiteListener, IAnnotationTransform
      */
     @Override
     public void afterInvocation(IInvokedMethod iInvokedMethod, ITestResult iTestResult, ITestContext iTestContext) {
+        TestNGListenerHelper.updateTestStatusInCaseOfAsyncRequestFailure(iTestResult);
         IssueReporter.updateTestStatusInCaseOfVerificationFailure(iTestResult);
         IssueReporter.updateIssuesLog(iTestResult);
         TestNGListenerHelper.updateTestMethods(iTestResult);
@@ -203,6 +213,13 @@ public class TestNGListener implements IAlterSuiteListener, IAnnotationTransform
         Thread.ofVirtual().start(() -> ExecutionSummaryReport.generateExecutionSummaryReport(passedTests.size(), failedTests.size(), skippedTests.size(), executionStartTime, System.currentTimeMillis()));
         Thread.ofVirtual().start(JiraHelper::reportExecutionStatusToJira);
         Thread.ofVirtual().start(GoogleTink::encrypt);
+        DriverSessionPool.shutdown();
+        DockerizedBrowserPool.shutdown();
+        ApiTrafficStore.shutdown();
+        SelfHealingLocators.save();
+        EngineMetrics.export();
+        EngineTracer.export();
+        WireCommandProfiler.export();
         ReportManagerHelper.logEngineClosure();
         try {
             allureEnvironmentSetup.join();
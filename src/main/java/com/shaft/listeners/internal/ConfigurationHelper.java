@@ -1,5 +1,6 @@
 package com.shaft.listeners.internal;
 
+import com.shaft.tools.internal.metrics.EngineMetrics;
 import com.shaft.tools.io.internal.CheckpointCounter;
 import com.shaft.tools.io.internal.ReportHelper;
 import io.qameta.allure.Step;
@@ -25,6 +26,7 @@ public class ConfigurationHelper {
         ReportHelper.attachEngineLog();
         ReportHelper.attachCucumberReport();
         CheckpointCounter.attach();
+        EngineMetrics.attach();
         ReportHelper.attachIssuesLog();
     }
 }
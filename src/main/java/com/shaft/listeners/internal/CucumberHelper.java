@@ -1,8 +1,15 @@
 package com.shaft.listeners.internal;
 
+import com.shaft.api.ApiTrafficStore;
 import com.shaft.driver.SHAFT;
+import com.shaft.driver.internal.DriverFactory.DockerizedBrowserPool;
+import com.shaft.driver.internal.DriverFactory.DriverSessionPool;
+import com.shaft.gui.internal.locator.SelfHealingLocators;
 import com.shaft.listeners.TestNGListener;
+import com.shaft.tools.internal.metrics.EngineMetrics;
+import com.shaft.tools.internal.profiling.WireCommandProfiler;
 import com.shaft.tools.internal.security.GoogleTink;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.internal.*;
 import org.testng.Reporter;
 import org.testng.xml.XmlSuite;
@@ -52,11 +59,19 @@ public class CucumberHelper {
             ReportHelper.attachEngineLog();
             ReportHelper.attachCucumberReport();
             CheckpointCounter.attach();
+            EngineMetrics.attach();
             ReportHelper.attachIssuesLog();
 
             ReportManagerHelper.setDiscreteLogging(true);
             JiraHelper.reportExecutionStatusToJira();
             GoogleTink.encrypt();
+            DriverSessionPool.shutdown();
+            DockerizedBrowserPool.shutdown();
+            ApiTrafficStore.shutdown();
+            SelfHealingLocators.save();
+            EngineMetrics.export();
+            EngineTracer.export();
+            WireCommandProfiler.export();
             AllureManager.generateAllureReportArchive();
             AllureManager.openAllureReportAfterExecution();
             ReportManagerHelper.logEngineClosure();
@@ -0,0 +1,71 @@
+package com.shaft.listeners.internal;
+
+import com.shaft.driver.SHAFT;
+import com.shaft.driver.internal.DriverFactory.SynchronizationManager;
+import com.shaft.tools.io.ReportManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Decorates the driver that's used in native mode with SHAFT's {@link WebDriverListener}.
+ * <p>
+ * When {@code respectBuiltInWaitsInNativeMode} is enabled, element lookups are retried until the element is found,
+ * and the result of the successful attempt is returned directly, instead of waiting for the element and then
+ * finding it again.
+ */
+public class NativeModeDecorator extends EventFiringDecorator<WebDriver> {
+
+    public NativeModeDecorator() {
+        super(WebDriver.class, new WebDriverListener());
+    }
+
+    @Override
+    public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+        if (!isElementLookup(target, method, args) || !SHAFT.Properties.flags.respectBuiltInWaitsInNativeMode()) {
+            return super.call(target, method, args);
+        }
+        WebDriverListener.isWaitingForElement.set(true);
+        try {
+            return new SynchronizationManager((WebDriver) target.getOriginal()).fluentWait(false)
+                    .until(f -> {
+                        try {
+                            return super.call(target, method, args);
+                        } catch (RuntimeException | Error exception) {
+                            throw exception;
+                        } catch (InvocationTargetException invocationTargetException) {
+                            // unwrapped, so that the wait ignores the lookup's NoSuchElementException and keeps it as
+                            // the cause of its timeout
+                            if (invocationTargetException.getTargetException() instanceof RuntimeException runtimeException) {
+                                throw runtimeException;
+                            }
+                            throw new RuntimeException(invocationTargetException.getTargetException());
+                        } catch (Throwable throwable) {
+                            throw new RuntimeException(throwable);
+                        }
+                    });
+        } catch (org.openqa.selenium.TimeoutException timeoutException) {
+            // In case the element was not found / not visible and the timeout expired
+            var causeMessage = String.valueOf(timeoutException.getCause() != null ? timeoutException.getCause().getMessage() : "");
+            ReportManager.logDiscrete(timeoutException.getMessage() + " || " + (causeMessage.contains("\n") ? causeMessage.substring(0, causeMessage.indexOf("\n")) : causeMessage));
+            if (timeoutException.getCause() instanceof NoSuchElementException noSuchElementException) {
+                // keeps the findElement contract, which callers rely on to check whether an element is present
+                throw noSuchElementException;
+            }
+            throw timeoutException;
+        } finally {
+            WebDriverListener.isWaitingForElement.remove();
+        }
+    }
+
+    private static boolean isElementLookup(Decorated<?> target, Method method, Object[] args) {
+        return target.getOriginal() instanceof WebDriver
+                && "findElement".equals(method.getName())
+                && args != null && args.length == 1 && args[0] instanceof By;
+    }
+}
@@ -1,11 +1,15 @@
 package com.shaft.listeners.internal;
 
+import com.shaft.api.RequestBuilder;
 import com.shaft.driver.SHAFT;
 import com.shaft.driver.internal.DriverFactory.DriverFactoryHelper;
 import com.shaft.enums.internal.Screenshots;
 import com.shaft.gui.internal.image.AnimatedGifManager;
 import com.shaft.gui.internal.video.RecordManager;
+import com.shaft.tools.internal.profiling.WireCommandProfiler;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.internal.ReportManagerHelper;
+import com.shaft.tools.io.internal.TestLogBuffer;
 import io.qameta.allure.Issue;
 import io.qameta.allure.Issues;
 import io.qameta.allure.TmsLink;
@@ -179,6 +183,19 @@ public class TestNGListenerHelper {
         }
     }
 
+    /**
+     * Waits for the asynchronous API requests of the finished method to be reported, and fails it if any of them failed.
+     *
+     * @param iTestResult the result of the finished test or configuration method
+     */
+    public static void updateTestStatusInCaseOfAsyncRequestFailure(ITestResult iTestResult) {
+        var asyncRequestFailure = RequestBuilder.awaitAsyncReports();
+        if (asyncRequestFailure != null && iTestResult != null && iTestResult.getStatus() == ITestResult.SUCCESS) {
+            iTestResult.setStatus(ITestResult.FAILURE);
+            iTestResult.setThrowable(asyncRequestFailure);
+        }
+    }
+
     public static void attachTestArtifacts(ITestResult iTestResult) {
         ITestNGMethod iTestNGMethod = iTestResult.getMethod();
 
@@ -195,26 +212,14 @@ public class TestNGListenerHelper {
             if (!attachment.isEmpty())
                 attachments.add(attachment);
 
-            String logText = TestNGListenerHelper.createTestLog(Reporter.getOutput(iTestResult));
+            EngineTracer.attach(iTestNGMethod.getMethodName());
+            WireCommandProfiler.attach(iTestNGMethod.getMethodName());
+            String logText = TestLogBuffer.drain(iTestResult);
             ReportManagerHelper.attachTestLog(iTestNGMethod.getMethodName(), logText);
             JiraHelper.reportBugsToJIRA(attachments, logText, iTestResult, iTestNGMethod);
         }
     }
 
-    public static String createTestLog(List<String> output) {
-        StringBuilder builder = new StringBuilder();
-        for (String each : output) {
-            builder.append(each).append(System.lineSeparator());
-        }
-        String testLog = builder.toString();
-        if (testLog.length() >= 2) {
-            // Removing the last ","
-            return testLog.substring(0, builder.length() - 2);
-        } else {
-            return testLog;
-        }
-    }
-
     public static void skipTestsWithLinkedIssues(ITestResult iTestResult) {
         if (SHAFT.Properties.flags.skipTestsWithLinkedIssues()) {
             var method = iTestResult.getMethod().getConstructorOrMethod().getMethod();
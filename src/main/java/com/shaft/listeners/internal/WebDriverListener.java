@@ -2,6 +2,7 @@ package com.shaft.listeners.internal;
 
 import com.shaft.driver.SHAFT;
 import com.shaft.driver.internal.DriverFactory.SynchronizationManager;
+import com.shaft.tools.internal.profiling.WireCommandProfiler;
 import com.shaft.tools.internal.support.JavaHelper;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.internal.ReportManagerHelper;
@@ -18,14 +19,25 @@ import java.util.Arrays;
 
 public class WebDriverListener implements org.openqa.selenium.support.events.WebDriverListener, io.appium.java_client.proxy.MethodCallListener {
 
+    // set while NativeModeDecorator is retrying an element lookup, whose failed attempts are expected
+    static final ThreadLocal<Boolean> isWaitingForElement = ThreadLocal.withInitial(() -> false);
     private static WebDriver currentWebDriver;
     // Global
 
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        WireCommandProfiler.beforeCommand();
+    }
+
     public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        WireCommandProfiler.afterCommand(target, method, args, result, false);
 //        ReportManager.log(JavaHelper.convertToSentenceCase(method.getName() )+ " action performed.");
     }
 
     public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        WireCommandProfiler.afterCommand(target, method, args, null, true);
+        if (isWaitingForElement.get()) {
+            return;
+        }
         ReportManager.log(JavaHelper.convertToSentenceCase(method.getName()) + " action failed.");
 //        ReportManagerHelper.attach(ScreenshotManager.takeScreenshot(currentWebDriver, null, method.getName(), false));
         ReportManagerHelper.logDiscrete(e);
@@ -49,17 +61,8 @@ public class WebDriverListener implements org.openqa.selenium.support.events.Web
     }
 
     public void beforeFindElement(WebDriver driver, By locator) {
+        // waiting for the element is handled by NativeModeDecorator, which returns the element it found
         currentWebDriver = driver;
-        if (SHAFT.Properties.flags.respectBuiltInWaitsInNativeMode()) {
-            try {
-                new SynchronizationManager(driver).fluentWait(false)
-                        .until(f -> driver.findElement(locator));
-            } catch (org.openqa.selenium.TimeoutException timeoutException) {
-                // In case the element was not found / not visible and the timeout expired
-                ReportManager.logDiscrete(timeoutException.getMessage() + " || " + timeoutException.getCause().getMessage().substring(0, timeoutException.getCause().getMessage().indexOf("\n")));
-                throw timeoutException;
-            }
-        }
     }
 
     public void afterClose(WebDriver driver) {
@@ -97,6 +97,82 @@ public interface Flags extends EngineProperties<Flags> {
     @DefaultValue("false")
     boolean validateSwipeToElement();
 
+    @Key("enableDriverSessionPool")
+    @DefaultValue("false")
+    boolean enableDriverSessionPool();
+
+    @Key("driverSessionPoolSize")
+    @DefaultValue("2")
+    int driverSessionPoolSize();
+
+    @Key("driverSessionPoolMaximumUsesPerSession")
+    @DefaultValue("25")
+    int driverSessionPoolMaximumUsesPerSession();
+
+    @Key("enableDriverResolutionCache")
+    @DefaultValue("true")
+    boolean enableDriverResolutionCache();
+
+    @Key("enableAppUploadCache")
+    @DefaultValue("true")
+    boolean enableAppUploadCache();
+
+    @Key("appUploadCacheExpiryInHours")
+    @DefaultValue("24")
+    int appUploadCacheExpiryInHours();
+
+    @Key("enableDockerizedBrowserPool")
+    @DefaultValue("false")
+    boolean enableDockerizedBrowserPool();
+
+    @Key("dockerizedBrowserPoolSize")
+    @DefaultValue("4")
+    int dockerizedBrowserPoolSize();
+
+    @Key("dockerizedBrowserPoolIdleTimeout")
+    @DefaultValue("120")
+    int dockerizedBrowserPoolIdleTimeout();
+
+    @Key("enableRemoteResponseCompression")
+    @DefaultValue("false")
+    boolean enableRemoteResponseCompression();
+
+    @Key("enableApiConnectionPool")
+    @DefaultValue("true")
+    boolean enableApiConnectionPool();
+
+    @Key("apiConnectionPoolMaxConnectionsPerRoute")
+    @DefaultValue("20")
+    int apiConnectionPoolMaxConnectionsPerRoute();
+
+    @Key("jsonComparisonMaximumDifferences")
+    @DefaultValue("10")
+    int jsonComparisonMaximumDifferences();
+
+    @Key("apiMaximumConcurrentRequests")
+    @DefaultValue("20")
+    int apiMaximumConcurrentRequests();
+
+    @Key("apiTrafficMode")
+    @DefaultValue("OFF")
+    String apiTrafficMode();
+
+    @Key("apiTrafficMatchedHeaders")
+    @DefaultValue("")
+    String apiTrafficMatchedHeaders();
+
+    @Key("apiTrafficIgnoredQueryParameters")
+    @DefaultValue("")
+    String apiTrafficIgnoredQueryParameters();
+
+    @Key("apiTrafficMatchRequestBody")
+    @DefaultValue("true")
+    boolean apiTrafficMatchRequestBody();
+
+    @Key("enableGraphQlPersistedQueries")
+    @DefaultValue("false")
+    boolean enableGraphQlPersistedQueries();
+
     default SetProperty set() {
         return new SetProperty();
     }
@@ -202,6 +278,101 @@ public interface Flags extends EngineProperties<Flags> {
             return this;
         }
 
+        public SetProperty enableDriverSessionPool(boolean value) {
+            setProperty("enableDriverSessionPool", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty driverSessionPoolSize(int value) {
+            setProperty("driverSessionPoolSize", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty driverSessionPoolMaximumUsesPerSession(int value) {
+            setProperty("driverSessionPoolMaximumUsesPerSession", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty enableDriverResolutionCache(boolean value) {
+            setProperty("enableDriverResolutionCache", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty enableAppUploadCache(boolean value) {
+            setProperty("enableAppUploadCache", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty appUploadCacheExpiryInHours(int value) {
+            setProperty("appUploadCacheExpiryInHours", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty enableDockerizedBrowserPool(boolean value) {
+            setProperty("enableDockerizedBrowserPool", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty dockerizedBrowserPoolSize(int value) {
+            setProperty("dockerizedBrowserPoolSize", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty dockerizedBrowserPoolIdleTimeout(int value) {
+            setProperty("dockerizedBrowserPoolIdleTimeout", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty enableRemoteResponseCompression(boolean value) {
+            setProperty("enableRemoteResponseCompression", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty enableApiConnectionPool(boolean value) {
+            setProperty("enableApiConnectionPool", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty apiConnectionPoolMaxConnectionsPerRoute(int value) {
+            setProperty("apiConnectionPoolMaxConnectionsPerRoute", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty jsonComparisonMaximumDifferences(int value) {
+            setProperty("jsonComparisonMaximumDifferences", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty apiMaximumConcurrentRequests(int value) {
+            setProperty("apiMaximumConcurrentRequests", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty apiTrafficMode(String value) {
+            setProperty("apiTrafficMode", value);
+            return this;
+        }
+
+        public SetProperty apiTrafficMatchedHeaders(String value) {
+            setProperty("apiTrafficMatchedHeaders", value);
+            return this;
+        }
+
+        public SetProperty apiTrafficIgnoredQueryParameters(String value) {
+            setProperty("apiTrafficIgnoredQueryParameters", value);
+            return this;
+        }
+
+        public SetProperty apiTrafficMatchRequestBody(boolean value) {
+            setProperty("apiTrafficMatchRequestBody", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty enableGraphQlPersistedQueries(boolean value) {
+            setProperty("enableGraphQlPersistedQueries", String.valueOf(value));
+            return this;
+        }
+
     }
 
 }
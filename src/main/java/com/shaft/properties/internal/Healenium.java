@@ -40,6 +40,10 @@ public interface Healenium extends EngineProperties<Healenium> {
     @DefaultValue("8000")
     int imitatePort();
 
+    @Key("embeddedHealEnabled")
+    @DefaultValue("false")
+    boolean embeddedHealEnabled();
+
     default SetProperty set() {
         return new SetProperty();
     }
@@ -75,6 +79,11 @@ public interface Healenium extends EngineProperties<Healenium> {
             return this;
         }
 
+        public SetProperty embeddedHealEnabled(boolean value) {
+            setProperty("embeddedHealEnabled", String.valueOf(value));
+            return this;
+        }
+
     }
 
 }
@@ -64,6 +64,22 @@ public interface Paths extends EngineProperties<Paths> {
     @DefaultValue("src/test/resources/META-INF/services/")
     String services();
 
+    @Key("engineMetricsFolderPath")
+    @DefaultValue("target/engine-metrics/")
+    String engineMetrics();
+
+    @Key("engineTracesFolderPath")
+    @DefaultValue("target/engine-traces/")
+    String engineTraces();
+
+    @Key("selfHealingFolderPath")
+    @DefaultValue("src/test/resources/selfHealing/")
+    String selfHealing();
+
+    @Key("apiTrafficFolderPath")
+    @DefaultValue("src/test/resources/apiTraffic/")
+    String apiTraffic();
+
     default SetProperty set() {
         return new SetProperty();
     }
@@ -119,5 +135,25 @@ public interface Paths extends EngineProperties<Paths> {
             return this;
         }
 
+        public SetProperty engineMetrics(String value) {
+            setProperty("engineMetricsFolderPath", value);
+            return this;
+        }
+
+        public SetProperty engineTraces(String value) {
+            setProperty("engineTracesFolderPath", value);
+            return this;
+        }
+
+        public SetProperty selfHealing(String value) {
+            setProperty("selfHealingFolderPath", value);
+            return this;
+        }
+
+        public SetProperty apiTraffic(String value) {
+            setProperty("apiTrafficFolderPath", value);
+            return this;
+        }
+
     }
 }
@@ -61,6 +61,30 @@ public interface Reporting extends EngineProperties<Reporting> {
     @DefaultValue("true")
     boolean disableLogging();
 
+    @Key("captureEngineMetrics")
+    @DefaultValue("false")
+    boolean captureEngineMetrics();
+
+    @Key("captureEngineTraces")
+    @DefaultValue("false")
+    boolean captureEngineTraces();
+
+    @Key("captureWireCommandProfile")
+    @DefaultValue("false")
+    boolean captureWireCommandProfile();
+
+    @Key("apiTrafficCaptureFirstSuccessfulCalls")
+    @DefaultValue("0")
+    int apiTrafficCaptureFirstSuccessfulCalls();
+
+    @Key("apiTrafficCaptureSamplingPercentage")
+    @DefaultValue("100")
+    int apiTrafficCaptureSamplingPercentage();
+
+    @Key("apiTrafficCaptureMaximumBodyLength")
+    @DefaultValue("1000000")
+    int apiTrafficCaptureMaximumBodyLength();
+
     default SetProperty set() {
         return new SetProperty();
     }
@@ -117,6 +141,36 @@ public interface Reporting extends EngineProperties<Reporting> {
             return this;
         }
 
+        public SetProperty captureEngineMetrics(boolean value) {
+            setProperty("captureEngineMetrics", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty captureEngineTraces(boolean value) {
+            setProperty("captureEngineTraces", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty captureWireCommandProfile(boolean value) {
+            setProperty("captureWireCommandProfile", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty apiTrafficCaptureFirstSuccessfulCalls(int value) {
+            setProperty("apiTrafficCaptureFirstSuccessfulCalls", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty apiTrafficCaptureSamplingPercentage(int value) {
+            setProperty("apiTrafficCaptureSamplingPercentage", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty apiTrafficCaptureMaximumBodyLength(int value) {
+            setProperty("apiTrafficCaptureMaximumBodyLength", String.valueOf(value));
+            return this;
+        }
+
     }
 
 }
@@ -84,6 +84,22 @@ public interface Timeouts extends EngineProperties<Timeouts> {
     @DefaultValue("60")
     int waitUntilTimeout();
 
+    @Key("remoteServerStatusCacheTTL")
+    @DefaultValue("30")
+    int remoteServerStatusCacheTTL();
+
+    @Key("remoteServerConnectionTimeout")
+    @DefaultValue("10")
+    int remoteServerConnectionTimeout();
+
+    @Key("remoteServerReadTimeout")
+    @DefaultValue("180")
+    int remoteServerReadTimeout();
+
+    @Key("apiConnectionPoolIdleTimeout")
+    @DefaultValue("30")
+    int apiConnectionPoolIdleTimeout();
+
     default SetProperty set() {
         return new SetProperty();
     }
@@ -179,6 +195,26 @@ public interface Timeouts extends EngineProperties<Timeouts> {
             return this;
         }
 
+        public SetProperty remoteServerStatusCacheTTL(int value) {
+            setProperty("remoteServerStatusCacheTTL", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty remoteServerConnectionTimeout(int value) {
+            setProperty("remoteServerConnectionTimeout", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty remoteServerReadTimeout(int value) {
+            setProperty("remoteServerReadTimeout", String.valueOf(value));
+            return this;
+        }
+
+        public SetProperty apiConnectionPoolIdleTimeout(int value) {
+            setProperty("apiConnectionPoolIdleTimeout", String.valueOf(value));
+            return this;
+        }
+
     }
 
 }
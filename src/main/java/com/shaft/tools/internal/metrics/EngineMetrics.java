@@ -0,0 +1,223 @@
+package com.shaft.tools.internal.metrics;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.shaft.cli.FileActions;
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process registry of counters, timers, and histograms that are recorded on the engine hot paths.
+ * <p>
+ * Recording is a no-op unless the {@code captureEngineMetrics} reporting property is enabled. The collected metrics
+ * are exported at the end of the execution as a JSON file and a Prometheus text file under the
+ * {@code engineMetricsFolderPath}, and attached to the Allure report.
+ */
+public class EngineMetrics {
+    private static final String METRIC_PREFIX = "shaft_";
+    private static final String JSON_FILE_NAME = "engineMetrics.json";
+    private static final String PROMETHEUS_FILE_NAME = "engineMetrics.prom";
+    private static final double[] PERCENTILES = {50, 90, 95, 99};
+    private static final Map<MetricId, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<MetricId, Histogram> timers = new ConcurrentHashMap<>();
+    private static final Map<MetricId, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private EngineMetrics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return SHAFT.Properties.reporting != null && SHAFT.Properties.reporting.captureEngineMetrics();
+    }
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name   the metric name, without the engine prefix
+     * @param labels optional label key/value pairs
+     */
+    public static void increment(String name, String... labels) {
+        if (isEnabled()) {
+            counters.computeIfAbsent(new MetricId(name, labels), id -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Records the time that elapsed since the provided start time into a timer.
+     *
+     * @param name          the metric name, without the engine prefix
+     * @param startNanoTime the value of {@link System#nanoTime()} when the timed operation started
+     * @param labels        optional label key/value pairs
+     */
+    public static void recordDuration(String name, long startNanoTime, String... labels) {
+        if (isEnabled()) {
+            timers.computeIfAbsent(new MetricId(name, labels), id -> new Histogram()).record(System.nanoTime() - startNanoTime);
+        }
+    }
+
+    /**
+     * Records a value into a histogram, typically a size or a count.
+     *
+     * @param name   the metric name including its unit, without the engine prefix
+     * @param value  the value to be recorded
+     * @param labels optional label key/value pairs
+     */
+    public static void recordValue(String name, long value, String... labels) {
+        if (isEnabled()) {
+            histograms.computeIfAbsent(new MetricId(name, labels), id -> new Histogram()).record(value);
+        }
+    }
+
+    public static void reset() {
+        counters.clear();
+        timers.clear();
+        histograms.clear();
+    }
+
+    /**
+     * Writes the collected metrics as JSON and Prometheus text files to the engine metrics folder.
+     */
+    public static void export() {
+        if (isEnabled() && !isEmpty()) {
+            ReportManager.logDiscrete("Exporting Engine Metrics...");
+            var folderPath = SHAFT.Properties.paths.engineMetrics();
+            var fileActions = FileActions.getInstance(true);
+            fileActions.writeToFile(folderPath, JSON_FILE_NAME, toJson());
+            fileActions.writeToFile(folderPath, PROMETHEUS_FILE_NAME, toPrometheusText());
+        }
+    }
+
+    /**
+     * Attaches a snapshot of the collected metrics to the current Allure report step.
+     */
+    public static void attach() {
+        if (isEnabled() && !isEmpty()) {
+            ReportManagerHelper.attach("JSON", "Engine Metrics", toJson());
+        }
+    }
+
+    public static String toJson() {
+        var root = new JsonObject();
+        var countersJson = new JsonArray();
+        sorted(counters).forEach((id, counter) -> {
+            var metric = id.toJson();
+            metric.addProperty("value", counter.sum());
+            countersJson.add(metric);
+        });
+        root.add("counters", countersJson);
+        var timersJson = new JsonArray();
+        sorted(timers).forEach((id, timer) -> timersJson.add(summarize(id, timer, "milliseconds", TimeUnit.MILLISECONDS.toNanos(1))));
+        root.add("timers", timersJson);
+        var histogramsJson = new JsonArray();
+        sorted(histograms).forEach((id, histogram) -> histogramsJson.add(summarize(id, histogram, "", 1)));
+        root.add("histograms", histogramsJson);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    public static String toPrometheusText() {
+        var builder = new StringBuilder();
+        groupByName(sorted(counters)).forEach((name, series) -> {
+            var metricName = METRIC_PREFIX + name + "_total";
+            builder.append("# TYPE ").append(metricName).append(" counter\n");
+            series.forEach((id, counter) -> builder.append(metricName).append(id.toPrometheusLabels(null)).append(' ').append(counter.sum()).append('\n'));
+        });
+        groupByName(sorted(timers)).forEach((name, series) ->
+                appendPrometheusSummary(builder, METRIC_PREFIX + name + "_seconds", series, TimeUnit.SECONDS.toNanos(1)));
+        groupByName(sorted(histograms)).forEach((name, series) ->
+                appendPrometheusSummary(builder, METRIC_PREFIX + name, series, 1));
+        return builder.toString();
+    }
+
+    private static boolean isEmpty() {
+        return counters.isEmpty() && timers.isEmpty() && histograms.isEmpty();
+    }
+
+    private static JsonObject summarize(MetricId id, Histogram histogram, String unit, double divisor) {
+        var metric = id.toJson();
+        if (!unit.isEmpty()) {
+            metric.addProperty("unit", unit);
+        }
+        metric.addProperty("count", histogram.getCount());
+        metric.addProperty("sum", histogram.getSum() / divisor);
+        metric.addProperty("min", histogram.getMin() / divisor);
+        metric.addProperty("mean", histogram.getMean() / divisor);
+        for (double percentile : PERCENTILES) {
+            metric.addProperty("p" + (int) percentile, histogram.getValueAtPercentile(percentile) / divisor);
+        }
+        metric.addProperty("max", histogram.getMax() / divisor);
+        return metric;
+    }
+
+    private static void appendPrometheusSummary(StringBuilder builder, String metricName, Map<MetricId, Histogram> series, double divisor) {
+        builder.append("# TYPE ").append(metricName).append(" summary\n");
+        series.forEach((id, histogram) -> {
+            for (double percentile : PERCENTILES) {
+                builder.append(metricName).append(id.toPrometheusLabels(String.valueOf(percentile / 100)))
+                        .append(' ').append(histogram.getValueAtPercentile(percentile) / divisor).append('\n');
+            }
+            builder.append(metricName).append("_sum").append(id.toPrometheusLabels(null)).append(' ').append(histogram.getSum() / divisor).append('\n');
+            builder.append(metricName).append("_count").append(id.toPrometheusLabels(null)).append(' ').append(histogram.getCount()).append('\n');
+        });
+    }
+
+    private static <T> SortedMap<MetricId, T> sorted(Map<MetricId, T> metrics) {
+        var sortedMetrics = new TreeMap<MetricId, T>(Comparator.comparing(MetricId::toString));
+        sortedMetrics.putAll(metrics);
+        return sortedMetrics;
+    }
+
+    private static <T> Map<String, Map<MetricId, T>> groupByName(SortedMap<MetricId, T> metrics) {
+        var groupedMetrics = new LinkedHashMap<String, Map<MetricId, T>>();
+        metrics.forEach((id, metric) -> groupedMetrics.computeIfAbsent(id.name(), name -> new LinkedHashMap<>()).put(id, metric));
+        return groupedMetrics;
+    }
+
+    record MetricId(String name, List<String> labels) {
+        MetricId(String name, String... labels) {
+            this(name, Arrays.asList(labels));
+            if (labels.length % 2 != 0) {
+                throw new IllegalArgumentException("Metric labels must be provided as key/value pairs: " + Arrays.toString(labels));
+            }
+        }
+
+        JsonObject toJson() {
+            var metric = new JsonObject();
+            metric.addProperty("name", name);
+            if (!labels.isEmpty()) {
+                var labelsJson = new JsonObject();
+                for (var i = 0; i < labels.size(); i += 2) {
+                    labelsJson.addProperty(labels.get(i), labels.get(i + 1));
+                }
+                metric.add("labels", labelsJson);
+            }
+            return metric;
+        }
+
+        String toPrometheusLabels(String quantile) {
+            var labelPairs = new ArrayList<String>();
+            for (var i = 0; i < labels.size(); i += 2) {
+                labelPairs.add(labels.get(i) + "=\"" + escapeLabelValue(labels.get(i + 1)) + "\"");
+            }
+            if (quantile != null) {
+                labelPairs.add("quantile=\"" + quantile + "\"");
+            }
+            return labelPairs.isEmpty() ? "" : "{" + String.join(",", labelPairs) + "}";
+        }
+
+        private static String escapeLabelValue(String value) {
+            return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+        @Override
+        public String toString() {
+            return name + labels;
+        }
+    }
+}
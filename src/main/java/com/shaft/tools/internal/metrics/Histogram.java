@@ -0,0 +1,112 @@
+package com.shaft.tools.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, fixed-size histogram using HDR-style log-linear buckets.
+ * <p>
+ * With {@code n} sub-bucket bits, values below {@code 2^(n+1)} are recorded exactly and every larger power-of-two
+ * range is split into {@code 2^n} linear sub-buckets, which bounds the relative error of the reported percentiles to
+ * {@code 1/2^n} for any value up to {@link Long#MAX_VALUE} without ever resizing. The default of
+ * {@value #DEFAULT_SUB_BUCKET_BITS} bits keeps them within ~3%, and 7 bits keep them within 1%.
+ */
+public class Histogram {
+    private static final int DEFAULT_SUB_BUCKET_BITS = 5;
+    private final int subBucketBits;
+    private final int subBucketCount;
+    private final int bucketCount;
+    private final AtomicLongArray buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        this(DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @param subBucketBits the number of bits of precision that each recorded value keeps, between 1 and 16
+     */
+    public Histogram(int subBucketBits) {
+        if (subBucketBits < 1 || subBucketBits > 16) {
+            throw new IllegalArgumentException("The number of sub-bucket bits must be between 1 and 16, but was " + subBucketBits + ".");
+        }
+        this.subBucketBits = subBucketBits;
+        this.subBucketCount = 1 << subBucketBits;
+        this.bucketCount = subBucketCount * (Long.SIZE - subBucketBits);
+        this.buckets = new AtomicLongArray(bucketCount);
+    }
+
+    int bucketIndex(long value) {
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - subBucketBits;
+        int subBucket = (int) (value >>> shift) - subBucketCount;
+        return subBucketCount * (shift + 1) + subBucket;
+    }
+
+    long highestEquivalentValue(int bucketIndex) {
+        if (bucketIndex < subBucketCount) {
+            return bucketIndex;
+        }
+        int shift = bucketIndex / subBucketCount - 1;
+        long subBucket = bucketIndex % subBucketCount;
+        // for the last bucket this is Long.MIN_VALUE - 1, which wraps around to Long.MAX_VALUE
+        return ((subBucket + subBucketCount + 1) << shift) - 1;
+    }
+
+    public void record(long value) {
+        var sanitizedValue = Math.max(0, value);
+        buckets.incrementAndGet(bucketIndex(sanitizedValue));
+        count.increment();
+        sum.add(sanitizedValue);
+        min.accumulate(sanitizedValue);
+        max.accumulate(sanitizedValue);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        var total = getCount();
+        return total == 0 ? 0 : (double) getSum() / total;
+    }
+
+    /**
+     * @param percentile the target percentile, between 0 and 100
+     * @return the highest value that is equivalent (within the bucket precision) to the value at the given percentile
+     */
+    public long getValueAtPercentile(double percentile) {
+        var total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        var targetCount = Math.max(1, (long) Math.ceil(Math.min(percentile, 100d) / 100d * total));
+        long runningCount = 0;
+        for (var i = 0; i < bucketCount; i++) {
+            runningCount += buckets.get(i);
+            if (runningCount >= targetCount) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -0,0 +1,381 @@
+package com.shaft.tools.internal.profiling;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.shaft.cli.FileActions;
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Profiles the WebDriver commands that pass through the {@code WebDriverListener} to show which tests and actions
+ * waste round trips to the browser or device.
+ * <p>
+ * Profiling is a no-op unless the {@code captureWireCommandProfile} reporting property is enabled. The method, the
+ * shape of the arguments, the duration, and the approximate payload size of each command are aggregated per test and
+ * per action. Commands that take longer than {@value #SLOW_COMMAND_THRESHOLD_IN_MILLIS} milliseconds are flagged as
+ * slow, and looking up the same locator {@value #REPEATED_LOOKUP_THRESHOLD} times or more within one action is flagged
+ * as a repeated lookup. The profile of each test is attached to its report, and the hot spots of the execution are
+ * written at the end to the {@code engineMetricsFolderPath}.
+ */
+public class WireCommandProfiler {
+    private static final String PROFILE_FILE_NAME = "wireCommandProfile.json";
+    private static final String NATIVE_ACTION = "Native WebDriver";
+    private static final long SLOW_COMMAND_THRESHOLD_IN_MILLIS = 1_000;
+    private static final int REPEATED_LOOKUP_THRESHOLD = 3;
+    private static final int MAX_FINDINGS_PER_TEST = 100;
+    private static final int MAX_HOT_SPOTS = 10;
+    private static final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Deque<ActionScope>> activeActions = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<TestProfile> testProfile = ThreadLocal.withInitial(TestProfile::new);
+    private static final Map<String, CommandStatistics> executionCommands = new ConcurrentHashMap<>();
+    private static final Map<String, CommandStatistics> executionTests = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> executionRepeatedLookups = new ConcurrentHashMap<>();
+    private static final ActionScope NO_OP_ACTION = new ActionScope(null);
+
+    private WireCommandProfiler() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return SHAFT.Properties.reporting != null && SHAFT.Properties.reporting.captureWireCommandProfile();
+    }
+
+    /**
+     * Opens an action scope on this thread, so that the commands sent until it is closed are attributed to it.
+     * Action scopes are meant to be used in a try-with-resources block so that they are always closed.
+     *
+     * @param name the name of the action, for example {@code "CLICK"}
+     * @return the newly opened action scope, or a shared no-op scope if profiling is disabled
+     */
+    public static ActionScope startAction(String name) {
+        if (!isEnabled()) {
+            return NO_OP_ACTION;
+        }
+        var action = new ActionScope(name);
+        activeActions.get().push(action);
+        return action;
+    }
+
+    /**
+     * Wraps a task that sends commands on another thread, so that its commands are attributed to the test and action
+     * of the thread that submitted it, instead of being lost in the other thread's profile.
+     *
+     * @param task the task that is submitted to another thread
+     * @return the wrapped task, or the same task if profiling is disabled
+     */
+    public static Runnable inCurrentScope(Runnable task) {
+        if (!isEnabled()) {
+            return task;
+        }
+        var profile = testProfile.get();
+        var action = activeActions.get().peek();
+        return () -> {
+            var previousProfile = testProfile.get();
+            testProfile.set(profile);
+            if (action != null) {
+                activeActions.get().push(action);
+            }
+            try {
+                task.run();
+            } finally {
+                if (action != null) {
+                    activeActions.get().remove(action);
+                }
+                testProfile.set(previousProfile);
+            }
+        };
+    }
+
+    public static void beforeCommand() {
+        if (isEnabled()) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    /**
+     * Records a command that was sent through the listener.
+     *
+     * @param target the driver, element, or other WebDriver object that received the command
+     * @param method the command's method
+     * @param args   the command's arguments
+     * @param result the command's result, or null if it failed
+     * @param failed true if the command threw an exception
+     */
+    public static void afterCommand(Object target, Method method, Object[] args, Object result, boolean failed) {
+        if (!isEnabled()) {
+            return;
+        }
+        var pendingStartTimes = startTimes.get();
+        if (pendingStartTimes.isEmpty()) {
+            return;
+        }
+        var durationNanos = System.nanoTime() - pendingStartTimes.pop();
+        var command = getTargetName(target) + "." + method.getName() + "(" + getArgumentsShape(args) + ")";
+        var payloadSize = getPayloadSize(args) + getPayloadSize(result);
+        var actions = activeActions.get();
+        var profile = testProfile.get();
+        var action = actions.isEmpty() ? profile.nativeAction : actions.peek();
+        executionCommands.computeIfAbsent(command, key -> new CommandStatistics()).record(durationNanos, payloadSize, failed);
+        // the commands of one action may be sent from several threads at once
+        synchronized (profile) {
+            profile.commands.computeIfAbsent(command, key -> new CommandStatistics()).record(durationNanos, payloadSize, failed);
+            profile.actions.computeIfAbsent(action.name, key -> new CommandStatistics()).record(durationNanos, payloadSize, failed);
+            if (TimeUnit.NANOSECONDS.toMillis(durationNanos) >= SLOW_COMMAND_THRESHOLD_IN_MILLIS) {
+                profile.addFinding("Slow command: " + command + " took " + formatMillis(durationNanos) + " during " + action.name + ".");
+            }
+            // failed lookups are retried by the waits, and native commands span the whole test, so neither is a repeated lookup
+            if (!failed && action != profile.nativeAction && method.getName().startsWith("findElement") && args != null && args.length == 1 && args[0] instanceof By locator) {
+                action.lookups.merge(locator.toString(), 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Attaches the profile of the commands that were recorded on this thread since the last attachment, then clears it.
+     *
+     * @param testName the name of the test that owns the recorded commands
+     */
+    public static void attach(String testName) {
+        var profile = testProfile.get();
+        profile.nativeAction.close();
+        if (isEnabled() && !profile.commands.isEmpty()) {
+            var total = new CommandStatistics();
+            profile.commands.values().forEach(total::add);
+            executionTests.computeIfAbsent(testName, key -> new CommandStatistics()).add(total);
+            ReportManagerHelper.attach("JSON", "Wire Command Profile - " + testName, toJson(testName, total, profile));
+        }
+        testProfile.remove();
+        startTimes.remove();
+    }
+
+    /**
+     * Writes the hot spots of all the commands that were recorded during this execution to the engine metrics folder.
+     */
+    public static void export() {
+        if (isEnabled() && !executionCommands.isEmpty()) {
+            ReportManager.logDiscrete("Exporting Wire Command Profile...");
+            FileActions.getInstance(true).writeToFile(SHAFT.Properties.paths.engineMetrics(), PROFILE_FILE_NAME, toHotSpotsJson());
+        }
+    }
+
+    public static void reset() {
+        startTimes.remove();
+        activeActions.remove();
+        testProfile.remove();
+        executionCommands.clear();
+        executionTests.clear();
+        executionRepeatedLookups.clear();
+    }
+
+    static String getArgumentsShape(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "";
+        }
+        var shapes = new StringJoiner(", ");
+        for (var arg : args) {
+            shapes.add(switch (arg) {
+                case null -> "null";
+                case By locator -> locator.getClass().getSimpleName().replace("By", "By.");
+                case CharSequence[] keys -> "CharSequence[" + keys.length + "]";
+                case Object[] array -> array.getClass().getComponentType().getSimpleName() + "[" + array.length + "]";
+                case Collection<?> collection -> collection.getClass().getSimpleName() + "[" + collection.size() + "]";
+                default -> arg.getClass().getSimpleName();
+            });
+        }
+        return shapes.toString();
+    }
+
+    static long getPayloadSize(Object payload) {
+        return switch (payload) {
+            case null -> 0;
+            case CharSequence text -> text.length();
+            case byte[] bytes -> bytes.length;
+            case Object[] array -> Arrays.stream(array).mapToLong(WireCommandProfiler::getPayloadSize).sum();
+            case Collection<?> collection -> collection.stream().mapToLong(WireCommandProfiler::getPayloadSize).sum();
+            case Map<?, ?> map -> map.entrySet().stream().mapToLong(entry -> getPayloadSize(entry.getKey()) + getPayloadSize(entry.getValue())).sum();
+            // elements are sent and received as references, so only their ids go over the wire
+            case WebElement ignored -> 36;
+            case By locator -> locator.toString().length();
+            default -> String.valueOf(payload).length();
+        };
+    }
+
+    private static String getTargetName(Object target) {
+        return switch (target) {
+            case null -> "null";
+            case WebDriver ignored -> "WebDriver";
+            case WebElement ignored -> "WebElement";
+            default -> {
+                var interfaces = target.getClass().getInterfaces();
+                yield interfaces.length > 0 ? interfaces[0].getSimpleName() : target.getClass().getSimpleName();
+            }
+        };
+    }
+
+    private static String toJson(String testName, CommandStatistics total, TestProfile profile) {
+        var root = new JsonObject();
+        root.addProperty("test", testName);
+        root.add("total", total.toJson());
+        root.add("commands", toJson(profile.commands));
+        root.add("actions", toJson(profile.actions));
+        var findings = new JsonArray();
+        profile.findings.forEach(findings::add);
+        root.add("findings", findings);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    private static String toHotSpotsJson() {
+        var root = new JsonObject();
+        var total = new CommandStatistics();
+        executionCommands.values().forEach(total::add);
+        root.add("total", total.toJson());
+        root.add("slowestCommands", toJson(getTop(executionCommands, Comparator.comparingLong(statistics -> statistics.totalNanos.sum()))));
+        root.add("chattiestTests", toJson(getTop(executionTests, Comparator.comparingLong(statistics -> statistics.count.sum()))));
+        var repeatedLookups = new JsonArray();
+        executionRepeatedLookups.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                .limit(MAX_HOT_SPOTS)
+                .forEach(entry -> {
+                    var lookup = new JsonObject();
+                    lookup.addProperty("lookup", entry.getKey());
+                    lookup.addProperty("occurrences", entry.getValue().sum());
+                    repeatedLookups.add(lookup);
+                });
+        root.add("repeatedLookups", repeatedLookups);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    private static Map<String, CommandStatistics> getTop(Map<String, CommandStatistics> statistics, Comparator<CommandStatistics> comparator) {
+        var top = new LinkedHashMap<String, CommandStatistics>();
+        statistics.entrySet().stream()
+                .sorted(Map.Entry.<String, CommandStatistics>comparingByValue(comparator).reversed())
+                .limit(MAX_HOT_SPOTS)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    private static JsonArray toJson(Map<String, CommandStatistics> statistics) {
+        var json = new JsonArray();
+        statistics.forEach((name, value) -> {
+            var entry = value.toJson();
+            entry.addProperty("name", name);
+            json.add(entry);
+        });
+        return json;
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000d);
+    }
+
+    private static class TestProfile {
+        private final Map<String, CommandStatistics> commands = new TreeMap<>();
+        private final Map<String, CommandStatistics> actions = new TreeMap<>();
+        private final List<String> findings = new ArrayList<>();
+        // commands that are sent outside any action are grouped as one action per test
+        private final ActionScope nativeAction = new ActionScope(NATIVE_ACTION);
+
+        private void addFinding(String finding) {
+            if (findings.size() < MAX_FINDINGS_PER_TEST) {
+                findings.add(finding);
+            }
+        }
+    }
+
+    private static class CommandStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder payloadSize = new LongAdder();
+        private volatile long maxNanos;
+
+        private void record(long durationNanos, long commandPayloadSize, boolean failed) {
+            count.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(durationNanos);
+            payloadSize.add(commandPayloadSize);
+            if (durationNanos > maxNanos) {
+                synchronized (this) {
+                    maxNanos = Math.max(maxNanos, durationNanos);
+                }
+            }
+        }
+
+        private void add(CommandStatistics other) {
+            count.add(other.count.sum());
+            failures.add(other.failures.sum());
+            totalNanos.add(other.totalNanos.sum());
+            payloadSize.add(other.payloadSize.sum());
+            synchronized (this) {
+                maxNanos = Math.max(maxNanos, other.maxNanos);
+            }
+        }
+
+        private JsonObject toJson() {
+            var json = new JsonObject();
+            var commandCount = count.sum();
+            json.addProperty("count", commandCount);
+            json.addProperty("failures", failures.sum());
+            json.addProperty("totalMilliseconds", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+            json.addProperty("averageMilliseconds", commandCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / commandCount));
+            json.addProperty("maxMilliseconds", TimeUnit.NANOSECONDS.toMillis(maxNanos));
+            json.addProperty("payloadSize", payloadSize.sum());
+            return json;
+        }
+    }
+
+    public static final class ActionScope implements AutoCloseable {
+        private final String name;
+        private final Map<String, Integer> lookups = new HashMap<>();
+        private boolean closed = false;
+
+        private ActionScope(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Starts a new attempt of this action, such as a retry of a wait, so that only the lookups of the last attempt
+         * are checked for repetition.
+         */
+        public void startAttempt() {
+            if (this == NO_OP_ACTION) {
+                return;
+            }
+            synchronized (testProfile.get()) {
+                lookups.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this == NO_OP_ACTION || closed) {
+                return;
+            }
+            closed = true;
+            activeActions.get().remove(this);
+            var profile = testProfile.get();
+            synchronized (profile) {
+                lookups.forEach((locator, count) -> {
+                    if (count >= REPEATED_LOOKUP_THRESHOLD) {
+                        profile.addFinding("Repeated lookup: " + locator + " was found " + count + " times during " + name + ".");
+                        executionRepeatedLookups.computeIfAbsent(name + " -> " + locator, key -> new LongAdder()).add(count);
+                    }
+                });
+                lookups.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.shaft.tools.internal.tracing;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.shaft.cli.FileActions;
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.internal.ReportManagerHelper;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records nested trace spans around the engine actions (driver creation, element actions, waits, screenshots,
+ * validations, and attachments) to show where the wall-clock time of a test went.
+ * <p>
+ * Recording is a no-op unless the {@code captureEngineTraces} reporting property is enabled. The spans of each test
+ * are attached to its report as a waterfall, and all the spans of the execution are exported at the end as a
+ * Chrome trace file (viewable in {@code chrome://tracing} or {@code ui.perfetto.dev}) under the
+ * {@code engineTracesFolderPath}.
+ */
+public class EngineTracer {
+    private static final String TRACE_FILE_NAME = "engineTrace.json";
+    private static final int MAX_SPANS_PER_TEST = 5_000;
+    private static final int MAX_SPANS_PER_EXECUTION = 200_000;
+    private static final Span NO_OP_SPAN = new Span(null, null, 0);
+    // anchors the monotonic clock to the wall clock so that spans recorded on different threads share one timeline
+    private static final long EPOCH_MICROS = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private static final long EPOCH_NANO_TIME = System.nanoTime();
+    private static final ThreadLocal<Deque<Span>> activeSpans = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<List<Span>> testSpans = ThreadLocal.withInitial(ArrayList::new);
+    private static final Queue<Span> executionSpans = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger executionSpansCount = new AtomicInteger();
+
+    private EngineTracer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return SHAFT.Properties.reporting != null && SHAFT.Properties.reporting.captureEngineTraces();
+    }
+
+    /**
+     * Opens a new span nested under the span that is currently open on this thread, if any.
+     * Spans are meant to be used in a try-with-resources block so that they are always closed.
+     *
+     * @param category the kind of engine action, for example {@code "Element Action"}
+     * @param name     the name of this specific action, for example {@code "CLICK"}
+     * @return the newly opened span, or a shared no-op span if tracing is disabled
+     */
+    public static Span startSpan(String category, String name) {
+        if (!isEnabled()) {
+            return NO_OP_SPAN;
+        }
+        var stack = activeSpans.get();
+        var span = new Span(category, name, stack.size());
+        stack.push(span);
+        return span;
+    }
+
+    /**
+     * Attaches the spans that were recorded on this thread since the last attachment as a waterfall, then clears them.
+     *
+     * @param testName the name of the test that owns the recorded spans
+     */
+    public static void attach(String testName) {
+        var spans = testSpans.get();
+        if (spans.isEmpty()) {
+            return;
+        }
+        if (isEnabled()) {
+            ReportManagerHelper.attach("HTML", "Engine Trace Waterfall - " + testName, toWaterfall(testName, spans));
+        }
+        testSpans.remove();
+    }
+
+    /**
+     * Writes all the spans that were recorded during this execution to a Chrome trace file.
+     */
+    public static void export() {
+        if (isEnabled() && !executionSpans.isEmpty()) {
+            ReportManager.logDiscrete("Exporting Engine Trace...");
+            FileActions.getInstance(true).writeToFile(SHAFT.Properties.paths.engineTraces(), TRACE_FILE_NAME, toChromeTrace(executionSpans));
+        }
+    }
+
+    public static void reset() {
+        activeSpans.remove();
+        testSpans.remove();
+        executionSpans.clear();
+        executionSpansCount.set(0);
+    }
+
+    public static String toChromeTrace(Collection<Span> spans) {
+        var events = new JsonArray();
+        var processId = ProcessHandle.current().pid();
+        spans.forEach(span -> {
+            var event = new JsonObject();
+            event.addProperty("name", span.name);
+            event.addProperty("cat", span.category);
+            event.addProperty("ph", "X");
+            event.addProperty("ts", toEpochMicros(span.startNanoTime));
+            event.addProperty("dur", TimeUnit.NANOSECONDS.toMicros(span.durationNanos));
+            event.addProperty("pid", processId);
+            event.addProperty("tid", span.threadId);
+            var args = new JsonObject();
+            args.addProperty("thread", span.threadName);
+            args.addProperty("depth", span.depth);
+            if (span.failed) {
+                args.addProperty("failed", true);
+            }
+            event.add("args", args);
+            events.add(event);
+        });
+        var trace = new JsonObject();
+        trace.add("traceEvents", events);
+        trace.addProperty("displayTimeUnit", "ms");
+        return trace.toString();
+    }
+
+    static String toWaterfall(String testName, List<Span> spans) {
+        var orderedSpans = spans.stream().sorted(Comparator.comparingLong((Span span) -> span.startNanoTime).thenComparingInt(span -> span.depth)).toList();
+        var traceStart = orderedSpans.getFirst().startNanoTime;
+        var traceEnd = orderedSpans.stream().mapToLong(span -> span.startNanoTime + span.durationNanos).max().orElse(traceStart);
+        var traceDuration = Math.max(1, traceEnd - traceStart);
+        var builder = new StringBuilder();
+        builder.append("<html><head><style>")
+                .append("body{font-family:monospace;font-size:12px}table{width:100%;border-collapse:collapse}")
+                .append("td{padding:2px 4px;white-space:nowrap}tr:hover{background:#eef}")
+                .append(".bar{height:10px;background:#4a90d9}.failed{background:#d9534f}")
+                .append("</style></head><body>")
+                .append("<h3>").append(escapeHtml(testName)).append(" - ").append(formatMillis(traceDuration)).append("</h3>")
+                .append("<table><tr><th align=left>Span</th><th align=right>Duration</th><th width=60%></th></tr>");
+        orderedSpans.forEach(span -> {
+            var offset = 100d * (span.startNanoTime - traceStart) / traceDuration;
+            var width = Math.max(0.1, 100d * span.durationNanos / traceDuration);
+            builder.append("<tr><td style=\"padding-left:").append(4 + span.depth * 16).append("px\">")
+                    .append(escapeHtml(span.category)).append(": ").append(escapeHtml(span.name)).append("</td>")
+                    .append("<td align=right>").append(formatMillis(span.durationNanos)).append("</td>")
+                    .append("<td><div class=\"bar").append(span.failed ? " failed" : "").append("\" style=\"margin-left:")
+                    .append(String.format(Locale.ROOT, "%.2f", offset)).append("%;width:")
+                    .append(String.format(Locale.ROOT, "%.2f", Math.min(width, 100d - offset))).append("%\"></div></td></tr>");
+        });
+        return builder.append("</table></body></html>").toString();
+    }
+
+    private static void record(Span span) {
+        var stack = activeSpans.get();
+        // spans are normally closed in reverse order, but the unclosed children of a span are discarded along with it so
+        // that they don't become the parents of the next spans
+        if (stack.contains(span)) {
+            while (stack.pop() != span) {
+                // discards an unclosed child
+            }
+        }
+        var spans = testSpans.get();
+        if (spans.size() < MAX_SPANS_PER_TEST) {
+            spans.add(span);
+        }
+        if (executionSpansCount.incrementAndGet() <= MAX_SPANS_PER_EXECUTION) {
+            executionSpans.add(span);
+        }
+    }
+
+    private static long toEpochMicros(long nanoTime) {
+        return EPOCH_MICROS + TimeUnit.NANOSECONDS.toMicros(nanoTime - EPOCH_NANO_TIME);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000d);
+    }
+
+    private static String escapeHtml(String text) {
+        return String.valueOf(text).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    public static final class Span implements AutoCloseable {
+        private final String category;
+        private final String name;
+        private final int depth;
+        private final long startNanoTime;
+        private final long threadId;
+        private final String threadName;
+        private long durationNanos;
+        private boolean failed = false;
+        private boolean closed = false;
+
+        private Span(String category, String name, int depth) {
+            this.category = category;
+            this.name = name;
+            this.depth = depth;
+            var currentThread = Thread.currentThread();
+            this.threadId = currentThread.threadId();
+            this.threadName = currentThread.getName();
+            this.startNanoTime = System.nanoTime();
+        }
+
+        /**
+         * Marks this span as failed, so it is highlighted in the waterfall.
+         */
+        public void fail() {
+            failed = true;
+        }
+
+        @Override
+        public void close() {
+            if (this == NO_OP_SPAN || closed) {
+                return;
+            }
+            closed = true;
+            durationNanos = System.nanoTime() - startNanoTime;
+            record(this);
+        }
+    }
+}
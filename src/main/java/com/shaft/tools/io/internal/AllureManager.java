@@ -8,7 +8,10 @@ import com.shaft.tools.io.ReportManager;
 import org.apache.commons.lang3.SystemUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
@@ -21,6 +24,8 @@ public class AllureManager {
     private static String allureResultsFolderPath = "";
     private static String allureBinaryPath = "";
     private static String allureOutPutDirectory = "";
+    private static String generatedReportFileName = "";
+    private static String generatedReportResultsFingerprint = "";
 
     private static final TerminalActions internalTerminalSession = TerminalActions.getInstance(false,false,true);
     private static final FileActions internalFileSession = FileActions.getInstance(true);
@@ -32,23 +37,63 @@ public class AllureManager {
          */
         System.setProperty("org.uncommons.reportng.escape-output", "false");
         allureResultsFolderPath = SHAFT.Properties.paths.allureResults();
-        cleanAllureResultsDirectory();
+        // the results directory doesn't depend on the allure binaries, so both are prepared concurrently
+        var resultsDirectorySetup = Thread.ofVirtual().start(() -> {
+            cleanAllureResultsDirectory();
+            writeEnvironmentVariablesToAllureResultsDirectory();
+        });
         downloadAndExtractAllureBinaries();
         overrideAllurePluginConfiguration();
         writeGenerateReportShellFilesToProjectDirectory();
-        writeEnvironmentVariablesToAllureResultsDirectory();
+        try {
+            resultsDirectorySetup.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     public static void openAllureReportAfterExecution() {
-        writeAllureReport();
-        copyAndOpenAllure();
+        openAllureReport(writeAndCopyAllureReport());
     }
 
-    private static void copyAndOpenAllure() {
+    /**
+     * Generates the allure report and copies it to the project's allure-report directory, unless a report was already
+     * generated from the same allure results, in which case that report is reused.
+     *
+     * @return the file name of the generated report
+     */
+    private static synchronized String writeAndCopyAllureReport() {
+        var resultsFingerprint = getAllureResultsFingerprint();
+        if (!generatedReportFileName.isEmpty() && resultsFingerprint.equals(generatedReportResultsFingerprint)) {
+            return generatedReportFileName;
+        }
+        writeAllureReport();
         internalFileSession.copyFolder(allureOutPutDirectory, allureReportPath);
         internalFileSession.deleteFile(allureOutPutDirectory);
-        String newFileName = renameAllureReport();
-        openAllureReport(newFileName);
+        generatedReportFileName = renameAllureReport();
+        generatedReportResultsFingerprint = resultsFingerprint;
+        return generatedReportFileName;
+    }
+
+    private static String getAllureResultsFingerprint() {
+        var resultsFolder = Paths.get(allureResultsFolderPath);
+        if (!Files.isDirectory(resultsFolder)) {
+            return "";
+        }
+        long filesCount = 0;
+        long totalSize = 0;
+        long lastModified = 0;
+        try (var results = Files.walk(resultsFolder)) {
+            for (var result : results.filter(Files::isRegularFile).toList()) {
+                filesCount++;
+                totalSize += Files.size(result);
+                lastModified = Math.max(lastModified, Files.getLastModifiedTime(result).toMillis());
+            }
+        } catch (IOException e) {
+            // an unreadable results directory is never considered unchanged
+            return String.valueOf(System.nanoTime());
+        }
+        return filesCount + "_" + totalSize + "_" + lastModified;
     }
 
     private static String renameAllureReport() {
@@ -71,7 +116,7 @@ public class AllureManager {
         if (Boolean.TRUE.equals(SHAFT.Properties.reporting.generateAllureReportArchive())) {
             ReportManager.logDiscrete("Generating Allure Report Archive...");
             ReportHelper.disableLogging();
-            writeAllureReport();
+            writeAndCopyAllureReport();
             createAllureReportArchive();
             ReportHelper.enableLogging();
         }
@@ -184,9 +229,9 @@ public class AllureManager {
         var propertiesFileBuilder = new StringBuilder();
         propertiesFileBuilder.append("<environment>");
         // read properties from any explicit properties files
-        for (var i = 0; i < props.size(); i++) {
-            String propertyKey = ((String) (props.keySet().toArray())[i]).trim();
-            String propertyValue = props.getProperty(propertyKey).trim();
+        for (var key : props.stringPropertyNames()) {
+            String propertyKey = key.trim();
+            String propertyValue = props.getProperty(propertyKey, "").trim();
 
             // excluding empty values, system properties (all system properties have "." in
             // their names), and any git branch issues
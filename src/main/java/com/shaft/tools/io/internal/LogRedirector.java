@@ -4,17 +4,51 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Redirects a byte stream (typically {@code System.out} or {@code System.err}) to a log4j logger.
+ * <p>
+ * Bytes are decoded in bulk as UTF-8 using a reusable decoder, so multi-byte characters that are split across
+ * write calls are preserved. Completed lines are handed over to a shared background thread to be logged, which
+ * keeps the writing thread from blocking on the log appenders.
+ */
 public class LogRedirector extends OutputStream {
+    private static final int BUFFER_SIZE = 8192;
+    private static final long FLUSH_TIMEOUT_IN_SECONDS = 5;
+    private static final String ASYNC_LOGGER_THREAD_NAME = "SHAFT-LogRedirector";
+    private static final ExecutorService asyncLogger = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, ASYNC_LOGGER_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
     private final Logger logger;
     private final Level level;
-    private StringBuilder stringBuilder;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer byteBuffer;
+    private final CharBuffer charBuffer;
+    private final StringBuilder lineBuilder;
+    private final byte[] singleByte = new byte[1];
+    private boolean closed = false;
 
     public LogRedirector(Logger logger, Level level) {
         this.logger = logger;
         this.level = level;
-        stringBuilder = new StringBuilder();
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.byteBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+        this.lineBuilder = new StringBuilder(256);
     }
 
     @Override
@@ -23,23 +57,98 @@ public class LogRedirector extends OutputStream {
     }
 
     @Override
-    public void write(byte[] b, int off, int len) {
+    public synchronized void write(byte[] b, int off, int len) {
         Objects.checkFromIndexSize(off, len, b.length);
-        // len == 0 condition implicitly handled by loop bounds
-        for (int i = 0; i < len; i++) {
-            write(b[off + i]);
+        var position = off;
+        var end = off + len;
+        while (position < end) {
+            // the byte buffer never holds more than an incomplete multi-byte sequence between calls
+            var chunk = Math.min(byteBuffer.remaining(), end - position);
+            byteBuffer.put(b, position, chunk);
+            position += chunk;
+            decode(false);
         }
     }
 
     @Override
-    public void write(int b) {
-        char c = (char) b;
-        if (c == '\r' || c == '\n') {
-            if (!stringBuilder.isEmpty()) {
-                logger.log(level, stringBuilder.toString());
-                stringBuilder = new StringBuilder();
+    public synchronized void write(int b) {
+        singleByte[0] = (byte) b;
+        write(singleByte, 0, 1);
+    }
+
+    /**
+     * Completed lines are already handed over to the background logger, so flushing doesn't wait for them; a log
+     * appender that flushes the redirected stream while holding its own lock would otherwise block the background
+     * logger from writing them. Use {@link #awaitPendingLines()} to wait for them instead.
+     */
+    @Override
+    public void flush() {
+        // nothing is buffered except an incomplete line
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            decode(true);
+            decoder.flush(charBuffer);
+            splitLines();
+            emitLine();
+            decoder.reset();
+        }
+        awaitPendingLines();
+    }
+
+    private void decode(boolean endOfInput) {
+        byteBuffer.flip();
+        CoderResult result;
+        do {
+            result = decoder.decode(byteBuffer, charBuffer, endOfInput);
+            splitLines();
+        } while (result.isOverflow());
+        byteBuffer.compact();
+    }
+
+    private void splitLines() {
+        charBuffer.flip();
+        var chars = charBuffer.array();
+        var start = charBuffer.position();
+        var limit = charBuffer.limit();
+        for (var i = start; i < limit; i++) {
+            var c = chars[i];
+            if (c == '\r' || c == '\n') {
+                lineBuilder.append(chars, start, i - start);
+                emitLine();
+                start = i + 1;
             }
-        } else
-            stringBuilder.append(c);
+        }
+        lineBuilder.append(chars, start, limit - start);
+        charBuffer.clear();
+    }
+
+    private void emitLine() {
+        if (!lineBuilder.isEmpty()) {
+            var line = lineBuilder.toString();
+            lineBuilder.setLength(0);
+            asyncLogger.execute(() -> logger.log(level, line));
+        }
+    }
+
+    /**
+     * Waits for all the lines that were already handed over to the background logger to be written.
+     */
+    public static void awaitPendingLines() {
+        if (ASYNC_LOGGER_THREAD_NAME.equals(Thread.currentThread().getName())) {
+            // an appender flushing the redirected stream must not wait for itself
+            return;
+        }
+        try {
+            asyncLogger.submit(() -> {
+            }).get(FLUSH_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // pending lines will still be logged by the background thread
+        }
     }
 }
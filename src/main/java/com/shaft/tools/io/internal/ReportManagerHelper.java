@@ -6,6 +6,7 @@ import com.shaft.driver.SHAFT;
 import com.shaft.listeners.CucumberFeatureListener;
 import com.shaft.properties.internal.PropertyFileManager;
 import com.shaft.tools.internal.support.JavaHelper;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.ReportManager;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
@@ -182,6 +183,8 @@ public class ReportManagerHelper {
     }
 
     public static void logEngineClosure() {
+        // make sure all redirected console output is logged before the closure banner
+        LogRedirector.awaitPendingLines();
         // https://stackoverflow.com/questions/4842424/list-of-ansi-color-escape-sequences
         String copyrights = "This test run was powered by "
                 + "\033[1mSHAFT v." + SHAFT.Properties.internal.shaftEngineVersion() + "\033[22m\n"
@@ -301,16 +304,19 @@ public class ReportManagerHelper {
             var initialLoggingState = ReportManagerHelper.getDiscreteLogging();
             ReportManagerHelper.setDiscreteLogging(true);
             createLogEntry(engineLogCreated, true);
-            byte[] engineLog = new byte[0];
+            var engineLogFilePath = System.getProperty("appender.file.fileName");
+            // the execution log is streamed to the report instead of being read into memory, as it grows with the suite
+            try (var engineLog = new BufferedInputStream(new FileInputStream(engineLogFilePath))) {
+                Allure.addAttachment(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE + " - " + "Execution log: " + executionEndTimestamp, "text/plain", engineLog, ".txt");
+            } catch (Exception throwable) {
+                logDiscrete(throwable);
+            }
             try {
-                engineLog = FileActions.getInstance(true).readFileAsByteArray(System.getProperty("appender.file.fileName"));
-                FileActions.getInstance(true).deleteFile(System.getProperty("appender.file.fileName"));
+                FileActions.getInstance(true).deleteFile(engineLogFilePath);
             } catch (Exception throwable) {
                 logDiscrete(throwable);
             }
             ReportManagerHelper.setDiscreteLogging(initialLoggingState);
-            createAttachment(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, "Execution log: " + executionEndTimestamp,
-                    new ByteArrayInputStream(engineLog));
         }
     }
 
@@ -418,7 +424,7 @@ public class ReportManagerHelper {
                 logText = "null";
             }
             String log = REPORT_MANAGER_PREFIX + logText.trim() + " @" + timestamp;
-            Reporter.log(log, false);
+            TestLogBuffer.append(log);
             if (logger == null) {
                 initializeLogger();
             }
@@ -433,7 +439,7 @@ public class ReportManagerHelper {
                 logText = "null";
             }
             String log = REPORT_MANAGER_PREFIX + logText.trim() + " @" + timestamp;
-            Reporter.log(log, false);
+            TestLogBuffer.append(log);
             if (addToConsoleLog) {
                 if (logger == null) {
                     initializeLogger();
@@ -480,7 +486,7 @@ public class ReportManagerHelper {
                 System.lineSeparator() +
                 "\033[0m";
 
-        Reporter.log(log, false);
+        TestLogBuffer.append(log);
         if (logger == null) {
             initializeLogger();
         }
@@ -552,20 +558,22 @@ public class ReportManagerHelper {
 
     private static void createAttachment(String attachmentType, String attachmentName, InputStream attachmentContent) {
         if (attachmentContent != null) {
-            var byteArrayOutputStream = new ByteArrayOutputStream();
-            try {
-                attachmentContent.transferTo(byteArrayOutputStream);
-            } catch (IOException e) {
-                var error = "Error while creating Attachment";
-                if (logger == null) {
-                    initializeLogger();
+            try (var ignored = EngineTracer.startSpan("Attachment", attachmentType + " - " + attachmentName)) {
+                var byteArrayOutputStream = new ByteArrayOutputStream();
+                try {
+                    attachmentContent.transferTo(byteArrayOutputStream);
+                } catch (IOException e) {
+                    var error = "Error while creating Attachment";
+                    if (logger == null) {
+                        initializeLogger();
+                    }
+                    logger.info(error, e);
+                    TestLogBuffer.append(error);
                 }
-                logger.info(error, e);
-                Reporter.log(error, false);
+                String attachmentDescription = attachmentType + " - " + attachmentName;
+                AttachmentReporter.attachBasedOnFileType(attachmentType, attachmentName, byteArrayOutputStream, attachmentDescription);
+                logAttachmentAction(attachmentType, attachmentName, byteArrayOutputStream);
             }
-            String attachmentDescription = attachmentType + " - " + attachmentName;
-            AttachmentReporter.attachBasedOnFileType(attachmentType, attachmentName, byteArrayOutputStream, attachmentDescription);
-            logAttachmentAction(attachmentType, attachmentName, byteArrayOutputStream);
         }
     }
 
@@ -0,0 +1,208 @@
+package com.shaft.tools.io.internal;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the log entries of each test in a bounded in-memory ring buffer which spills its oldest entries to a
+ * temporary file, instead of keeping the output of the whole suite in memory.
+ * <p>
+ * Entries are owned by the current TestNG test result, or by the current thread when no test result is available
+ * (native Cucumber and JUnit executions). The log of a test is released as soon as it is read for attachment.
+ */
+public class TestLogBuffer {
+    private static final int MAX_CHARACTERS_IN_MEMORY = 256 * 1024;
+    private static final long MAX_SPILLED_CHARACTERS = 64L * 1024 * 1024;
+    private static final int MAX_RETAINED_TEST_LOGS = 64;
+    private static final Map<ITestResult, TestLog> testResultLogs = new LinkedHashMap<>();
+    private static final ThreadLocal<TestLog> threadLogs = new ThreadLocal<>();
+
+    private TestLogBuffer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void append(String logEntry) {
+        getOrCreateLog(Reporter.getCurrentTestResult()).append(logEntry);
+    }
+
+    /**
+     * Reads and releases the log of the provided test result.
+     *
+     * @param testResult the test result that owns the log
+     * @return the full log of this test result, or an empty string if nothing was logged
+     */
+    public static String drain(ITestResult testResult) {
+        TestLog testLog;
+        synchronized (testResultLogs) {
+            testLog = testResultLogs.remove(testResult);
+        }
+        return drain(testLog);
+    }
+
+    /**
+     * Reads and releases the log of the current test result, or of the current thread if no test result is available.
+     *
+     * @return the full log of the current test, or an empty string if nothing was logged
+     */
+    public static String drainCurrent() {
+        var currentTestResult = Reporter.getCurrentTestResult();
+        if (currentTestResult != null) {
+            return drain(currentTestResult);
+        }
+        var testLog = threadLogs.get();
+        threadLogs.remove();
+        return drain(testLog);
+    }
+
+    /**
+     * Releases the log of the current test result or thread without reading it.
+     */
+    public static void releaseCurrent() {
+        var currentTestResult = Reporter.getCurrentTestResult();
+        if (currentTestResult != null) {
+            synchronized (testResultLogs) {
+                var testLog = testResultLogs.remove(currentTestResult);
+                if (testLog != null) {
+                    testLog.release();
+                }
+            }
+        } else if (threadLogs.get() != null) {
+            threadLogs.get().release();
+            threadLogs.remove();
+        }
+    }
+
+    private static String drain(TestLog testLog) {
+        if (testLog == null) {
+            return "";
+        }
+        try {
+            return testLog.read();
+        } finally {
+            testLog.release();
+        }
+    }
+
+    private static TestLog getOrCreateLog(ITestResult testResult) {
+        if (testResult == null) {
+            var testLog = threadLogs.get();
+            if (testLog == null) {
+                testLog = new TestLog();
+                threadLogs.set(testLog);
+            }
+            return testLog;
+        }
+        synchronized (testResultLogs) {
+            var testLog = testResultLogs.get(testResult);
+            if (testLog == null) {
+                evictFinishedLogs();
+                testLog = new TestLog();
+                testResultLogs.put(testResult, testLog);
+            }
+            return testLog;
+        }
+    }
+
+    /**
+     * Releases the oldest logs of test results that finished without being attached, such as configuration methods,
+     * once too many logs are retained. The logs of running tests are never evicted, however many they are.
+     */
+    private static void evictFinishedLogs() {
+        var iterator = testResultLogs.entrySet().iterator();
+        while (testResultLogs.size() >= MAX_RETAINED_TEST_LOGS && iterator.hasNext()) {
+            var entry = iterator.next();
+            if (entry.getKey().getEndMillis() > 0) {
+                entry.getValue().release();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class TestLog {
+        private final ArrayDeque<String> entries = new ArrayDeque<>();
+        private long charactersInMemory = 0;
+        private Path spillFile;
+        private BufferedWriter spillWriter;
+        private long spilledCharacters = 0;
+        private long spilledEntries = 0;
+        private long droppedEntries = 0;
+
+        synchronized void append(String logEntry) {
+            entries.addLast(logEntry);
+            charactersInMemory += logEntry.length();
+            while (charactersInMemory > MAX_CHARACTERS_IN_MEMORY && entries.size() > 1) {
+                spill(entries.removeFirst());
+            }
+        }
+
+        synchronized String read() {
+            var builder = new StringBuilder();
+            if (droppedEntries > 0) {
+                builder.append("[").append(droppedEntries).append(" earlier log entries were dropped to limit the log size]").append(System.lineSeparator());
+            }
+            if (spillWriter != null) {
+                try {
+                    spillWriter.flush();
+                    builder.append(Files.readString(spillFile, StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            builder.append(String.join(System.lineSeparator(), entries));
+            return builder.toString();
+        }
+
+        synchronized void release() {
+            entries.clear();
+            charactersInMemory = 0;
+            droppedEntries = 0;
+            deleteSpillFile();
+        }
+
+        private void spill(String logEntry) {
+            charactersInMemory -= logEntry.length();
+            try {
+                if (spilledCharacters + logEntry.length() > MAX_SPILLED_CHARACTERS) {
+                    // keeps the disk usage bounded for logs that are never attached, favoring the most recent entries
+                    droppedEntries += spilledEntries;
+                    deleteSpillFile();
+                }
+                if (spillWriter == null) {
+                    spillFile = Files.createTempFile("shaft-test-log-", ".log");
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+                }
+                spillWriter.write(logEntry);
+                spillWriter.write(System.lineSeparator());
+                spilledCharacters += logEntry.length();
+                spilledEntries++;
+            } catch (IOException e) {
+                droppedEntries++;
+            }
+        }
+
+        private void deleteSpillFile() {
+            if (spillWriter != null) {
+                try {
+                    spillWriter.close();
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException e) {
+                    // the temporary file will be cleaned up by the operating system
+                }
+            }
+            spillWriter = null;
+            spillFile = null;
+            spilledCharacters = 0;
+            spilledEntries = 0;
+        }
+    }
+}
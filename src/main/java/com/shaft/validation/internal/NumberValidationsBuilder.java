@@ -11,6 +11,7 @@ public class NumberValidationsBuilder {
     protected Object actualValue;
     protected Object response;
     protected String jsonPath;
+    protected double percentile;
     protected ValidationEnums.NumbersComparativeRelation numbersComparativeRelation;
 
     public NumberValidationsBuilder(ValidationsBuilder validationsBuilder) {
@@ -26,6 +27,7 @@ public class NumberValidationsBuilder {
         this.validationMethod = restValidationsBuilder.validationMethod;
         this.jsonPath = restValidationsBuilder.jsonPath;
         this.response = restValidationsBuilder.response;
+        this.percentile = restValidationsBuilder.percentile;
 
         this.reportMessageBuilder = restValidationsBuilder.reportMessageBuilder;
     }
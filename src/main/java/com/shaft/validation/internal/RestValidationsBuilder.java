@@ -16,6 +16,7 @@ public class RestValidationsBuilder {
     protected String fileAbsolutePath;
     protected RestActions.ComparisonType restComparisonType;
     protected String jsonPath;
+    protected double percentile;
 
     public RestValidationsBuilder(ValidationEnums.ValidationCategory validationCategory, Object response, StringBuilder reportMessageBuilder) {
         this.validationCategory = validationCategory;
@@ -176,6 +177,39 @@ public class RestValidationsBuilder {
         return new NumberValidationsBuilder(this);
     }
 
+    /**
+     * Use this to check a latency percentile of the load test that returned the provided actual response object
+     *
+     * @param percentile the percentile, between 0 and 100, for example 95 for the p95 latency
+     * @return a NumberValidationsBuilder object to continue building your validation
+     */
+    public NumberValidationsBuilder timePercentile(double percentile) {
+        this.validationMethod = "responseTimePercentile";
+        this.percentile = percentile;
+        reportMessageBuilder.append("p").append(percentile % 1 == 0 ? String.valueOf((long) percentile) : String.valueOf(percentile)).append(" Time ");
+        return new NumberValidationsBuilder(this);
+    }
+
+    /**
+     * Use this to check that the p95 latency of the load test that returned the provided actual response object is less than the expected value
+     *
+     * @param milliseconds the expected maximum p95 latency in milliseconds
+     * @return a ValidationsExecutor object to set your custom validation message (if needed) and then perform() your validation
+     */
+    public ValidationsExecutor p95LessThan(long milliseconds) {
+        return timePercentile(95).isLessThan(milliseconds);
+    }
+
+    /**
+     * Use this to check that the p99 latency of the load test that returned the provided actual response object is less than the expected value
+     *
+     * @param milliseconds the expected maximum p99 latency in milliseconds
+     * @return a ValidationsExecutor object to set your custom validation message (if needed) and then perform() your validation
+     */
+    public ValidationsExecutor p99LessThan(long milliseconds) {
+        return timePercentile(99).isLessThan(milliseconds);
+    }
+
     /**
      * Use this to check if the content of the provided actual response object matches the schema for the expected file content
      *
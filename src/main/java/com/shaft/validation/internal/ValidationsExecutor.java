@@ -4,6 +4,7 @@ import com.shaft.api.RestActions;
 import com.shaft.cli.FileActions;
 import com.shaft.cli.TerminalActions;
 import com.shaft.gui.browser.internal.JavaScriptWaitManager;
+import com.shaft.tools.internal.tracing.EngineTracer;
 import com.shaft.tools.io.PdfFileManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.internal.ProgressBarLogger;
@@ -38,6 +39,7 @@ public class ValidationsExecutor {
     private String fileAbsolutePath;
     private RestActions.ComparisonType restComparisonType;
     private String jsonPath;
+    private double percentile;
     private String folderRelativePath;
     private String fileName;
 
@@ -96,6 +98,7 @@ public class ValidationsExecutor {
 
         this.response.set(numberValidationsBuilder.response);
         this.jsonPath = numberValidationsBuilder.jsonPath;
+        this.percentile = numberValidationsBuilder.percentile;
 
         this.reportMessageBuilder = numberValidationsBuilder.reportMessageBuilder;
     }
@@ -149,9 +152,13 @@ public class ValidationsExecutor {
         }
         this.validationCategoryString = validationCategory.equals(ValidationEnums.ValidationCategory.HARD_ASSERT) ? "Assert" : "Verify";
         ReportManager.logDiscrete(this.validationCategoryString + " that " + this.customReportMessage);
-        try (ProgressBarLogger pblogger = new ProgressBarLogger(this.validationCategoryString.equals("Assert") ? "Asserting..." : "Verifying...")) {
+        var span = EngineTracer.startSpan("Validation", this.validationCategoryString + " " + validationMethod);
+        try (span; ProgressBarLogger pblogger = new ProgressBarLogger(this.validationCategoryString.equals("Assert") ? "Asserting..." : "Verifying...")) {
             // perform validation
             performValidation();
+        } catch (AssertionError assertionError) {
+            span.fail();
+            throw assertionError;
         }
         if (Boolean.TRUE.equals(clearCustomReportMessage))
             customReportMessage = "";
@@ -194,6 +201,8 @@ public class ValidationsExecutor {
                     new ValidationsHelper2(validationCategory).validateEquals(expectedValue, RestActions.getResponseBody((Response) response.get()), validationComparisonType, validationType);
             case "responseTime" ->
                     new ValidationsHelper2(validationCategory).validateNumber((Number) expectedValue, RestActions.getResponseTime((Response) response.get()), numbersComparativeRelation, validationType);
+            case "responseTimePercentile" ->
+                    new ValidationsHelper2(validationCategory).validateNumber((Number) expectedValue, RestActions.getResponseTimePercentile((Response) response.get(), percentile), numbersComparativeRelation, validationType);
             case "checkResponseSchema" ->
                     new ValidationsHelper().validateResponseFileSchema(validationCategory, (Response) response.get(), fileAbsolutePath, restComparisonType, "", validationType, customReportMessage);
             case "fileContent" -> {
@@ -18,13 +18,10 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.Browser;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchema;
-
 public class ValidationsHelper {
     //TODO: implement element attribute and element exists validations for sikuli actions
     static final ThreadLocal<ArrayList<String>> optionalCustomLogMessage = new ThreadLocal<>();
@@ -346,21 +343,23 @@ public class ValidationsHelper {
         if (!jsonPathToTargetArray.isBlank()) {
             reportedExpectedValue.append(", with path to Target Array '").append(jsonPathToTargetArray).append("'");
         }
-        var validatableResponse = response.then().body(matchesJsonSchema(new File(referenceJsonFilePath)));
-        var responseAfter = validatableResponse.extract().response();
-        Boolean comparisonResult = response.equals(responseAfter);
-        // prepare attachments
-        List<Object> expectedValueAttachment = Arrays.asList("Validation Test Data", "Expected JSON Value",
-                RestActions.parseBodyToJson(FileActions.getInstance(true).readFile(referenceJsonFilePath)));
-        List<Object> actualValueAttachment = Arrays.asList("Validation Test Data", "Actual JSON Value",
-                RestActions.parseBodyToJson(response));
-        List<List<Object>> attachments = new ArrayList<>();
-        attachments.add(expectedValueAttachment);
-        attachments.add(actualValueAttachment);
+        var validationErrors = RestActions.getSchemaValidationErrors(response, referenceJsonFilePath);
+        Boolean comparisonResult = validationErrors.isEmpty();
 
         if ((comparisonResult && expectedValue) || (!comparisonResult && !expectedValue)) {
-            pass(null, validationCategory, reportedExpectedValue.toString(), String.valueOf(comparisonResult).toUpperCase(), comparisonType, validationType, attachments);
+            pass(null, validationCategory, reportedExpectedValue.toString(), String.valueOf(comparisonResult).toUpperCase(), comparisonType, validationType);
         } else {
+            // prepare attachments
+            List<Object> expectedValueAttachment = Arrays.asList("Validation Test Data", "Expected JSON Value",
+                    RestActions.parseBodyToJson(FileActions.getInstance(true).readFile(referenceJsonFilePath)));
+            List<Object> actualValueAttachment = Arrays.asList("Validation Test Data", "Actual JSON Value",
+                    RestActions.parseBodyToJson(response));
+            List<List<Object>> attachments = new ArrayList<>();
+            attachments.add(expectedValueAttachment);
+            attachments.add(actualValueAttachment);
+            if (!validationErrors.isEmpty()) {
+                attachments.add(Arrays.asList("Validation Test Data", "Schema Validation Errors", String.join(System.lineSeparator(), validationErrors)));
+            }
             fail(null, validationCategory, reportedExpectedValue.toString(), String.valueOf(comparisonResult).toUpperCase(), comparisonType, validationType, null, attachments);
         }
     }
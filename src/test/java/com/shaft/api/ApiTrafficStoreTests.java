@@ -0,0 +1,114 @@
+package com.shaft.api;
+
+import com.google.gson.Gson;
+import com.shaft.driver.SHAFT;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+public class ApiTrafficStoreTests {
+    private static final String FORM = "application/x-www-form-urlencoded; charset=UTF-8";
+    private static final UnaryOperator<String> NO_HEADERS = name -> null;
+
+    @AfterMethod(alwaysRun = true)
+    public void resetMatchingRules() {
+        SHAFT.Properties.flags.set().apiTrafficIgnoredQueryParameters("").apiTrafficMatchedHeaders("").apiTrafficMatchRequestBody(true);
+    }
+
+    private static String keyOf(String url, UnaryOperator<String> headers, String body) {
+        return ApiTrafficStore.keyOf("GET", URI.create(url), headers, body);
+    }
+
+    @Test
+    public void queryParametersAreDecodedAndSorted() {
+        Assert.assertEquals(ApiTrafficStore.normalize(URI.create("http://host/users?b=2&a=1&a=0")), "/users?a=0&a=1&b=2");
+        Assert.assertEquals(ApiTrafficStore.normalize(URI.create("http://host/search?q=a%20b&flag")), "/search?flag&q=a b");
+        Assert.assertEquals(keyOf("http://host/users?b=2&a=1", NO_HEADERS, ""), keyOf("http://other-host:8080/users?a=1&b=2", NO_HEADERS, ""));
+        Assert.assertNotEquals(keyOf("http://host/users?a=1", NO_HEADERS, ""), keyOf("http://host/users?a=2", NO_HEADERS, ""));
+    }
+
+    @Test
+    public void repeatedAndTrailingSlashesAreRemoved() {
+        Assert.assertEquals(ApiTrafficStore.normalize(URI.create("http://host//api///users/")), "/api/users");
+        Assert.assertEquals(ApiTrafficStore.normalize(URI.create("http://host")), "/");
+        Assert.assertEquals(ApiTrafficStore.normalize(URI.create("http://host/")), "/");
+        Assert.assertEquals(keyOf("http://host//api/users/", NO_HEADERS, ""), keyOf("http://host/api/users", NO_HEADERS, ""));
+    }
+
+    @Test
+    public void ignoredQueryParametersAreNotMatched() {
+        SHAFT.Properties.flags.set().apiTrafficIgnoredQueryParameters("timestamp, nonce");
+        Assert.assertEquals(ApiTrafficStore.normalize(URI.create("http://host/users?timestamp=1&id=5&nonce=x")), "/users?id=5");
+        Assert.assertEquals(keyOf("http://host/users?id=5&timestamp=1", NO_HEADERS, ""), keyOf("http://host/users?timestamp=2&id=5", NO_HEADERS, ""));
+        Assert.assertNotEquals(keyOf("http://host/users?id=5", NO_HEADERS, ""), keyOf("http://host/users?id=6", NO_HEADERS, ""));
+    }
+
+    @Test
+    public void onlyMatchedHeadersArePartOfTheKey() {
+        UnaryOperator<String> english = name -> Map.of("Accept-Language", " en ", "X-Request-Id", "1").get(name);
+        UnaryOperator<String> french = name -> Map.of("Accept-Language", "fr", "X-Request-Id", "2").get(name);
+        Assert.assertEquals(keyOf("http://host/greeting", english, ""), keyOf("http://host/greeting", french, ""));
+
+        SHAFT.Properties.flags.set().apiTrafficMatchedHeaders("Accept-Language");
+        Assert.assertNotEquals(keyOf("http://host/greeting", english, ""), keyOf("http://host/greeting", french, ""));
+        Assert.assertEquals(keyOf("http://host/greeting", english, ""), keyOf("http://host/greeting", name -> name.equals("Accept-Language") ? "en" : "3", ""));
+        // a missing header only matches another missing header
+        Assert.assertNotEquals(keyOf("http://host/greeting", english, ""), keyOf("http://host/greeting", NO_HEADERS, ""));
+    }
+
+    @Test
+    public void requestBodyIsMatchedUnlessDisabled() {
+        Assert.assertNotEquals(keyOf("http://host/users", NO_HEADERS, "{\"id\":1}"), keyOf("http://host/users", NO_HEADERS, "{\"id\":2}"));
+        SHAFT.Properties.flags.set().apiTrafficMatchRequestBody(false);
+        Assert.assertEquals(keyOf("http://host/users", NO_HEADERS, "{\"id\":1}"), keyOf("http://host/users", NO_HEADERS, "{\"id\":2}"));
+    }
+
+    @Test
+    public void formBodiesAreCanonicalized() {
+        Assert.assertEquals(ApiTrafficStore.readBody("b=2&a=caf%C3%A9&c=x+y".getBytes(StandardCharsets.US_ASCII), FORM), "a=café&b=2&c=x y");
+        Assert.assertEquals(ApiTrafficStore.readBody("b=2&&a=caf%E9".getBytes(StandardCharsets.US_ASCII), "application/x-www-form-urlencoded; charset=ISO-8859-1"), "a=café&b=2");
+        // other bodies are only decoded using their charset
+        Assert.assertEquals(ApiTrafficStore.readBody("b=2&a=1".getBytes(StandardCharsets.UTF_8), "text/plain"), "b=2&a=1");
+        Assert.assertEquals(ApiTrafficStore.readBody("{\"name\":\"café\"}".getBytes(StandardCharsets.UTF_16), "application/json; charset=UTF-16"), "{\"name\":\"café\"}");
+    }
+
+    @Test
+    public void replayServerMatchesReorderedFormBodies() throws IOException, InterruptedException {
+        var trafficFolder = Files.createTempDirectory("apiTraffic");
+        var previousTrafficFolder = SHAFT.Properties.paths.apiTraffic();
+        SHAFT.Properties.paths.set().apiTraffic(trafficFolder + "/");
+        try {
+            var key = ApiTrafficStore.keyOf("POST", URI.create("http://host/login"), NO_HEADERS,
+                    ApiTrafficStore.readBody("password=secret&user=jane".getBytes(StandardCharsets.UTF_8), FORM));
+            var recording = new ApiTrafficStore.Recording("POST", "http://host/login", 200,
+                    Map.of("Content-Type", List.of("text/plain; charset=UTF-8")), "welcome", null);
+            Files.writeString(trafficFolder.resolve(key + ".json"), new Gson().toJson(recording));
+
+            var client = HttpClient.newHttpClient();
+            var replayedResponse = client.send(HttpRequest.newBuilder(URI.create(ApiTrafficStore.getReplayServerURL() + "//login/"))
+                    .header("Content-Type", FORM)
+                    .POST(HttpRequest.BodyPublishers.ofString("user=jane&password=secret")).build(), HttpResponse.BodyHandlers.ofString());
+            Assert.assertEquals(replayedResponse.statusCode(), 200);
+            Assert.assertEquals(replayedResponse.body(), "welcome");
+
+            var unmatchedResponse = client.send(HttpRequest.newBuilder(URI.create(ApiTrafficStore.getReplayServerURL() + "/login"))
+                    .header("Content-Type", FORM)
+                    .POST(HttpRequest.BodyPublishers.ofString("user=john&password=secret")).build(), HttpResponse.BodyHandlers.ofString());
+            Assert.assertEquals(unmatchedResponse.statusCode(), 404);
+        } finally {
+            ApiTrafficStore.shutdown();
+            SHAFT.Properties.paths.set().apiTraffic(previousTrafficFolder);
+        }
+    }
+}
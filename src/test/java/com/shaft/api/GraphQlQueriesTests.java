@@ -0,0 +1,181 @@
+package com.shaft.api;
+
+import com.shaft.driver.SHAFT;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static io.restassured.RestAssured.given;
+
+public class GraphQlQueriesTests {
+    private static final String FULL_REQUEST_BODY = "{\"query\":\"{user{id}}\",\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"abc\"}}}";
+    private static final String HASH_ONLY_REQUEST_BODY = "{\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"abc\"}}}";
+    private static final String DATA = "{\"data\":{\"user\":{\"id\":1}}}";
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @BeforeMethod
+    public void clearReceivedBodies() {
+        receivedBodies.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    /**
+     * Starts a GraphQL stub that answers each request body with the given response body.
+     *
+     * @return the URL of the stub's GraphQL endpoint
+     */
+    private String startServer(Function<String, String> responder) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            var requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            receivedBodies.add(requestBody);
+            var responseBody = responder.apply(requestBody).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, responseBody.length);
+            exchange.getResponseBody().write(responseBody);
+            exchange.close();
+        });
+        server.start();
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql";
+    }
+
+    /**
+     * Sends the full request body through a reporting filter that's placed before the persisted query filter, the same
+     * way that the engine's own filters are.
+     *
+     * @return the responses that the reporting filter received
+     */
+    private static List<Response> send(String endpoint) {
+        var reportedResponses = new ArrayList<Response>();
+        Filter reportingFilter = (requestSpec, responseSpec, context) -> {
+            var response = context.next(requestSpec, responseSpec);
+            reportedResponses.add(response);
+            return response;
+        };
+        given().filter(reportingFilter).filter(GraphQlQueries.persistedQueryFilter(HASH_ONLY_REQUEST_BODY))
+                .contentType(ContentType.JSON).body(FULL_REQUEST_BODY)
+                .post(endpoint).andReturn();
+        return reportedResponses;
+    }
+
+    @Test
+    public void knownHashIsAnsweredWithoutTheFullQuery() throws IOException {
+        var endpoint = startServer(body -> DATA);
+        var reportedResponses = send(endpoint);
+        Assert.assertEquals(receivedBodies, List.of(HASH_ONLY_REQUEST_BODY));
+        Assert.assertEquals(reportedResponses.size(), 1);
+        Assert.assertEquals(reportedResponses.getFirst().asString(), DATA);
+    }
+
+    @Test
+    public void unknownHashIsSentAgainWithTheFullQuery() throws IOException {
+        var endpoint = startServer(body -> body.contains("\"query\"") ? DATA
+                : "{\"errors\":[{\"message\":\"PersistedQueryNotFound\",\"extensions\":{\"code\":\"PERSISTED_QUERY_NOT_FOUND\"}}]}");
+        var reportedResponses = send(endpoint);
+        Assert.assertEquals(receivedBodies, List.of(HASH_ONLY_REQUEST_BODY, FULL_REQUEST_BODY));
+        // only the final attempt reaches the reporting filter
+        Assert.assertEquals(reportedResponses.size(), 1);
+        Assert.assertNotNull(reportedResponses.getFirst());
+        Assert.assertEquals(reportedResponses.getFirst().asString(), DATA);
+        // the next request tries the hash again
+        send(endpoint);
+        Assert.assertEquals(receivedBodies.get(2), HASH_ONLY_REQUEST_BODY);
+    }
+
+    @Test
+    public void endpointsWithoutPersistedQueriesGetTheFullQueryRightAway() throws IOException {
+        var endpoint = startServer(body -> body.contains("\"query\"") ? DATA
+                : "{\"errors\":[{\"message\":\"PersistedQueryNotSupported\"}]}");
+        var reportedResponses = send(endpoint);
+        Assert.assertEquals(receivedBodies, List.of(HASH_ONLY_REQUEST_BODY, FULL_REQUEST_BODY));
+        Assert.assertEquals(reportedResponses.getFirst().asString(), DATA);
+
+        receivedBodies.clear();
+        reportedResponses = send(endpoint);
+        Assert.assertEquals(receivedBodies, List.of(FULL_REQUEST_BODY));
+        Assert.assertEquals(reportedResponses.getFirst().asString(), DATA);
+    }
+
+    @Test
+    public void persistedQueriesAreSentByGraphQlRequests() throws IOException {
+        var endpoint = startServer(body -> body.contains("\"query\"") ? DATA
+                : "{\"errors\":[{\"message\":\"PersistedQueryNotFound\"}]}");
+        var persistedQueriesEnabled = SHAFT.Properties.flags.enableGraphQlPersistedQueries();
+        SHAFT.Properties.flags.set().enableGraphQlPersistedQueries(true);
+        try {
+            var response = RestActions.sendGraphQlRequest(endpoint.substring(0, endpoint.length() - "graphql".length()), "query {\n  user { id }\n}");
+            Assert.assertEquals(response.asString(), DATA);
+            Assert.assertEquals(receivedBodies.size(), 2);
+            Assert.assertFalse(receivedBodies.get(0).contains("\"query\""));
+            Assert.assertTrue(receivedBodies.get(1).contains("\"query\":\"query{user{id}}\""));
+        } finally {
+            SHAFT.Properties.flags.set().enableGraphQlPersistedQueries(persistedQueriesEnabled);
+        }
+    }
+
+    @Test
+    public void commentsAndInsignificantWhitespaceAreRemoved() {
+        Assert.assertEquals(GraphQlQueries.minify("""
+                # fetches a user
+                query GetUser($id: ID!) {   # the query
+                  user(id: $id) {
+                    id
+                    name
+                  }
+                }
+                """), "query GetUser($id:ID!){user(id:$id){id name}}");
+    }
+
+    @Test
+    public void commasAreRemoved() {
+        Assert.assertEquals(GraphQlQueries.minify("{ user(id: 1, active: true) { id, name, } }"), "{user(id:1 active:true){id name}}");
+    }
+
+    @Test
+    public void namesAreKeptApart() {
+        Assert.assertEquals(GraphQlQueries.minify("query  Q { a\n b\tc ... on User { id } ...Fields }"), "query Q{a b c...on User{id}...Fields}");
+        Assert.assertEquals(GraphQlQueries.minify("{ a(x: 1 y: -2.5) }"), "{a(x:1 y:-2.5)}");
+    }
+
+    @Test
+    public void stringsAreKeptAsTheyAre() {
+        Assert.assertEquals(GraphQlQueries.minify("{ search(text: \"  a, b # c \\\" d \") }"), "{search(text:\"  a, b # c \\\" d \")}");
+    }
+
+    @Test
+    public void blockStringsAreKeptAsTheyAre() {
+        var blockString = "\"\"\"\n  line one, # not a comment\n  \\\"\"\" still inside\n\"\"\"";
+        Assert.assertEquals(GraphQlQueries.minify("mutation { post(body: " + blockString + ") { id } }"), "mutation{post(body:" + blockString + "){id}}");
+    }
+
+    @Test
+    public void compiledQueriesAreHashedOnce() {
+        var compiledQuery = GraphQlQueries.compile("{ user { id } }");
+        Assert.assertEquals(compiledQuery.text(), "{user{id}}");
+        Assert.assertEquals(compiledQuery.sha256Hash().length(), 64);
+        Assert.assertSame(GraphQlQueries.compile("{ user { id } }"), compiledQuery);
+        Assert.assertEquals(GraphQlQueries.compile("{user{id}}").sha256Hash(), compiledQuery.sha256Hash());
+    }
+}
@@ -0,0 +1,43 @@
+package com.shaft.api;
+
+import com.shaft.driver.SHAFT;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+public class LoadTestBuilderTests {
+    private static LoadTestResult performLoadTest(int statusCode, int targetStatusCode) throws IOException {
+        var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(statusCode, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            return new SHAFT.API("http://127.0.0.1:" + server.getAddress().getPort())
+                    .get("/status").setTargetStatusCode(targetStatusCode)
+                    .load().withVirtualUsers(2).forDuration(Duration.ofMillis(500)).perform();
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void successfulResponsesAreNotCountedAsFailuresWithoutATargetStatusCode() throws IOException {
+        var result = performLoadTest(204, 0);
+        Assert.assertTrue(result.getTotalRequests() > 0);
+        Assert.assertEquals(result.getFailedRequests(), 0);
+    }
+
+    @Test
+    public void responsesWithoutTheTargetStatusCodeAreCountedAsFailures() throws IOException {
+        var result = performLoadTest(200, 201);
+        Assert.assertTrue(result.getTotalRequests() > 0);
+        Assert.assertEquals(result.getFailedRequests(), result.getTotalRequests());
+    }
+}
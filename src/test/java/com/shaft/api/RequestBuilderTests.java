@@ -1,9 +1,23 @@
 package com.shaft.api;
 
+import com.shaft.driver.SHAFT;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
 public class RequestBuilderTests {
     @Test
     public void testInitializeVariables() {
@@ -24,5 +38,63 @@ public class RequestBuilderTests {
         Mockito.verify(mockSession, Mockito.times(1)).getSessionConfig();
     }
 
-    // Add more test methods here for other methods in the RequestBuilder class
+    @Test
+    public void deferredReportingFilterReplaysTheReceivedResponse() {
+        var requestSpec = Mockito.mock(FilterableRequestSpecification.class);
+        var responseSpec = Mockito.mock(FilterableResponseSpecification.class);
+        var response = new ResponseBuilder().setStatusCode(200).setBody("{}").build();
+        var sendingContext = Mockito.mock(FilterContext.class);
+        Mockito.when(sendingContext.next(requestSpec, responseSpec)).thenReturn(response);
+        var deferredReportingFilter = new RequestBuilder.DeferredReportingFilter();
+        Assert.assertSame(deferredReportingFilter.filter(requestSpec, responseSpec, sendingContext), response);
+
+        var replayedResponses = new ArrayList<Response>();
+        Filter reportFilter = (replayedRequestSpec, replayedResponseSpec, context) -> {
+            Assert.assertSame(replayedRequestSpec, requestSpec);
+            Assert.assertSame(replayedResponseSpec, responseSpec);
+            Assert.assertFalse(context.hasValue("key"));
+            context.setValue("key", "value");
+            Assert.assertTrue(context.hasValue("key"));
+            Assert.assertTrue(context.hasValue("key", "value"));
+            Assert.assertEquals(context.<String>getValue("key"), "value");
+            var replayedResponse = context.next(replayedRequestSpec, replayedResponseSpec);
+            replayedResponses.add(replayedResponse);
+            return replayedResponse;
+        };
+        deferredReportingFilter.replay(reportFilter);
+
+        Assert.assertEquals(replayedResponses, List.of(response));
+        // the request is sent only once
+        Mockito.verify(sendingContext, Mockito.times(1)).next(requestSpec, responseSpec);
+    }
+
+    @Test
+    public void deferredReportingFilterDoesNotReplayUnsentRequests() {
+        var reportFilter = Mockito.mock(Filter.class);
+        new RequestBuilder.DeferredReportingFilter().replay(reportFilter);
+        Mockito.verifyNoInteractions(reportFilter);
+    }
+
+    @Test
+    public void awaitingAsyncReportsWithoutAsyncRequestsReturnsNoFailure() {
+        Assert.assertNull(RequestBuilder.awaitAsyncReports());
+    }
+
+    @Test
+    public void unjoinedAsyncRequestFailuresAreReturnedWhenAwaited() throws IOException {
+        var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            var api = new SHAFT.API("http://127.0.0.1:" + server.getAddress().getPort());
+            api.get("/status").setTargetStatusCode(200).performAsync();
+            Assert.assertTrue(RequestBuilder.awaitAsyncReports() instanceof AssertionError);
+            Assert.assertNull(RequestBuilder.awaitAsyncReports());
+        } finally {
+            server.stop(0);
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package com.shaft.api;
+
+import io.restassured.builder.ResponseBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+public class StreamingJsonComparatorTests {
+    private static StreamingJsonComparator.JsonSource json(String document) {
+        return () -> new StringReader(document);
+    }
+
+    private static List<String> differences(String expected, String actual, boolean ignoringOrder, int maximumDifferences) throws IOException {
+        var comparator = new StreamingJsonComparator(json(expected), json(actual), ignoringOrder, maximumDifferences);
+        var comparisonResult = comparator.compare();
+        Assert.assertEquals(comparisonResult, comparator.getDifferences().isEmpty(), String.valueOf(comparator.getDifferences()));
+        return comparator.getDifferences();
+    }
+
+    private static List<String> differences(String expected, String actual, boolean ignoringOrder) throws IOException {
+        return differences(expected, actual, ignoringOrder, 50);
+    }
+
+    @Test
+    public void reorderedMembersAreEqual() throws IOException {
+        var expected = "{\"id\":1,\"name\":\"a\",\"tags\":{\"x\":true,\"y\":null}}";
+        var actual = "{\"tags\":{\"y\":null,\"x\":true},\"name\":\"a\",\"id\":1}";
+        Assert.assertEquals(differences(expected, actual, false), List.of());
+        Assert.assertEquals(differences(expected, actual, true), List.of());
+    }
+
+    @Test
+    public void missingAndUnexpectedMembersAreReported() throws IOException {
+        Assert.assertEquals(differences("{\"a\":1,\"b\":{\"c\":2}}", "{\"b\":{\"c\":3},\"d\":4}", false),
+                List.of("$.a is missing", "$.b.c expected 2 but found 3", "$.d is unexpected"));
+    }
+
+    @Test
+    public void reorderedArraysDifferOnlyWhenTheOrderMatters() throws IOException {
+        Assert.assertEquals(differences("[1,2,3]", "[3,1,2]", false),
+                List.of("$[0] expected 1 but found 3", "$[1] expected 2 but found 1", "$[2] expected 3 but found 2"));
+        Assert.assertEquals(differences("[1,2,3]", "[3,1,2]", true), List.of());
+        Assert.assertEquals(differences("[{\"a\":1},{\"b\":2}]", "[{\"b\":2},{\"a\":1}]", true), List.of());
+    }
+
+    @Test
+    public void arraysIgnoringOrderAreComparedAsMultisets() throws IOException {
+        // the same elements with different multiplicities aren't equal
+        Assert.assertEquals(differences("[1,1,2]", "[1,2,2]", true), List.of("$[1] expected 1 but found 2"));
+        Assert.assertEquals(differences("[1,1,2]", "[2,1]", true), List.of("$[1] has no matching element"));
+        Assert.assertEquals(differences("[2,1]", "[1,2,1]", true), List.of("$[2] is an unexpected element in the actual document"));
+    }
+
+    @Test
+    public void editedElementsOfUnorderedArraysArePaired() throws IOException {
+        Assert.assertEquals(differences("[{\"id\":1,\"v\":\"a\"},{\"id\":2,\"v\":\"b\"}]",
+                        "[{\"id\":2,\"v\":\"b\"},{\"id\":1,\"v\":\"c\"}]", true),
+                List.of("$[0].v expected \"a\" but found \"c\""));
+    }
+
+    @Test
+    public void integersAndDecimalsAreEqualOnlyWhenIgnoringOrder() throws IOException {
+        Assert.assertEquals(differences("{\"n\":1}", "{\"n\":1.0}", false), List.of("$.n expected 1 but found 1.0"));
+        Assert.assertEquals(differences("{\"n\":1}", "{\"n\":1.0}", true), List.of());
+        Assert.assertEquals(differences("{\"n\":1.5}", "{\"n\":1.50}", false), List.of());
+        Assert.assertEquals(differences("{\"n\":10}", "{\"n\":1e1}", true), List.of());
+    }
+
+    @Test
+    public void typeMismatchesAreReported() throws IOException {
+        Assert.assertEquals(differences("{\"n\":1,\"s\":\"1\",\"b\":true,\"o\":{},\"a\":[]}",
+                        "{\"n\":\"1\",\"s\":1,\"b\":\"true\",\"o\":[],\"a\":null}", false),
+                List.of("$.n expected 1 but found \"1\"",
+                        "$.s expected \"1\" but found 1",
+                        "$.b expected true but found \"true\"",
+                        "$.o expected an object with 0 members but found an array of 0 elements",
+                        "$.a expected an array of 0 elements but found null"));
+        Assert.assertEquals(differences("{}", "[]", false), List.of("$ expected an object with 0 members but found an array of 0 elements"));
+    }
+
+    @Test
+    public void differencesAreCappedAtTheMaximum() throws IOException {
+        var expected = "{\"a\":1,\"b\":2,\"c\":3,\"d\":4,\"e\":5}";
+        var actual = "{\"a\":0,\"b\":0,\"c\":0,\"d\":0,\"e\":0}";
+        Assert.assertEquals(differences(expected, actual, false, 2), List.of("$.a expected 1 but found 0", "$.b expected 2 but found 0"));
+        Assert.assertEquals(differences(expected, actual, false, 5).size(), 5);
+        // at least one difference is always reported
+        Assert.assertEquals(differences(expected, actual, false, 0).size(), 1);
+    }
+
+    @Test
+    public void prettyJsonIsIndented() throws IOException {
+        Assert.assertEquals(StreamingJsonComparator.toPrettyJson(json("{\"a\":[1,{\"b\":null}]}"), 1000),
+                "{\n  \"a\": [\n    1,\n    {\n      \"b\": null\n    }\n  ]\n}");
+    }
+
+    @Test
+    public void prettyJsonIsTruncatedAtTheMaximumLength() throws IOException {
+        var prettyJson = StreamingJsonComparator.toPrettyJson(json("{\"a\":[1,{\"b\":null}]}"), 10);
+        Assert.assertEquals(prettyJson, "{\n  \"a\": [\n... truncated after 10 characters.");
+    }
+
+    @Test
+    public void responseIsDecodedWithItsDeclaredCharset() throws IOException {
+        var referenceJson = Files.createTempFile("reference", ".json");
+        try {
+            Files.writeString(referenceJson, "{\"name\":\"Café\"}", StandardCharsets.UTF_8);
+            var response = new ResponseBuilder().setStatusCode(200)
+                    .setContentType("application/json; charset=ISO-8859-1")
+                    .setBody("{\"name\":\"Café\"}".getBytes(StandardCharsets.ISO_8859_1))
+                    .build();
+            Assert.assertTrue(RestActions.compareJSON(response, referenceJson.toString(), RestActions.ComparisonType.EQUALS));
+        } finally {
+            Files.deleteIfExists(referenceJson);
+        }
+    }
+}
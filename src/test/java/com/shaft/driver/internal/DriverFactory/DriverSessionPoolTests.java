@@ -0,0 +1,174 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.driver.DriverFactory.DriverType;
+import com.shaft.driver.SHAFT;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DriverSessionPoolTests {
+    private static final AtomicInteger poolsCount = new AtomicInteger();
+    private final List<WebDriver> createdSessions = new CopyOnWriteArrayList<>();
+    private Function<DriverType, WebDriver> sessionFactory;
+    private String executionAddress;
+    private boolean enableDriverSessionPool;
+    private int driverSessionPoolSize;
+    private int driverSessionPoolMaximumUsesPerSession;
+
+    @BeforeMethod
+    public void isolatePool() {
+        sessionFactory = DriverSessionPool.sessionFactory;
+        executionAddress = SHAFT.Properties.platform.executionAddress();
+        enableDriverSessionPool = SHAFT.Properties.flags.enableDriverSessionPool();
+        driverSessionPoolSize = SHAFT.Properties.flags.driverSessionPoolSize();
+        driverSessionPoolMaximumUsesPerSession = SHAFT.Properties.flags.driverSessionPoolMaximumUsesPerSession();
+        // the execution address is part of the pool's key, so each test gets pools of its own
+        SHAFT.Properties.platform.set().executionAddress("local-pool-" + poolsCount.incrementAndGet());
+        SHAFT.Properties.flags.set().driverSessionPoolSize(1).driverSessionPoolMaximumUsesPerSession(25);
+        createdSessions.clear();
+        DriverSessionPool.sessionFactory = driverType -> {
+            var session = mockSession();
+            createdSessions.add(session);
+            return session;
+        };
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restorePool() {
+        DriverSessionPool.sessionFactory = sessionFactory;
+        SHAFT.Properties.platform.set().executionAddress(executionAddress);
+        SHAFT.Properties.flags.set().enableDriverSessionPool(enableDriverSessionPool)
+                .driverSessionPoolSize(driverSessionPoolSize)
+                .driverSessionPoolMaximumUsesPerSession(driverSessionPoolMaximumUsesPerSession);
+    }
+
+    /**
+     * @return a Chromium session with two windows, whose navigation history holds the given URLs
+     */
+    private static WebDriver mockSession(String... visitedUrls) {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(HasCdp.class));
+        when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of("first", "second")));
+        when(driver.switchTo()).thenReturn(mock(WebDriver.TargetLocator.class));
+        var entries = Arrays.stream(visitedUrls).map(url -> Map.of("url", url)).toList();
+        when(((HasCdp) driver).executeCdpCommand(eq("Page.getNavigationHistory"), anyMap())).thenReturn(Map.of("currentIndex", 0, "entries", entries));
+        return driver;
+    }
+
+    private static WebDriver awaitLease(DriverType driverType) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            var driver = DriverSessionPool.lease(driverType);
+            if (driver != null) {
+                return driver;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No session was leased.");
+    }
+
+    @Test
+    public void onlyChromiumSessionsWithDefaultOptionsArePooled() {
+        SHAFT.Properties.flags.set().enableDriverSessionPool(true);
+        Assert.assertTrue(DriverSessionPool.isEligible(DriverType.CHROME, null));
+        Assert.assertTrue(DriverSessionPool.isEligible(DriverType.EDGE, new MutableCapabilities()));
+        // their state can't be fully reset, so they aren't reused
+        Assert.assertFalse(DriverSessionPool.isEligible(DriverType.FIREFOX, null));
+        Assert.assertFalse(DriverSessionPool.isEligible(DriverType.SAFARI, null));
+        var customOptions = new MutableCapabilities();
+        customOptions.setCapability("acceptInsecureCerts", true);
+        Assert.assertFalse(DriverSessionPool.isEligible(DriverType.CHROME, customOptions));
+        SHAFT.Properties.flags.set().enableDriverSessionPool(false);
+        Assert.assertFalse(DriverSessionPool.isEligible(DriverType.CHROME, null));
+    }
+
+    @Test
+    public void emptyPoolIsReplenishedInTheBackground() throws InterruptedException {
+        Assert.assertNull(DriverSessionPool.lease(DriverType.CHROME));
+        var driver = awaitLease(DriverType.CHROME);
+        Assert.assertTrue(createdSessions.contains(driver));
+    }
+
+    @Test
+    public void releasedSessionIsResetAndLeasedAgain() {
+        var driver = mockSession("https://sso.example.com/login?next=%2F", "http://localhost:8080/app", "about:blank", "data:text/html,x");
+        var cdpDriver = (HasCdp) driver;
+        DriverSessionPool.register(DriverType.CHROME, driver);
+
+        Assert.assertTrue(DriverSessionPool.release(driver));
+
+        var inOrder = inOrder(driver, cdpDriver);
+        inOrder.verify(driver).close();
+        inOrder.verify(driver).get("about:blank");
+        inOrder.verify(cdpDriver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        verify(cdpDriver).executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", "https://sso.example.com", "storageTypes", "all"));
+        verify(cdpDriver).executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", "http://localhost:8080", "storageTypes", "all"));
+        verify(cdpDriver, times(2)).executeCdpCommand(eq("Storage.clearDataForOrigin"), anyMap());
+        verify(driver, never()).quit();
+        Assert.assertSame(DriverSessionPool.lease(DriverType.CHROME), driver);
+    }
+
+    @Test
+    public void unregisteredSessionIsLeftToTheCaller() {
+        WebDriver driver = mock();
+        Assert.assertFalse(DriverSessionPool.release(driver));
+        verifyNoInteractions(driver);
+    }
+
+    @Test
+    public void sessionIsRecycledAfterItsMaximumUses() throws InterruptedException {
+        SHAFT.Properties.flags.set().driverSessionPoolMaximumUsesPerSession(2);
+        var driver = mockSession();
+        DriverSessionPool.register(DriverType.CHROME, driver);
+        Assert.assertTrue(DriverSessionPool.release(driver));
+        Assert.assertSame(DriverSessionPool.lease(DriverType.CHROME), driver);
+
+        Assert.assertTrue(DriverSessionPool.release(driver));
+        verify(driver).quit();
+        var replacement = awaitLease(DriverType.CHROME);
+        Assert.assertNotSame(replacement, driver);
+        Assert.assertTrue(createdSessions.contains(replacement));
+    }
+
+    @Test
+    public void unhealthySessionIsQuitInsteadOfLeased() {
+        var driver = mockSession();
+        DriverSessionPool.register(DriverType.CHROME, driver);
+        Assert.assertTrue(DriverSessionPool.release(driver));
+        when(driver.getWindowHandles()).thenThrow(new org.openqa.selenium.NoSuchSessionException("crashed"));
+
+        Assert.assertNull(DriverSessionPool.lease(DriverType.CHROME));
+        verify(driver).quit();
+    }
+
+    @Test
+    public void sessionThatFailsToResetIsQuit() {
+        var driver = mockSession();
+        when(((HasCdp) driver).executeCdpCommand(eq("Network.clearBrowserCookies"), anyMap())).thenThrow(new org.openqa.selenium.WebDriverException("disconnected"));
+        DriverSessionPool.register(DriverType.CHROME, driver);
+
+        Assert.assertTrue(DriverSessionPool.release(driver));
+        verify(driver).quit();
+        Assert.assertNotSame(DriverSessionPool.lease(DriverType.CHROME), driver);
+    }
+
+    @Test
+    public void sessionWithoutDevToolsProtocolIsQuit() {
+        WebDriver driver = mock();
+        DriverSessionPool.register(DriverType.CHROME, driver);
+
+        Assert.assertTrue(DriverSessionPool.release(driver));
+        verify(driver).quit();
+    }
+}
@@ -0,0 +1,164 @@
+package com.shaft.driver.internal.DriverFactory;
+
+import com.shaft.driver.DriverFactory.DriverType;
+import com.shaft.driver.SHAFT;
+import com.shaft.driver.internal.DriverFactory.SessionCreationRetryScheduler.FailureCause;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.mockito.Mockito.mockConstruction;
+
+public class SessionCreationRetrySchedulerTests {
+    private final AtomicLong now = new AtomicLong();
+    private final List<Long> backoffs = new CopyOnWriteArrayList<>();
+    private LongSupplier clock;
+    private SessionCreationRetryScheduler.Sleeper sleeper;
+
+    @BeforeMethod
+    public void stopTheClock() {
+        clock = SessionCreationRetryScheduler.clock;
+        sleeper = SessionCreationRetryScheduler.sleeper;
+        now.set(0);
+        backoffs.clear();
+        SessionCreationRetryScheduler.clock = now::get;
+        // sleeping only moves the clock forward
+        SessionCreationRetryScheduler.sleeper = milliseconds -> {
+            backoffs.add(milliseconds);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(milliseconds));
+        };
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreTheClock() {
+        SessionCreationRetryScheduler.clock = clock;
+        SessionCreationRetryScheduler.sleeper = sleeper;
+    }
+
+    @Test
+    public void failuresAreClassifiedByTheirCause() {
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new SessionNotCreatedException("cannot create default profile directory")), FailureCause.NON_RETRYABLE);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new IllegalArgumentException("browserName is missing in the capabilities")), FailureCause.NON_RETRYABLE);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new SessionNotCreatedException("unknown error: DevToolsActivePort file doesn't exist")), FailureCause.DEVTOOLS_PORT_MISSING);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new SessionNotCreatedException("Failed to initialize BiDi Mapper: Error")), FailureCause.BIDI_MAPPER_FAILURE);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new SessionNotCreatedException("The Safari instance is already paired with another WebDriver session.")), FailureCause.SAFARI_ALREADY_PAIRED);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new RuntimeException("java.util.concurrent.TimeoutException")), FailureCause.STALE_BIDI_SESSION);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new RuntimeException("failed", new IllegalStateException(new TimeoutException()))), FailureCause.STALE_BIDI_SESSION);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new SessionNotCreatedException("session not created")), FailureCause.SESSION_NOT_CREATED);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new IllegalStateException("connection refused")), FailureCause.UNKNOWN);
+        Assert.assertEquals(SessionCreationRetryScheduler.classify(new NullPointerException()), FailureCause.UNKNOWN);
+    }
+
+    @Test
+    public void backoffDoublesUpToItsCapWithEqualJitter() {
+        for (int attempt = 1; attempt <= 20; attempt++) {
+            var exponentialBackoff = Math.min(SessionCreationRetryScheduler.MAXIMUM_BACKOFF, SessionCreationRetryScheduler.INITIAL_BACKOFF << (attempt - 1));
+            var lowestBackoff = Long.MAX_VALUE;
+            var highestBackoff = Long.MIN_VALUE;
+            for (int sample = 0; sample < 500; sample++) {
+                var backoff = SessionCreationRetryScheduler.getBackoff(attempt);
+                Assert.assertTrue(backoff >= exponentialBackoff / 2 && backoff <= exponentialBackoff,
+                        "Attempt " + attempt + " backed off for " + backoff + "ms.");
+                lowestBackoff = Math.min(lowestBackoff, backoff);
+                highestBackoff = Math.max(highestBackoff, backoff);
+            }
+            // parallel retries are spread out
+            Assert.assertTrue(highestBackoff - lowestBackoff > exponentialBackoff / 4, "Attempt " + attempt + " wasn't jittered.");
+        }
+        Assert.assertEquals(SessionCreationRetryScheduler.MAXIMUM_BACKOFF, 8000);
+    }
+
+    @Test
+    public void localSessionIsRetriedTheConfiguredNumberOfTimes() {
+        var retryScheduler = SessionCreationRetryScheduler.forLocalSession(3);
+        for (int retry = 0; retry < 3; retry++) {
+            Assert.assertTrue(retryScheduler.awaitNextAttempt(FailureCause.SESSION_NOT_CREATED));
+        }
+        Assert.assertFalse(retryScheduler.awaitNextAttempt(FailureCause.UNKNOWN));
+        Assert.assertEquals(backoffs.size(), 3);
+    }
+
+    @Test
+    public void nonRetryableFailureIsNotRetried() {
+        var retryScheduler = SessionCreationRetryScheduler.forLocalSession(3);
+        Assert.assertFalse(retryScheduler.awaitNextAttempt(FailureCause.NON_RETRYABLE));
+        Assert.assertTrue(backoffs.isEmpty());
+    }
+
+    @Test
+    public void limitedSchedulerAllowsOneMoreAttempt() {
+        var retryScheduler = SessionCreationRetryScheduler.forLocalSession(6);
+        retryScheduler.limitToOneMoreAttempt();
+        Assert.assertTrue(retryScheduler.awaitNextAttempt(FailureCause.SAFARI_ALREADY_PAIRED));
+        Assert.assertFalse(retryScheduler.awaitNextAttempt(FailureCause.SAFARI_ALREADY_PAIRED));
+    }
+
+    @Test
+    public void staleBiDiSessionIsRetriedWithinItsTimeoutWithoutConsumingRetries() {
+        var retryScheduler = SessionCreationRetryScheduler.forLocalSession(1);
+        var staleBiDiSessionRetries = 0;
+        while (now.get() < SessionCreationRetryScheduler.STALE_BIDI_SESSION_TIMEOUT) {
+            Assert.assertTrue(retryScheduler.awaitNextAttempt(FailureCause.STALE_BIDI_SESSION));
+            staleBiDiSessionRetries++;
+        }
+        Assert.assertTrue(staleBiDiSessionRetries > 1);
+        // once the stale session's timeout has passed, the retry budget applies again
+        Assert.assertTrue(retryScheduler.awaitNextAttempt(FailureCause.STALE_BIDI_SESSION));
+        Assert.assertFalse(retryScheduler.awaitNextAttempt(FailureCause.STALE_BIDI_SESSION));
+    }
+
+    @Test
+    public void staleBiDiSessionTimeoutStartsAtItsFirstFailure() {
+        var retryScheduler = SessionCreationRetryScheduler.forLocalSession(0);
+        now.set(TimeUnit.MINUTES.toNanos(5));
+        Assert.assertTrue(retryScheduler.awaitNextAttempt(FailureCause.STALE_BIDI_SESSION));
+        now.set(TimeUnit.MINUTES.toNanos(5) + SessionCreationRetryScheduler.STALE_BIDI_SESSION_TIMEOUT - 1);
+        Assert.assertTrue(retryScheduler.awaitNextAttempt(FailureCause.STALE_BIDI_SESSION));
+        now.set(TimeUnit.MINUTES.toNanos(5) + SessionCreationRetryScheduler.STALE_BIDI_SESSION_TIMEOUT);
+        Assert.assertFalse(retryScheduler.awaitNextAttempt(FailureCause.STALE_BIDI_SESSION));
+    }
+
+    @Test
+    public void remoteSessionIsRetriedUntilItsTimeout() {
+        var retryScheduler = SessionCreationRetryScheduler.forRemoteSession(10);
+        while (retryScheduler.awaitNextAttempt(FailureCause.SESSION_NOT_CREATED)) {
+            Assert.assertTrue(now.get() <= TimeUnit.SECONDS.toNanos(10));
+        }
+        // the last backoff is cut short at the timeout
+        Assert.assertEquals(now.get(), TimeUnit.SECONDS.toNanos(10));
+        Assert.assertTrue(backoffs.size() > 3);
+    }
+
+    @Test
+    public void localDriverCreationStopsAfterTheConfiguredRetries() {
+        var executionAddress = SHAFT.Properties.platform.executionAddress();
+        var targetPlatform = SHAFT.Properties.platform.targetPlatform();
+        var enableDriverResolutionCache = SHAFT.Properties.flags.enableDriverResolutionCache();
+        var attempts = new AtomicInteger();
+        SHAFT.Properties.platform.set().executionAddress("local").targetPlatform("LINUX");
+        SHAFT.Properties.flags.set().enableDriverResolutionCache(false);
+        try (var ignored = mockConstruction(ChromeDriver.class, (driver, context) -> {
+            attempts.incrementAndGet();
+            throw new SessionNotCreatedException("session not created");
+        })) {
+            Assert.expectThrows(AssertionError.class, () -> new DriverFactoryHelper().createDriverInstance(DriverType.CHROME, null));
+        } finally {
+            SHAFT.Properties.platform.set().executionAddress(executionAddress).targetPlatform(targetPlatform);
+            SHAFT.Properties.flags.set().enableDriverResolutionCache(enableDriverResolutionCache);
+        }
+        // the first attempt and six retries
+        Assert.assertEquals(attempts.get(), 7);
+        Assert.assertEquals(backoffs.size(), 6);
+    }
+}
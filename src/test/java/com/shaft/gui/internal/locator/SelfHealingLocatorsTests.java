@@ -0,0 +1,163 @@
+package com.shaft.gui.internal.locator;
+
+import com.shaft.driver.SHAFT;
+import com.shaft.gui.internal.locator.SelfHealingLocators.Fingerprint;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class SelfHealingLocatorsTests {
+    private static final double DELTA = 1e-9;
+    private boolean embeddedHealEnabled;
+    private String scoreCap;
+
+    @BeforeMethod
+    public void enableEmbeddedHealing() {
+        embeddedHealEnabled = SHAFT.Properties.healenium.embeddedHealEnabled();
+        scoreCap = SHAFT.Properties.healenium.scoreCap();
+        SHAFT.Properties.healenium.set().embeddedHealEnabled(true).scoreCap("0.5");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreEmbeddedHealing() {
+        SHAFT.Properties.healenium.set().embeddedHealEnabled(embeddedHealEnabled).scoreCap(scoreCap);
+    }
+
+    private static Fingerprint fingerprint(Map<String, String> attributes, String text) {
+        return new Fingerprint("button", attributes, text, -1, -1, -1, -1);
+    }
+
+    private static Map<String, Object> candidate(Map<String, String> attributes, String text, double x, double y, double width, double height) {
+        return Map.of("attributes", attributes, "text", text, "x", x, "y", y, "width", width, "height", height);
+    }
+
+    /**
+     * @return a driver that returns the given candidates for any tag, the same way that the candidates script does
+     */
+    private static WebDriver driverWithCandidates(List<Map<String, Object>> candidates) {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any(Object[].class))).thenReturn(candidates);
+        return driver;
+    }
+
+    /**
+     * Records the element's fingerprint, and waits until it's used to heal the locator, since it's recorded in the
+     * background.
+     */
+    private static By recordAndHeal(By locator, String outerHTML, Rectangle rect, WebDriver driver) throws InterruptedException {
+        SelfHealingLocators.record(locator, outerHTML, rect);
+        for (int attempt = 0; attempt < 100; attempt++) {
+            var healedLocator = SelfHealingLocators.heal(driver, locator);
+            if (healedLocator != null) {
+                return healedLocator;
+            }
+            Thread.sleep(50);
+        }
+        return null;
+    }
+
+    private static By uniqueLocator() {
+        return By.id("submit-" + UUID.randomUUID());
+    }
+
+    @Test
+    public void attributesAreWeighted() {
+        var recordedFingerprint = fingerprint(Map.of("id", "submit", "type", "button"), "");
+        // id weighs 3 and type weighs 1
+        Assert.assertEquals(recordedFingerprint.score(fingerprint(Map.of("id", "submit", "type", "button"), "")), 1, DELTA);
+        Assert.assertEquals(recordedFingerprint.score(fingerprint(Map.of("id", "submit", "type", "reset"), "")), 0.75, DELTA);
+        Assert.assertEquals(recordedFingerprint.score(fingerprint(Map.of("id", "cancel", "type", "button"), "")), 0.25, DELTA);
+        Assert.assertEquals(recordedFingerprint.score(fingerprint(Map.of(), "")), 0, DELTA);
+        // unknown attributes weigh 1
+        Assert.assertEquals(fingerprint(Map.of("name", "q", "role", "search"), "").score(fingerprint(Map.of("name", "q"), "")), 2.0 / 3, DELTA);
+    }
+
+    @Test
+    public void classesAndTextAreComparedByTheirTokens() {
+        var recordedFingerprint = fingerprint(Map.of("class", "btn primary large"), "");
+        Assert.assertEquals(recordedFingerprint.score(fingerprint(Map.of("class", "large BTN  primary"), "")), 1, DELTA);
+        Assert.assertEquals(recordedFingerprint.score(fingerprint(Map.of("class", "btn primary"), "")), 2.0 / 3, DELTA);
+
+        recordedFingerprint = fingerprint(Map.of(), "Sign in");
+        Assert.assertEquals(recordedFingerprint.score(fingerprint(Map.of(), "Sign in")), 1, DELTA);
+        Assert.assertEquals(recordedFingerprint.score(fingerprint(Map.of(), "Sign in now")), 2.0 / 3, DELTA);
+        // text weighs 2 and id weighs 3
+        Assert.assertEquals(new Fingerprint("button", Map.of("id", "login"), "Sign in", -1, -1, -1, -1)
+                .score(fingerprint(Map.of("id", "login"), "Log in")), (3 + 2.0 / 3) / 5, DELTA);
+    }
+
+    @Test
+    public void locationAndSizeAreWeighted() {
+        var recordedFingerprint = new Fingerprint("button", Map.of(), "", 0, 0, 100, 50);
+        Assert.assertEquals(recordedFingerprint.score(new Fingerprint("button", Map.of(), "", 0, 0, 100, 50)), 1, DELTA);
+        // location weighs 1 and fades out over 500 pixels, and size weighs 0.5
+        Assert.assertEquals(recordedFingerprint.score(new Fingerprint("button", Map.of(), "", 300, 400, 100, 50)), 0.5 / 1.5, DELTA);
+        Assert.assertEquals(recordedFingerprint.score(new Fingerprint("button", Map.of(), "", 0, 0, 50, 50)), 1.25 / 1.5, DELTA);
+        Assert.assertEquals(recordedFingerprint.score(new Fingerprint("button", Map.of(), "", 150, 200, 100, 50)), 1.0 / 1.5, DELTA);
+        // elements without a known location aren't compared by it
+        Assert.assertEquals(new Fingerprint("button", Map.of("id", "a"), "", 0, 0, 100, 50)
+                .score(new Fingerprint("button", Map.of("id", "a"), "", -1, -1, -1, -1)), 1, DELTA);
+    }
+
+    @Test
+    public void candidatesAreReadFromTheScriptResult() {
+        var candidateFingerprint = Fingerprint.fromCandidate("a", Map.of("attributes", Map.of("href", "/home"), "text", "Home", "x", 10.4, "y", 20.6, "width", 30L, "height", 40));
+        Assert.assertEquals(candidateFingerprint, new Fingerprint("a", Map.of("href", "/home"), "Home", 10, 21, 30, 40));
+        Assert.assertEquals(Fingerprint.fromCandidate("a", Map.of("text", "")), new Fingerprint("a", Map.of(), "", -1, -1, -1, -1));
+    }
+
+    @Test
+    public void bestMatchingCandidateIsHealedToItsPosition() throws InterruptedException {
+        var locator = uniqueLocator();
+        var driver = driverWithCandidates(List.of(
+                candidate(Map.of("type", "button"), "Cancel", 10, 300, 80, 30),
+                candidate(Map.of("id", "submit-v2", "type", "submit", "class", "btn primary"), "Submit", 100, 300, 80, 30),
+                candidate(Map.of("type", "submit", "class", "btn"), "Send", 600, 900, 80, 30)));
+        var healedLocator = recordAndHeal(locator, "<button id=\"old-submit\" type=\"submit\" class=\"btn primary\" style=\"color: red\">Submit</button>",
+                new Rectangle(100, 300, 30, 80), driver);
+        Assert.assertEquals(healedLocator, By.xpath("(//button)[2]"));
+        verify((JavascriptExecutor) driver, atLeastOnce()).executeScript(anyString(), eq("button"), eq(1000), eq(200));
+    }
+
+    @Test
+    public void candidateBelowTheScoreCapIsNotHealed() throws InterruptedException {
+        var locator = uniqueLocator();
+        var outerHTML = "<button id=\"old-submit\" type=\"submit\">Submit</button>";
+        // the only candidate matches the type and text, which is (1 + 2) / 6
+        var driver = driverWithCandidates(List.of(candidate(Map.of("type", "submit"), "Submit", 0, 0, 80, 30)));
+        SHAFT.Properties.healenium.set().scoreCap("0.4");
+        Assert.assertEquals(recordAndHeal(locator, outerHTML, null, driver), By.xpath("(//button)[1]"));
+
+        SHAFT.Properties.healenium.set().scoreCap("0.6");
+        Assert.assertNull(SelfHealingLocators.heal(driver, locator));
+    }
+
+    @Test
+    public void locatorWithoutFingerprintIsNotHealed() {
+        var driver = driverWithCandidates(List.of(candidate(Map.of("id", "submit"), "Submit", 0, 0, 80, 30)));
+        Assert.assertNull(SelfHealingLocators.heal(driver, uniqueLocator()));
+        verifyNoInteractions(driver);
+    }
+
+    @Test
+    public void nothingIsHealedWhenDisabled() throws InterruptedException {
+        var locator = uniqueLocator();
+        var driver = driverWithCandidates(List.of(candidate(Map.of("id", "submit"), "Submit", 0, 0, 80, 30)));
+        Assert.assertNotNull(recordAndHeal(locator, "<button id=\"submit\">Submit</button>", null, driver));
+        SHAFT.Properties.healenium.set().embeddedHealEnabled(false);
+        Assert.assertNull(SelfHealingLocators.heal(driver, locator));
+    }
+}
@@ -0,0 +1,178 @@
+package com.shaft.tools.internal.tracing;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.shaft.driver.SHAFT;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class EngineTracerTests {
+    private Path tracesFolder;
+    private String previousTracesFolder;
+    private boolean previousCaptureEngineTraces;
+
+    @BeforeMethod
+    public void enableTracing() throws IOException {
+        tracesFolder = Files.createTempDirectory("engineTraces");
+        previousTracesFolder = SHAFT.Properties.paths.engineTraces();
+        previousCaptureEngineTraces = SHAFT.Properties.reporting.captureEngineTraces();
+        SHAFT.Properties.paths.set().engineTraces(tracesFolder + "/");
+        SHAFT.Properties.reporting.set().captureEngineTraces(true);
+        EngineTracer.reset();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreTracing() {
+        EngineTracer.reset();
+        SHAFT.Properties.reporting.set().captureEngineTraces(previousCaptureEngineTraces);
+        SHAFT.Properties.paths.set().engineTraces(previousTracesFolder);
+    }
+
+    /**
+     * @return the exported trace events, by span name
+     */
+    private Map<String, JsonObject> exportEvents() throws IOException {
+        EngineTracer.export();
+        var trace = JsonParser.parseString(Files.readString(tracesFolder.resolve("engineTrace.json"))).getAsJsonObject();
+        var events = new HashMap<String, JsonObject>();
+        trace.getAsJsonArray("traceEvents").forEach(event -> events.put(event.getAsJsonObject().get("name").getAsString(), event.getAsJsonObject()));
+        return events;
+    }
+
+    private static long endOf(JsonObject event) {
+        return event.get("ts").getAsLong() + event.get("dur").getAsLong();
+    }
+
+    @Test
+    public void disabledTracingRecordsNothing() {
+        SHAFT.Properties.reporting.set().captureEngineTraces(false);
+        try (var span = EngineTracer.startSpan("Element Action", "CLICK")) {
+            Assert.assertSame(EngineTracer.startSpan("Element Action", "TYPE"), span);
+        }
+        EngineTracer.export();
+        Assert.assertFalse(Files.exists(tracesFolder.resolve("engineTrace.json")));
+    }
+
+    @Test
+    public void spansAreNestedUnderTheOpenSpan() throws IOException, InterruptedException {
+        try (var ignored = EngineTracer.startSpan("Element Action", "CLICK")) {
+            try (var ignoredChild = EngineTracer.startSpan("Wait", "waitForElementPresence")) {
+                Thread.sleep(2);
+            }
+            try (var ignoredChild = EngineTracer.startSpan("Screenshot", "takeScreenshot")) {
+                Thread.sleep(2);
+            }
+        }
+        try (var ignored = EngineTracer.startSpan("Validation", "assertEquals")) {
+            Thread.sleep(1);
+        }
+
+        var events = exportEvents();
+        Assert.assertEquals(events.keySet(), Set.of("CLICK", "waitForElementPresence", "takeScreenshot", "assertEquals"));
+        var click = events.get("CLICK");
+        Assert.assertEquals(click.get("cat").getAsString(), "Element Action");
+        Assert.assertEquals(click.get("ph").getAsString(), "X");
+        Assert.assertEquals(click.get("tid").getAsLong(), Thread.currentThread().threadId());
+        Assert.assertEquals(click.getAsJsonObject("args").get("depth").getAsInt(), 0);
+        for (var child : List.of(events.get("waitForElementPresence"), events.get("takeScreenshot"))) {
+            Assert.assertEquals(child.getAsJsonObject("args").get("depth").getAsInt(), 1);
+            Assert.assertTrue(child.get("ts").getAsLong() >= click.get("ts").getAsLong());
+            Assert.assertTrue(endOf(child) <= endOf(click) + 1);
+        }
+        Assert.assertTrue(endOf(events.get("waitForElementPresence")) <= events.get("takeScreenshot").get("ts").getAsLong() + 1);
+        Assert.assertEquals(events.get("assertEquals").getAsJsonObject("args").get("depth").getAsInt(), 0);
+    }
+
+    @Test
+    public void unclosedChildDoesNotNestTheNextSpans() throws IOException {
+        try (var ignored = EngineTracer.startSpan("Element Action", "CLICK")) {
+            EngineTracer.startSpan("Wait", "unclosed");
+        }
+        try (var ignored = EngineTracer.startSpan("Element Action", "TYPE")) {
+            // the parent of the unclosed span was closed, so this span isn't nested under either of them
+        }
+        var events = exportEvents();
+        Assert.assertFalse(events.containsKey("unclosed"));
+        Assert.assertEquals(events.get("TYPE").getAsJsonObject("args").get("depth").getAsInt(), 0);
+    }
+
+    @Test
+    public void failedSpansAreMarked() throws IOException {
+        try (var span = EngineTracer.startSpan("Element Action", "CLICK")) {
+            span.fail();
+        }
+        try (var ignored = EngineTracer.startSpan("Element Action", "TYPE")) {
+            // passes
+        }
+        var events = exportEvents();
+        Assert.assertTrue(events.get("CLICK").getAsJsonObject("args").get("failed").getAsBoolean());
+        Assert.assertFalse(events.get("TYPE").getAsJsonObject("args").has("failed"));
+    }
+
+    @Test
+    public void spansAreRecordedOnceWhenClosedTwice() throws IOException {
+        var span = EngineTracer.startSpan("Element Action", "CLICK");
+        span.close();
+        span.close();
+        EngineTracer.export();
+        var trace = JsonParser.parseString(Files.readString(tracesFolder.resolve("engineTrace.json"))).getAsJsonObject();
+        Assert.assertEquals(trace.getAsJsonArray("traceEvents").size(), 1);
+    }
+
+    @Test
+    public void spansOfOtherThreadsAreExportedWithTheirThread() throws IOException, InterruptedException {
+        var worker = Thread.ofPlatform().name("tracing-worker").start(() -> {
+            try (var ignored = EngineTracer.startSpan("Driver", "createDriver")) {
+                // records on the worker thread
+            }
+        });
+        worker.join();
+        var event = exportEvents().get("createDriver");
+        Assert.assertEquals(event.get("tid").getAsLong(), worker.threadId());
+        Assert.assertEquals(event.getAsJsonObject("args").get("thread").getAsString(), "tracing-worker");
+        Assert.assertEquals(event.getAsJsonObject("args").get("depth").getAsInt(), 0);
+    }
+
+    @Test
+    public void attachingClearsTheTestSpansButNotTheExecutionSpans() throws IOException {
+        try (var ignored = EngineTracer.startSpan("Element Action", "CLICK")) {
+            // first test
+        }
+        EngineTracer.attach("firstTest");
+        try (var ignored = EngineTracer.startSpan("Element Action", "TYPE")) {
+            // second test
+        }
+        // attaching the waterfall is traced as well, in the span of the attachment
+        Assert.assertEquals(exportEvents().keySet(), Set.of("CLICK", "HTML - Engine Trace Waterfall - firstTest", "TYPE"));
+    }
+
+    @Test
+    public void waterfallShowsNestedAndFailedSpans() {
+        EngineTracer.Span parent;
+        EngineTracer.Span child;
+        try (var span = EngineTracer.startSpan("Element Action", "<CLICK>")) {
+            parent = span;
+            try (var childSpan = EngineTracer.startSpan("Wait", "waitForElementPresence")) {
+                child = childSpan;
+                childSpan.fail();
+            }
+        }
+        var waterfall = EngineTracer.toWaterfall("test \"one\"", List.of(child, parent));
+        Assert.assertTrue(waterfall.contains("<h3>test &quot;one&quot; - "));
+        var parentRow = waterfall.indexOf("padding-left:4px\">Element Action: &lt;CLICK&gt;</td>");
+        var childRow = waterfall.indexOf("padding-left:20px\">Wait: waitForElementPresence</td>");
+        Assert.assertTrue(parentRow > 0 && childRow > parentRow, waterfall);
+        Assert.assertEquals(waterfall.split("class=\"bar failed\"", -1).length - 1, 1);
+        Assert.assertTrue(waterfall.indexOf("class=\"bar failed\"") > childRow);
+    }
+}
@@ -23,7 +23,25 @@ public class FlagsTests {
     boolean attemptToClickBeforeTyping ;
     boolean disableCache ;
     boolean enableTrueNativeMode ;
-
+    boolean enableDriverSessionPool;
+    int driverSessionPoolSize;
+    int driverSessionPoolMaximumUsesPerSession;
+    boolean enableDriverResolutionCache;
+    boolean enableAppUploadCache;
+    int appUploadCacheExpiryInHours;
+    boolean enableDockerizedBrowserPool;
+    int dockerizedBrowserPoolSize;
+    int dockerizedBrowserPoolIdleTimeout;
+    boolean enableRemoteResponseCompression;
+    boolean enableApiConnectionPool;
+    int apiConnectionPoolMaxConnectionsPerRoute;
+    int jsonComparisonMaximumDifferences;
+    int apiMaximumConcurrentRequests;
+    String apiTrafficMode;
+    String apiTrafficMatchedHeaders;
+    String apiTrafficIgnoredQueryParameters;
+    boolean apiTrafficMatchRequestBody;
+    boolean enableGraphQlPersistedQueries;
 
     @BeforeClass
     public void beforeClass() {
@@ -44,6 +62,25 @@ public class FlagsTests {
         attemptToClickBeforeTyping = SHAFT.Properties.flags.attemptToClickBeforeTyping();
         disableCache = SHAFT.Properties.flags.disableCache();
         enableTrueNativeMode = SHAFT.Properties.flags.enableTrueNativeMode();
+        enableDriverSessionPool = SHAFT.Properties.flags.enableDriverSessionPool();
+        driverSessionPoolSize = SHAFT.Properties.flags.driverSessionPoolSize();
+        driverSessionPoolMaximumUsesPerSession = SHAFT.Properties.flags.driverSessionPoolMaximumUsesPerSession();
+        enableDriverResolutionCache = SHAFT.Properties.flags.enableDriverResolutionCache();
+        enableAppUploadCache = SHAFT.Properties.flags.enableAppUploadCache();
+        appUploadCacheExpiryInHours = SHAFT.Properties.flags.appUploadCacheExpiryInHours();
+        enableDockerizedBrowserPool = SHAFT.Properties.flags.enableDockerizedBrowserPool();
+        dockerizedBrowserPoolSize = SHAFT.Properties.flags.dockerizedBrowserPoolSize();
+        dockerizedBrowserPoolIdleTimeout = SHAFT.Properties.flags.dockerizedBrowserPoolIdleTimeout();
+        enableRemoteResponseCompression = SHAFT.Properties.flags.enableRemoteResponseCompression();
+        enableApiConnectionPool = SHAFT.Properties.flags.enableApiConnectionPool();
+        apiConnectionPoolMaxConnectionsPerRoute = SHAFT.Properties.flags.apiConnectionPoolMaxConnectionsPerRoute();
+        jsonComparisonMaximumDifferences = SHAFT.Properties.flags.jsonComparisonMaximumDifferences();
+        apiMaximumConcurrentRequests = SHAFT.Properties.flags.apiMaximumConcurrentRequests();
+        apiTrafficMode = SHAFT.Properties.flags.apiTrafficMode();
+        apiTrafficMatchedHeaders = SHAFT.Properties.flags.apiTrafficMatchedHeaders();
+        apiTrafficIgnoredQueryParameters = SHAFT.Properties.flags.apiTrafficIgnoredQueryParameters();
+        apiTrafficMatchRequestBody = SHAFT.Properties.flags.apiTrafficMatchRequestBody();
+        enableGraphQlPersistedQueries = SHAFT.Properties.flags.enableGraphQlPersistedQueries();
 
     }
 
@@ -66,6 +103,25 @@ public class FlagsTests {
         SHAFT.Properties.flags.set().disableCache(disableCache);
         SHAFT.Properties.flags.set().enableTrueNativeMode(enableTrueNativeMode);
         SHAFT.Properties.flags.set().attemptClearBeforeTyping(attemptClearBeforeTyping);
+        SHAFT.Properties.flags.set().enableDriverSessionPool(enableDriverSessionPool);
+        SHAFT.Properties.flags.set().driverSessionPoolSize(driverSessionPoolSize);
+        SHAFT.Properties.flags.set().driverSessionPoolMaximumUsesPerSession(driverSessionPoolMaximumUsesPerSession);
+        SHAFT.Properties.flags.set().enableDriverResolutionCache(enableDriverResolutionCache);
+        SHAFT.Properties.flags.set().enableAppUploadCache(enableAppUploadCache);
+        SHAFT.Properties.flags.set().appUploadCacheExpiryInHours(appUploadCacheExpiryInHours);
+        SHAFT.Properties.flags.set().enableDockerizedBrowserPool(enableDockerizedBrowserPool);
+        SHAFT.Properties.flags.set().dockerizedBrowserPoolSize(dockerizedBrowserPoolSize);
+        SHAFT.Properties.flags.set().dockerizedBrowserPoolIdleTimeout(dockerizedBrowserPoolIdleTimeout);
+        SHAFT.Properties.flags.set().enableRemoteResponseCompression(enableRemoteResponseCompression);
+        SHAFT.Properties.flags.set().enableApiConnectionPool(enableApiConnectionPool);
+        SHAFT.Properties.flags.set().apiConnectionPoolMaxConnectionsPerRoute(apiConnectionPoolMaxConnectionsPerRoute);
+        SHAFT.Properties.flags.set().jsonComparisonMaximumDifferences(jsonComparisonMaximumDifferences);
+        SHAFT.Properties.flags.set().apiMaximumConcurrentRequests(apiMaximumConcurrentRequests);
+        SHAFT.Properties.flags.set().apiTrafficMode(apiTrafficMode);
+        SHAFT.Properties.flags.set().apiTrafficMatchedHeaders(apiTrafficMatchedHeaders);
+        SHAFT.Properties.flags.set().apiTrafficIgnoredQueryParameters(apiTrafficIgnoredQueryParameters);
+        SHAFT.Properties.flags.set().apiTrafficMatchRequestBody(apiTrafficMatchRequestBody);
+        SHAFT.Properties.flags.set().enableGraphQlPersistedQueries(enableGraphQlPersistedQueries);
 
     }
 }
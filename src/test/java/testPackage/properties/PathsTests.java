@@ -15,7 +15,10 @@ public class PathsTests {
     String executionSummaryReport;
     String video;
     String applitoolsApiKey;
-
+    String engineMetrics;
+    String engineTraces;
+    String selfHealing;
+    String apiTraffic;
 
     @BeforeClass
     public void beforeClass() {
@@ -29,6 +32,10 @@ public class PathsTests {
         executionSummaryReport = SHAFT.Properties.paths.executionSummaryReport();
         video = SHAFT.Properties.paths.video();
         applitoolsApiKey = SHAFT.Properties.paths.applitoolsApiKey();
+        engineMetrics = SHAFT.Properties.paths.engineMetrics();
+        engineTraces = SHAFT.Properties.paths.engineTraces();
+        selfHealing = SHAFT.Properties.paths.selfHealing();
+        apiTraffic = SHAFT.Properties.paths.apiTraffic();
 
     }
 
@@ -43,7 +50,10 @@ public class PathsTests {
         SHAFT.Properties.paths.set().executionSummaryReport(executionSummaryReport);
         SHAFT.Properties.paths.set().video(video);
         SHAFT.Properties.paths.set().applitoolsApiKey(applitoolsApiKey);
-
+        SHAFT.Properties.paths.set().engineMetrics(engineMetrics);
+        SHAFT.Properties.paths.set().engineTraces(engineTraces);
+        SHAFT.Properties.paths.set().selfHealing(selfHealing);
+        SHAFT.Properties.paths.set().apiTraffic(apiTraffic);
 
     }
 }
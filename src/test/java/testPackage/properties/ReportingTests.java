@@ -15,6 +15,12 @@ public class ReportingTests {
     boolean openLighthouseReportWhileExecution;
     boolean openExecutionSummaryReportAfterExecution;
     boolean disableLogging;
+    boolean captureEngineMetrics;
+    boolean captureEngineTraces;
+    boolean captureWireCommandProfile;
+    int apiTrafficCaptureFirstSuccessfulCalls;
+    int apiTrafficCaptureSamplingPercentage;
+    int apiTrafficCaptureMaximumBodyLength;
 
     @BeforeClass
     public void beforeClass() {
@@ -28,6 +34,12 @@ public class ReportingTests {
         openLighthouseReportWhileExecution = SHAFT.Properties.reporting.openLighthouseReportWhileExecution();
         openExecutionSummaryReportAfterExecution = SHAFT.Properties.reporting.openExecutionSummaryReportAfterExecution();
         disableLogging = SHAFT.Properties.reporting.disableLogging();
+        captureEngineMetrics = SHAFT.Properties.reporting.captureEngineMetrics();
+        captureEngineTraces = SHAFT.Properties.reporting.captureEngineTraces();
+        captureWireCommandProfile = SHAFT.Properties.reporting.captureWireCommandProfile();
+        apiTrafficCaptureFirstSuccessfulCalls = SHAFT.Properties.reporting.apiTrafficCaptureFirstSuccessfulCalls();
+        apiTrafficCaptureSamplingPercentage = SHAFT.Properties.reporting.apiTrafficCaptureSamplingPercentage();
+        apiTrafficCaptureMaximumBodyLength = SHAFT.Properties.reporting.apiTrafficCaptureMaximumBodyLength();
 
     }
 
@@ -42,6 +54,12 @@ public class ReportingTests {
         SHAFT.Properties.reporting.set().openLighthouseReportWhileExecution(openLighthouseReportWhileExecution);
         SHAFT.Properties.reporting.set().openExecutionSummaryReportAfterExecution(openExecutionSummaryReportAfterExecution);
         SHAFT.Properties.reporting.set().disableLogging(disableLogging);
+        SHAFT.Properties.reporting.set().captureEngineMetrics(captureEngineMetrics);
+        SHAFT.Properties.reporting.set().captureEngineTraces(captureEngineTraces);
+        SHAFT.Properties.reporting.set().captureWireCommandProfile(captureWireCommandProfile);
+        SHAFT.Properties.reporting.set().apiTrafficCaptureFirstSuccessfulCalls(apiTrafficCaptureFirstSuccessfulCalls);
+        SHAFT.Properties.reporting.set().apiTrafficCaptureSamplingPercentage(apiTrafficCaptureSamplingPercentage);
+        SHAFT.Properties.reporting.set().apiTrafficCaptureMaximumBodyLength(apiTrafficCaptureMaximumBodyLength);
 
     }
 }
@@ -21,7 +21,10 @@ public class TimeoutsTests {
     Boolean waitForRemoteServerToBeUp;
     int timeoutForRemoteServerToBeUp;
     int remoteServerInstanceCreationTimeout;
-
+    int remoteServerStatusCacheTTL;
+    int remoteServerConnectionTimeout;
+    int remoteServerReadTimeout;
+    int apiConnectionPoolIdleTimeout;
 
     @BeforeClass
     public void beforeClass() {
@@ -41,6 +44,10 @@ public class TimeoutsTests {
         waitForRemoteServerToBeUp = SHAFT.Properties.timeouts.waitForRemoteServerToBeUp();
         timeoutForRemoteServerToBeUp = SHAFT.Properties.timeouts.timeoutForRemoteServerToBeUp();
         remoteServerInstanceCreationTimeout = SHAFT.Properties.timeouts.remoteServerInstanceCreationTimeout();
+        remoteServerStatusCacheTTL = SHAFT.Properties.timeouts.remoteServerStatusCacheTTL();
+        remoteServerConnectionTimeout = SHAFT.Properties.timeouts.remoteServerConnectionTimeout();
+        remoteServerReadTimeout = SHAFT.Properties.timeouts.remoteServerReadTimeout();
+        apiConnectionPoolIdleTimeout = SHAFT.Properties.timeouts.apiConnectionPoolIdleTimeout();
 
     }
 
@@ -61,6 +68,10 @@ public class TimeoutsTests {
         SHAFT.Properties.timeouts.set().waitForRemoteServerToBeUp(waitForRemoteServerToBeUp);
         SHAFT.Properties.timeouts.set().timeoutForRemoteServerToBeUp(timeoutForRemoteServerToBeUp);
         SHAFT.Properties.timeouts.set().remoteServerInstanceCreationTimeout(remoteServerInstanceCreationTimeout);
+        SHAFT.Properties.timeouts.set().remoteServerStatusCacheTTL(remoteServerStatusCacheTTL);
+        SHAFT.Properties.timeouts.set().remoteServerConnectionTimeout(remoteServerConnectionTimeout);
+        SHAFT.Properties.timeouts.set().remoteServerReadTimeout(remoteServerReadTimeout);
+        SHAFT.Properties.timeouts.set().apiConnectionPoolIdleTimeout(apiConnectionPoolIdleTimeout);
 
     }
 
@@ -0,0 +1,148 @@
+package testPackage.unitTests;
+
+import com.shaft.tools.internal.metrics.Histogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+public class EngineMetricsTests {
+    private static final long ONE_HOUR_IN_MICROSECONDS = 3_600_000_000L;
+
+    /**
+     * @return the highest value of the bucket that the given value is recorded into by a histogram with 7 sub-bucket bits
+     */
+    private static long highestValueOfBucket(long value) {
+        var histogram = new Histogram(7);
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.getValueAtPercentile(50);
+    }
+
+    @Test
+    public void histogramPercentilesAreWithinBucketPrecision() {
+        var histogram = new Histogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000_000);
+        }
+        Assert.assertEquals(histogram.getCount(), 10_000);
+        Assert.assertEquals(histogram.getMin(), 1_000_000);
+        Assert.assertEquals(histogram.getMax(), 10_000_000_000L);
+        Assert.assertEquals(histogram.getValueAtPercentile(50), 5_000_000_000L, 5_000_000_000L * 0.04);
+        Assert.assertEquals(histogram.getValueAtPercentile(99), 9_900_000_000L, 9_900_000_000L * 0.04);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 10_000_000_000L);
+    }
+
+    @Test
+    public void emptyHistogramReportsZeroes() {
+        var histogram = new Histogram();
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getMin(), 0);
+        Assert.assertEquals(histogram.getValueAtPercentile(95), 0);
+        Assert.assertEquals(histogram.getMean(), 0d);
+    }
+
+    @Test
+    public void valuesBelowTwiceTheSubBucketCountAreRecordedExactly() {
+        for (long value = 0; value < 256; value++) {
+            Assert.assertEquals(highestValueOfBucket(value), value);
+        }
+    }
+
+    @Test
+    public void bucketWidthDoublesWithEachPowerOfTwo() {
+        Assert.assertEquals(highestValueOfBucket(256), 257);
+        Assert.assertEquals(highestValueOfBucket(257), 257);
+        Assert.assertEquals(highestValueOfBucket(258), 259);
+        Assert.assertEquals(highestValueOfBucket(511), 511);
+        Assert.assertEquals(highestValueOfBucket(512), 515);
+        Assert.assertEquals(highestValueOfBucket(515), 515);
+        Assert.assertEquals(highestValueOfBucket(516), 519);
+    }
+
+    @Test
+    public void sevenSubBucketBitsKeepBucketsWithinOnePercentOfTheirValues() {
+        var values = new ArrayList<Long>();
+        for (int bit = 8; bit < 63; bit++) {
+            values.add((1L << bit) - 1);
+            values.add(1L << bit);
+            values.add((1L << bit) + 1);
+        }
+        var random = new Random(42);
+        for (int sample = 0; sample < 1000; sample++) {
+            values.add(256 + (long) (random.nextDouble() * (ONE_HOUR_IN_MICROSECONDS - 256)));
+        }
+        for (var value : values) {
+            var highestValue = highestValueOfBucket(value);
+            Assert.assertTrue(highestValue >= value && highestValue - value <= value / 128,
+                    value + " was recorded into a bucket that ends at " + highestValue);
+        }
+    }
+
+    @Test
+    public void negativeValuesAreRecordedAsZero() {
+        var histogram = new Histogram(7);
+        histogram.record(-5);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 0);
+        Assert.assertEquals(histogram.getMin(), 0);
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(histogram.getMax(), Long.MAX_VALUE);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), Long.MAX_VALUE);
+        Assert.assertEquals(histogram.getCount(), 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void subBucketBitsAreBounded() {
+        new Histogram(0);
+    }
+
+    @Test
+    public void percentileIsTheValueThatTheRankIsLowerThanOrEqualTo() {
+        var histogram = new Histogram(7);
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        Assert.assertEquals(histogram.getValueAtPercentile(0), 1);
+        Assert.assertEquals(histogram.getValueAtPercentile(1), 1);
+        Assert.assertEquals(histogram.getValueAtPercentile(50), 50);
+        Assert.assertEquals(histogram.getValueAtPercentile(50.5), 51);
+        Assert.assertEquals(histogram.getValueAtPercentile(95), 95);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 100);
+        Assert.assertEquals(histogram.getValueAtPercentile(150), 100);
+    }
+
+    @Test
+    public void percentilesOfLargeValuesAreWithinOnePercent() {
+        var histogram = new Histogram(7);
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 10);
+        }
+        for (var percentile : new double[]{50, 90, 95, 99, 99.9}) {
+            var expectedValue = (long) (percentile * 10_000);
+            var value = histogram.getValueAtPercentile(percentile);
+            Assert.assertTrue(value >= expectedValue && value - expectedValue <= expectedValue / 100,
+                    "p" + percentile + " was " + value + " instead of " + expectedValue);
+        }
+        // the highest percentile never exceeds the maximum recorded value, although its bucket does
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 1_000_000);
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() {
+        var histogram = new Histogram(7);
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            for (int thread = 0; thread < 4; thread++) {
+                executor.execute(() -> {
+                    for (long value = 1; value <= 10_000; value++) {
+                        histogram.record(value);
+                    }
+                });
+            }
+        }
+        Assert.assertEquals(histogram.getCount(), 40_000);
+        Assert.assertEquals(histogram.getMax(), 10_000);
+        Assert.assertEquals(histogram.getValueAtPercentile(0), 1);
+    }
+}
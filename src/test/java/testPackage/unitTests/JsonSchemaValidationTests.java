@@ -0,0 +1,46 @@
+package testPackage.unitTests;
+
+import com.shaft.api.RestActions;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+public class JsonSchemaValidationTests {
+    private static final String SCHEMA = """
+            {
+              "$schema": "http://json-schema.org/draft-04/schema#",
+              "$comment": "unknown keywords are reported as warnings only",
+              "examples": [{"id": 1}],
+              "type": "object",
+              "required": ["id"],
+              "properties": {"id": {"type": "integer"}}
+            }
+            """;
+
+    @Test
+    public void unknownKeywordsDoNotFailTheValidation() throws IOException {
+        Assert.assertEquals(RestActions.getSchemaValidationErrors(response("{\"id\": 1}"), writeSchema()), List.of());
+    }
+
+    @Test
+    public void onlyErrorsAreListed() throws IOException {
+        var errors = RestActions.getSchemaValidationErrors(response("{\"id\": \"one\"}"), writeSchema());
+        Assert.assertEquals(errors.size(), 1);
+        Assert.assertTrue(errors.getFirst().startsWith("/id: "), errors.getFirst());
+    }
+
+    private static Response response(String body) {
+        return new ResponseBuilder().setStatusCode(200).setContentType("application/json").setBody(body).build();
+    }
+
+    private static String writeSchema() throws IOException {
+        var schemaFile = Files.createTempFile("schema", ".json");
+        Files.writeString(schemaFile, SCHEMA);
+        return schemaFile.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package testPackage.unitTests;
+
+import com.shaft.tools.io.internal.LogRedirector;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.*;
+
+public class LogRedirectorTests {
+
+    @Test
+    public void multiByteCharactersSplitAcrossWritesAreDecodedCorrectly() {
+        Logger logger = mock();
+        var redirector = new LogRedirector(logger, Level.INFO);
+        byte[] line = "héllo wörld ✓\n".getBytes(StandardCharsets.UTF_8);
+        for (byte b : line) {
+            redirector.write(b);
+        }
+        LogRedirector.awaitPendingLines();
+        verify(logger).log(Level.INFO, "héllo wörld ✓");
+    }
+
+    @Test
+    public void bulkWritesAreSplitIntoLines() {
+        Logger logger = mock();
+        var redirector = new LogRedirector(logger, Level.WARN);
+        byte[] lines = "first line\r\nsecond line\n\nthird".getBytes(StandardCharsets.UTF_8);
+        redirector.write(lines, 0, lines.length);
+        LogRedirector.awaitPendingLines();
+        verify(logger).log(Level.WARN, "first line");
+        verify(logger).log(Level.WARN, "second line");
+        verify(logger, never()).log(Level.WARN, "third");
+        redirector.close();
+        verify(logger).log(Level.WARN, "third");
+    }
+}
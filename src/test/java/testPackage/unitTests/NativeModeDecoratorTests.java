@@ -0,0 +1,63 @@
+package testPackage.unitTests;
+
+import com.shaft.driver.SHAFT;
+import com.shaft.listeners.internal.NativeModeDecorator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+
+public class NativeModeDecoratorTests {
+    private boolean respectBuiltInWaitsInNativeMode;
+    private double defaultElementIdentificationTimeout;
+
+    @BeforeMethod
+    public void respectBuiltInWaits() {
+        respectBuiltInWaitsInNativeMode = SHAFT.Properties.flags.respectBuiltInWaitsInNativeMode();
+        defaultElementIdentificationTimeout = SHAFT.Properties.timeouts.defaultElementIdentificationTimeout();
+        SHAFT.Properties.flags.set().respectBuiltInWaitsInNativeMode(true);
+        SHAFT.Properties.timeouts.set().defaultElementIdentificationTimeout(1);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreWaits() {
+        SHAFT.Properties.flags.set().respectBuiltInWaitsInNativeMode(respectBuiltInWaitsInNativeMode);
+        SHAFT.Properties.timeouts.set().defaultElementIdentificationTimeout(defaultElementIdentificationTimeout);
+    }
+
+    @Test
+    public void elementIsLookedUpOncePerAttemptUntilItAppears() {
+        WebDriver driver = mock();
+        WebElement element = mock();
+        var locator = By.id("late");
+        when(driver.findElement(locator))
+                .thenThrow(new NoSuchElementException("not yet"))
+                .thenThrow(new NoSuchElementException("not yet"))
+                .thenReturn(element);
+
+        var foundElement = new NativeModeDecorator().decorate(driver).findElement(locator);
+
+        Assert.assertNotNull(foundElement);
+        // the element of the successful attempt is returned, without finding it again
+        verify(driver, times(3)).findElement(locator);
+    }
+
+    @Test
+    public void missingElementThrowsNoSuchElementException() {
+        WebDriver driver = mock();
+        var locator = By.id("missing");
+        when(driver.findElement(locator)).thenThrow(new NoSuchElementException("missing"));
+
+        var decoratedDriver = new NativeModeDecorator().decorate(driver);
+
+        var exception = Assert.expectThrows(NoSuchElementException.class, () -> decoratedDriver.findElement(locator));
+        Assert.assertTrue(exception.getMessage().startsWith("missing"), exception.getMessage());
+        verify(driver, atLeast(2)).findElement(locator);
+    }
+}
@@ -0,0 +1,53 @@
+package testPackage.unitTests;
+
+import com.shaft.tools.io.internal.TestLogBuffer;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+
+public class TestLogBufferTests {
+
+    @Test
+    public void logIsReleasedAfterItIsDrained() {
+        TestLogBuffer.releaseCurrent();
+        TestLogBuffer.append("first entry");
+        TestLogBuffer.append("second entry");
+        Assert.assertEquals(TestLogBuffer.drainCurrent(), "first entry" + System.lineSeparator() + "second entry");
+        Assert.assertEquals(TestLogBuffer.drainCurrent(), "");
+    }
+
+    @Test
+    public void spilledEntriesAreReadBackInOrder() {
+        TestLogBuffer.releaseCurrent();
+        var entries = new ArrayList<String>();
+        for (var i = 0; i < 300; i++) {
+            var entry = i + " " + "x".repeat(2_000);
+            entries.add(entry);
+            TestLogBuffer.append(entry);
+        }
+        Assert.assertEquals(TestLogBuffer.drainCurrent(), String.join(System.lineSeparator(), entries));
+    }
+
+    @Test
+    public void logsOfRunningTestsAreNotEvicted() {
+        var currentTestResult = Reporter.getCurrentTestResult();
+        var runningTestResult = Mockito.mock(ITestResult.class);
+        try {
+            Reporter.setCurrentTestResult(runningTestResult);
+            TestLogBuffer.append("running test entry");
+            for (var i = 0; i < 100; i++) {
+                var finishedTestResult = Mockito.mock(ITestResult.class);
+                Mockito.when(finishedTestResult.getEndMillis()).thenReturn(1L);
+                Reporter.setCurrentTestResult(finishedTestResult);
+                TestLogBuffer.append("finished configuration method entry");
+            }
+        } finally {
+            Reporter.setCurrentTestResult(currentTestResult);
+        }
+        Assert.assertEquals(TestLogBuffer.drain(runningTestResult), "running test entry");
+    }
+}
@@ -0,0 +1,81 @@
+package testPackage.unitTests;
+
+import com.google.gson.JsonParser;
+import com.shaft.driver.SHAFT;
+import com.shaft.tools.internal.profiling.WireCommandProfiler;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class WireCommandProfilerTests {
+    private boolean captureWireCommandProfile;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        captureWireCommandProfile = SHAFT.Properties.reporting.captureWireCommandProfile();
+        SHAFT.Properties.reporting.set().captureWireCommandProfile(true);
+        WireCommandProfiler.reset();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        WireCommandProfiler.reset();
+        SHAFT.Properties.reporting.set().captureWireCommandProfile(captureWireCommandProfile);
+    }
+
+    @Test
+    public void lookupsFromWorkerThreadsAreAttributedToTheAction() throws Exception {
+        try (var action = WireCommandProfiler.startAction("CLICK");
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var tasks = new ArrayList<Future<?>>();
+            for (var i = 0; i < 3; i++) {
+                tasks.add(executor.submit(WireCommandProfiler.inCurrentScope(() -> findElement(By.id("target"), false))));
+            }
+            for (var task : tasks) {
+                task.get();
+            }
+        }
+        Assert.assertEquals(exportRepeatedLookups(), "[{\"lookup\":\"CLICK -> By.id: target\",\"occurrences\":3}]");
+    }
+
+    @Test
+    public void failedAndRetriedLookupsAreNotRepeatedLookups() throws IOException {
+        try (var action = WireCommandProfiler.startAction("TYPE")) {
+            for (var attempt = 0; attempt < 3; attempt++) {
+                action.startAttempt();
+                findElement(By.id("target"), true);
+                findElement(By.id("target"), false);
+            }
+        }
+        // lookups outside any action span the whole test
+        for (var i = 0; i < 3; i++) {
+            findElement(By.id("target"), false);
+        }
+        Assert.assertEquals(exportRepeatedLookups(), "[]");
+    }
+
+    private static void findElement(By locator, boolean failed) {
+        try {
+            WireCommandProfiler.beforeCommand();
+            WireCommandProfiler.afterCommand(null, WebDriver.class.getMethod("findElement", By.class), new Object[]{locator}, null, failed);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String exportRepeatedLookups() throws IOException {
+        WireCommandProfiler.export();
+        var profile = Files.readString(Path.of(SHAFT.Properties.paths.engineMetrics(), "wireCommandProfile.json"));
+        return JsonParser.parseString(profile).getAsJsonObject().get("repeatedLookups").toString();
+    }
+}
@@ -0,0 +1,71 @@
+package testPackage.unitTests;
+
+import com.shaft.cli.FileActions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+public class ZipFilesTests {
+
+    @Test
+    public void archivedFilesAreReadableAndMediaIsStored() throws IOException {
+        var sourceFolder = Files.createTempDirectory("zipSource");
+        Files.createDirectories(sourceFolder.resolve("nested/empty"));
+        var report = "<html>" + "report content ".repeat(1_000) + "</html>";
+        Files.writeString(sourceFolder.resolve("report.html"), report);
+        Files.write(sourceFolder.resolve("nested/screenshot.png"), new byte[]{1, 2, 3, 4, 5});
+        var archive = Files.createTempDirectory("zipTarget").resolve("archive.zip");
+
+        Assert.assertTrue(FileActions.getInstance(true).zipFiles(sourceFolder.toString(), archive.toString()));
+
+        var rootName = sourceFolder.getFileName().toString();
+        try (var zipFile = new ZipFile(archive.toFile())) {
+            Assert.assertEquals(zipFile.size(), 3);
+            var reportEntry = zipFile.getEntry(rootName + "/report.html");
+            Assert.assertEquals(reportEntry.getMethod(), ZipEntry.DEFLATED);
+            Assert.assertEquals(new String(zipFile.getInputStream(reportEntry).readAllBytes(), StandardCharsets.UTF_8), report);
+            var screenshotEntry = zipFile.getEntry(rootName + "/nested/screenshot.png");
+            Assert.assertEquals(screenshotEntry.getMethod(), ZipEntry.STORED);
+            Assert.assertEquals(zipFile.getInputStream(screenshotEntry).readAllBytes(), new byte[]{1, 2, 3, 4, 5});
+            Assert.assertTrue(zipFile.getEntry(rootName + "/nested/empty/").isDirectory());
+        }
+    }
+
+    @Test
+    public void streamedMediaMatchesItsChecksumAndSize() throws IOException {
+        var sourceFolder = Files.createTempDirectory("zipSource");
+        var random = new Random(42);
+        var video = new byte[3 * 1024 * 1024 + 7];
+        random.nextBytes(video);
+        Files.write(sourceFolder.resolve("recording.mp4"), video);
+        // incompressible files without a media extension are stored as well, from memory
+        var data = new byte[100_000];
+        random.nextBytes(data);
+        Files.write(sourceFolder.resolve("data.bin"), data);
+        var archive = Files.createTempDirectory("zipTarget").resolve("archive.zip");
+
+        Assert.assertTrue(FileActions.getInstance(true).zipFiles(sourceFolder.toString(), archive.toString()));
+
+        // the zip input stream reads the entries sequentially, and checks their local headers, sizes, and checksums
+        var rootName = sourceFolder.getFileName().toString();
+        var entries = new HashMap<String, byte[]>();
+        try (var zip = new ZipInputStream(Files.newInputStream(archive))) {
+            for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                Assert.assertEquals(entry.getMethod(), ZipEntry.STORED, entry.getName());
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        Assert.assertEquals(entries.keySet(), Set.of(rootName + "/recording.mp4", rootName + "/data.bin"));
+        Assert.assertEquals(entries.get(rootName + "/recording.mp4"), video);
+        Assert.assertEquals(entries.get(rootName + "/data.bin"), data);
+    }
+}